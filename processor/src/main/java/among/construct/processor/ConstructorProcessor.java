@@ -0,0 +1,248 @@
+package among.construct.processor;
+
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Annotation processor generating constructors for types annotated with {@code
+ * among.construct.generate.GenerateConstructor}. See the annotation for details.<br>
+ * Generated constructors contain no lambdas and no reflection; condition checks, property lookup and value parsing
+ * are written out for each parameter. Report messages are identical to the ones of {@code ObjectCondition}, {@code
+ * ListCondition} and the constructors in {@code Constructors}.
+ */
+public final class ConstructorProcessor extends AbstractProcessor{
+	static final String ANNOTATION = "among.construct.generate.GenerateConstructor";
+
+	@Override public Set<String> getSupportedAnnotationTypes(){
+		return Collections.singleton(ANNOTATION);
+	}
+	@Override public SourceVersion getSupportedSourceVersion(){
+		return SourceVersion.latestSupported();
+	}
+
+	@Override public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv){
+		TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+		if(annotation==null) return false;
+		Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(annotation);
+		// types generated in this round; constructors of other annotated types have to be present already
+		Set<String> generating = new HashSet<>();
+		for(Element e : elements){
+			Element type = e.getKind()==ElementKind.CONSTRUCTOR ? e.getEnclosingElement() : e;
+			generating.add(((TypeElement)type).getQualifiedName().toString());
+		}
+		for(Element e : elements){
+			ExecutableElement constructor;
+			TypeElement type;
+			if(e.getKind()==ElementKind.CONSTRUCTOR){
+				constructor = (ExecutableElement)e;
+				type = (TypeElement)e.getEnclosingElement();
+			}else{
+				type = (TypeElement)e;
+				constructor = findConstructor(type);
+				if(constructor==null) continue;
+			}
+			AnnotationMirror mirror = findAnnotation(e);
+			try{
+				generate(type, constructor, generating,
+						booleanValue(mirror, "positional", false),
+						booleanValue(mirror, "warnOtherProperties", true));
+			}catch(IOException ex){
+				error(e, "Cannot write generated constructor: "+ex);
+			}
+		}
+		return true;
+	}
+
+	@Nullable private ExecutableElement findConstructor(TypeElement type){
+		ExecutableElement constructor = null;
+		for(ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())){
+			if(c.getModifiers().contains(Modifier.PRIVATE)) continue;
+			if(constructor!=null){
+				error(type, "Cannot determine which constructor to use; annotate the constructor instead");
+				return null;
+			}
+			constructor = c;
+		}
+		if(constructor==null) error(type, "No accessible constructor found");
+		return constructor;
+	}
+
+	private void generate(TypeElement type, ExecutableElement constructor, Set<String> generating, boolean positional, boolean warnOtherProperties) throws IOException{
+		if(constructor.getModifiers().contains(Modifier.PRIVATE)){
+			error(constructor, "Constructor should not be private");
+			return;
+		}
+		List<Param> params = new ArrayList<>();
+		for(VariableElement p : constructor.getParameters()){
+			Param param = Param.of(p, processingEnv);
+			if(param==null){
+				error(p, "Unsupported parameter type "+p.asType()+"; expected primitive, String, Among, or type annotated with @GenerateConstructor");
+				return;
+			}
+			if(param.kind==Kind.GENERATED&&!generating.contains(param.typeName)&&
+					processingEnv.getElementUtils().getTypeElement(Objects.requireNonNull(param.constructorName))==null){
+				error(p, "Generated constructor "+param.constructorName+" for parameter type "+param.typeName+
+						" not found; the type should be compiled with the annotation processor");
+				return;
+			}
+			params.add(param);
+		}
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		String typeName = type.getQualifiedName().toString();
+		String simpleName = generatedSimpleName(type);
+
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(
+				packageName.isEmpty() ? simpleName : packageName+"."+simpleName, type);
+		try(Writer w = file.openWriter()){
+			w.write(new ConstructorWriter(packageName, typeName, simpleName, params, positional, warnOtherProperties).write());
+		}
+	}
+
+	static String generatedSimpleName(TypeElement type){
+		StringBuilder stb = new StringBuilder(type.getSimpleName());
+		for(Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement())
+			stb.insert(0, '_').insert(0, e.getSimpleName());
+		return stb.append("Constructor").toString();
+	}
+
+	private AnnotationMirror findAnnotation(Element e){
+		for(AnnotationMirror m : e.getAnnotationMirrors())
+			if(((TypeElement)m.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION))
+				return m;
+		throw new IllegalStateException("Annotation not found on "+e);
+	}
+
+	private static boolean booleanValue(AnnotationMirror mirror, String name, boolean defaultValue){
+		for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet())
+			if(e.getKey().getSimpleName().contentEquals(name))
+				return (Boolean)e.getValue().getValue();
+		return defaultValue;
+	}
+
+	private void error(Element e, String message){
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, e);
+	}
+
+	/**
+	 * Parameter of the constructor, and the way to construct it.
+	 */
+	static final class Param{
+		final String name;
+		final Kind kind;
+		final String typeName;
+		@Nullable final String constructorName;
+
+		Param(String name, Kind kind, String typeName){
+			this(name, kind, typeName, null);
+		}
+		Param(String name, Kind kind, String typeName, @Nullable String constructorName){
+			this.name = name;
+			this.kind = kind;
+			this.typeName = typeName;
+			this.constructorName = constructorName;
+		}
+
+		@Nullable static Param of(VariableElement p, ProcessingEnvironment env){
+			String name = p.getSimpleName().toString();
+			TypeMirror t = p.asType();
+			if(t.getKind().isPrimitive()){
+				Kind kind = Kind.ofPrimitive(t.getKind());
+				return kind==null ? null : new Param(name, kind, t.toString());
+			}
+			if(t.getKind()!=TypeKind.DECLARED) return null;
+			TypeElement e = (TypeElement)((DeclaredType)t).asElement();
+			String qualifiedName = e.getQualifiedName().toString();
+			switch(qualifiedName){
+				case "java.lang.Boolean": return new Param(name, Kind.BOOL, qualifiedName);
+				case "java.lang.Integer": return new Param(name, Kind.INT, qualifiedName);
+				case "java.lang.Long": return new Param(name, Kind.LONG, qualifiedName);
+				case "java.lang.Float": return new Param(name, Kind.FLOAT, qualifiedName);
+				case "java.lang.Double": return new Param(name, Kind.DOUBLE, qualifiedName);
+				case "java.lang.String": return new Param(name, Kind.STRING, qualifiedName);
+				case "among.obj.Among": return new Param(name, Kind.AMONG, qualifiedName);
+			}
+			if(isAnnotated(e)||isAnnotatedConstructorIn(e)){
+				PackageElement pkg = env.getElementUtils().getPackageOf(e);
+				String generated = generatedSimpleName(e);
+				return new Param(name, Kind.GENERATED, qualifiedName,
+						pkg.isUnnamed() ? generated : pkg.getQualifiedName()+"."+generated);
+			}
+			return null;
+		}
+
+		private static boolean isAnnotated(Element e){
+			for(AnnotationMirror m : e.getAnnotationMirrors())
+				if(((TypeElement)m.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION))
+					return true;
+			return false;
+		}
+		private static boolean isAnnotatedConstructorIn(TypeElement e){
+			for(ExecutableElement c : ElementFilter.constructorsIn(e.getEnclosedElements()))
+				if(isAnnotated(c)) return true;
+			return false;
+		}
+	}
+
+	enum Kind{
+		BOOL("getBoolValue", "Expected bool"),
+		INT("getIntValue", "Expected int"),
+		LONG("getLongValue", "Expected long"),
+		FLOAT("getFloatValue", "Expected number"),
+		DOUBLE("getDoubleValue", "Expected number"),
+		STRING("getValue", null),
+		AMONG(null, null),
+		GENERATED(null, null);
+
+		@Nullable final String getter;
+		@Nullable final String errorMessage;
+
+		Kind(@Nullable String getter, @Nullable String errorMessage){
+			this.getter = getter;
+			this.errorMessage = errorMessage;
+		}
+
+		boolean isValue(){
+			return getter!=null;
+		}
+
+		@Nullable static Kind ofPrimitive(TypeKind kind){
+			switch(kind){
+				case BOOLEAN: return BOOL;
+				case INT: return INT;
+				case LONG: return LONG;
+				case FLOAT: return FLOAT;
+				case DOUBLE: return DOUBLE;
+				default: return null;
+			}
+		}
+	}
+}
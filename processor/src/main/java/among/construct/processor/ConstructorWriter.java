@@ -0,0 +1,218 @@
+package among.construct.processor;
+
+import among.construct.processor.ConstructorProcessor.Param;
+
+import java.util.List;
+
+/**
+ * Writes source code of generated constructor.
+ */
+final class ConstructorWriter{
+	private final String packageName;
+	private final String typeName;
+	private final String simpleName;
+	private final List<Param> params;
+	private final boolean positional;
+	private final boolean warnOtherProperties;
+
+	private final StringBuilder stb = new StringBuilder();
+
+	ConstructorWriter(String packageName, String typeName, String simpleName, List<Param> params, boolean positional, boolean warnOtherProperties){
+		this.packageName = packageName;
+		this.typeName = typeName;
+		this.simpleName = simpleName;
+		this.params = params;
+		this.positional = positional;
+		this.warnOtherProperties = warnOtherProperties;
+	}
+
+	String write(){
+		if(!packageName.isEmpty()) line(0, "package "+packageName+";").line();
+		line(0, "import among.TypeFlags;");
+		line(0, "import among.construct.Constructor;");
+		line(0, "import among.obj.Among;");
+		line(0, "import among.obj.AmongList;");
+		line(0, "import among.obj.AmongObject;");
+		line(0, "import among.report.ReportHandler;");
+		line();
+		line(0, "/**");
+		line(0, " * Constructor of {@link "+typeName+"}, generated from {@code @GenerateConstructor}.");
+		line(0, " */");
+		line(0, "public final class "+simpleName+" implements Constructor<Among, "+typeName+">{");
+		line(1, "public static final "+simpleName+" INSTANCE = new "+simpleName+"();");
+		line();
+		line(1, "private "+simpleName+"(){}");
+		line();
+		writeConstruct();
+		line();
+		writeConstructObject();
+		if(positional){
+			line();
+			writeConstructList();
+		}
+		line(0, "}");
+		return stb.toString();
+	}
+
+	private void writeConstruct(){
+		line(1, "@Override public "+typeName+" construct(Among instance, ReportHandler reportHandler){");
+		line(2, "if(instance.isObj()){");
+		line(3, "AmongObject obj = instance.asObj();");
+		line(3, "if(!obj.hasName()) return constructObject(obj, reportHandler);");
+		if(positional){
+			line(2, "}else if(instance.isList()){");
+			line(3, "AmongList list = instance.asList();");
+			line(3, "if(!list.hasName()) return constructList(list, reportHandler);");
+		}
+		line(2, "}");
+		line(2, "if(reportHandler!=null) reportHandler.reportError("+
+				literal(positional ? "Expected object or list" : "Expected object")+", instance.sourcePosition());");
+		line(2, "return null;");
+		line(1, "}");
+	}
+
+	private void writeConstructObject(){
+		line(1, "private static "+typeName+" constructObject(AmongObject obj, ReportHandler reportHandler){");
+		line(2, "boolean invalid = false;");
+		for(int i = 0; i<params.size(); i++){
+			Param p = params.get(i);
+			line(2, "Among p"+i+" = obj.getProperty("+literal(p.name)+");");
+			line(2, "if(p"+i+"==null){");
+			line(3, "if(reportHandler==null) return null;");
+			line(3, "reportHandler.reportError("+literal("Missing property '"+p.name+"'")+", obj.sourcePosition());");
+			line(3, "invalid = true;");
+			if(p.kind.isValue()){
+				line(2, "}else if(!p"+i+".isPrimitive()){");
+				line(3, "if(reportHandler==null) return null;");
+				line(3, "reportHandler.reportError(\"Expected \"+TypeFlags.toString((byte)TypeFlags.PRIMITIVE)+"+
+						literal(" for property '"+p.name+"', provided ")+"+TypeFlags.from(p"+i+"), p"+i+".sourcePosition());");
+				line(3, "invalid = true;");
+			}
+			line(2, "}");
+		}
+		if(warnOtherProperties){
+			line(2, "if(reportHandler!=null){");
+			line(3, "java.util.List<String> redundantProperties = null;");
+			line(3, "for(String key : obj.properties().keySet()){");
+			if(params.isEmpty()){
+				// every key is redundant; a switch without any case label would not compile
+				line(4, "if(redundantProperties==null) redundantProperties = new java.util.ArrayList<>();");
+				line(4, "redundantProperties.add(key);");
+			}else{
+				line(4, "switch(key){");
+				for(Param p : params) line(5, "case "+literal(p.name)+":");
+				line(6, "break;");
+				line(5, "default:");
+				line(6, "if(redundantProperties==null) redundantProperties = new java.util.ArrayList<>();");
+				line(6, "redundantProperties.add(key);");
+				line(4, "}");
+			}
+			line(3, "}");
+			line(3, "if(redundantProperties!=null){");
+			line(4, "StringBuilder stb = new StringBuilder().append(redundantProperties.size()).append(\" redundant properties\");");
+			line(4, "for(String s : redundantProperties) stb.append(\"\\n  \").append(s);");
+			line(4, "reportHandler.reportWarning(stb.toString());");
+			line(3, "}");
+			line(2, "}");
+		}
+		line(2, "if(invalid) return null;");
+		writeValues();
+		line(1, "}");
+	}
+
+	private void writeConstructList(){
+		line(1, "private static "+typeName+" constructList(AmongList list, ReportHandler reportHandler){");
+		line(2, "if(list.size()!="+params.size()+"){");
+		line(3, "if(reportHandler!=null) reportHandler.reportError("+
+				literal("Invalid size: expected "+params.size()+", provided ")+"+list.size(), list.sourcePosition());");
+		line(3, "return null;");
+		line(2, "}");
+		line(2, "boolean invalid = false;");
+		for(int i = 0; i<params.size(); i++){
+			Param p = params.get(i);
+			line(2, "Among p"+i+" = list.get("+i+");");
+			if(p.kind.isValue()){
+				line(2, "if(!p"+i+".isPrimitive()){");
+				line(3, "if(reportHandler==null) return null;");
+				line(3, "reportHandler.reportError(\"Expected \"+TypeFlags.toString((byte)TypeFlags.PRIMITIVE)+"+
+						literal(" at "+i+", provided ")+"+TypeFlags.from(p"+i+"), p"+i+".sourcePosition());");
+				line(3, "invalid = true;");
+				line(2, "}");
+			}
+		}
+		line(2, "if(invalid) return null;");
+		writeValues();
+		line(1, "}");
+	}
+
+	private void writeValues(){
+		for(int i = 0; i<params.size(); i++){
+			Param p = params.get(i);
+			switch(p.kind){
+				case STRING:
+					line(2, p.typeName+" v"+i+" = p"+i+".asPrimitive().getValue();");
+					break;
+				case AMONG:
+					line(2, p.typeName+" v"+i+" = p"+i+";");
+					break;
+				case GENERATED:
+					line(2, p.typeName+" v"+i+" = "+p.constructorName+".INSTANCE.construct(p"+i+", reportHandler);");
+					line(2, "if(v"+i+"==null) invalid = true;");
+					break;
+				default:
+					line(2, p.typeName+" v"+i+" = "+defaultValue(p.typeName)+";");
+					line(2, "try{");
+					line(3, "v"+i+" = p"+i+".asPrimitive()."+p.kind.getter+"();");
+					line(2, "}catch(RuntimeException ex){");
+					line(3, "if(reportHandler!=null) reportHandler.reportError("+literal(p.kind.errorMessage)+", p"+i+".sourcePosition());");
+					line(3, "invalid = true;");
+					line(2, "}");
+			}
+		}
+		StringBuilder args = new StringBuilder();
+		for(int i = 0; i<params.size(); i++){
+			if(i>0) args.append(", ");
+			args.append("v").append(i);
+		}
+		line(2, "return invalid ? null : new "+typeName+"("+args+");");
+	}
+
+	private static String defaultValue(String typeName){
+		switch(typeName){
+			case "boolean": return "false";
+			case "int": return "0";
+			case "long": return "0L";
+			case "float": return "0f";
+			case "double": return "0.0";
+			default: return "null";
+		}
+	}
+
+	private static String literal(String s){
+		StringBuilder stb = new StringBuilder("\"");
+		for(int i = 0; i<s.length(); i++){
+			char c = s.charAt(i);
+			switch(c){
+				case '"': stb.append("\\\""); break;
+				case '\\': stb.append("\\\\"); break;
+				case '\n': stb.append("\\n"); break;
+				case '\r': stb.append("\\r"); break;
+				case '\t': stb.append("\\t"); break;
+				default:
+					if(c<0x20) stb.append(String.format("\\u%04x", (int)c));
+					else stb.append(c);
+			}
+		}
+		return stb.append('"').toString();
+	}
+
+	private ConstructorWriter line(){
+		stb.append('\n');
+		return this;
+	}
+	private ConstructorWriter line(int indent, String s){
+		for(int i = 0; i<indent; i++) stb.append('\t');
+		stb.append(s).append('\n');
+		return this;
+	}
+}
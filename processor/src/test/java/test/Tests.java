@@ -0,0 +1,156 @@
+package test;
+
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.construct.processor.ConstructorProcessor;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class Tests{
+	private static final String POINT = "package p;\n"+
+			"@among.construct.generate.GenerateConstructor(positional = true)\n"+
+			"public class Point{\n"+
+			"	final int x, y;\n"+
+			"	public Point(int x, int y){ this.x = x; this.y = y; }\n"+
+			"	@Override public String toString(){ return \"Point(\"+x+\", \"+y+\")\"; }\n"+
+			"}\n";
+	private static final String LINE = "package p;\n"+
+			"@among.construct.generate.GenerateConstructor\n"+
+			"public class Line{\n"+
+			"	final Point from, to;\n"+
+			"	final String label;\n"+
+			"	public Line(Point from, Point to, String label){ this.from = from; this.to = to; this.label = label; }\n"+
+			"	@Override public String toString(){ return label+\": \"+from+\" -> \"+to; }\n"+
+			"}\n";
+	private static final String MARKER = "package p;\n"+
+			"@among.construct.generate.GenerateConstructor(positional = true)\n"+
+			"public class Marker{\n"+
+			"	public Marker(){}\n"+
+			"	@Override public String toString(){ return \"Marker\"; }\n"+
+			"}\n";
+
+	@Test public void generate(@TempDir Path dir) throws Exception{
+		Path out = Files.createDirectories(dir.resolve("out"));
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(dir, out, true, null, source(dir, "Point", POINT), source(dir, "Line", LINE));
+		Assertions.assertTrue(errors(diagnostics).isEmpty(), () -> errors(diagnostics).toString());
+
+		try(URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())){
+			Constructor<Among, ?> line = constructor(loader, "p.LineConstructor");
+			Constructor<Among, ?> point = constructor(loader, "p.PointConstructor");
+
+			ReportBuffer reports = new ReportBuffer();
+			Object o = line.construct(Among.object()
+					.property("from", Among.list(1, 2))
+					.property("to", Among.object().property("x", 3).property("y", 4))
+					.property("label", "a"), reports);
+			Assertions.assertEquals("a: Point(1, 2) -> Point(3, 4)", String.valueOf(o));
+			Assertions.assertTrue(reports.isEmpty(), reports.entries()::toString);
+
+			Assertions.assertNull(line.construct(Among.object()
+					.property("from", Among.list(1, "two"))
+					.property("label", "a")
+					.property("color", "red"), reports));
+			Assertions.assertEquals(Arrays.asList(
+					"ERROR: Missing property 'to'",
+					"WARN: 1 redundant properties\n  color"), messages(reports));
+
+			reports.clear();
+			Assertions.assertNull(point.construct(Among.list(1, 2, 3), reports));
+			Assertions.assertEquals(Collections.singletonList("ERROR: Invalid size: expected 2, provided 3"), messages(reports));
+
+			reports.clear();
+			Assertions.assertNull(point.construct(Among.value("1, 2"), reports));
+			Assertions.assertEquals(Collections.singletonList("ERROR: Expected object or list"), messages(reports));
+		}
+	}
+
+	@Test public void noParameters(@TempDir Path dir) throws Exception{
+		Path out = Files.createDirectories(dir.resolve("out"));
+		List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(dir, out, true, null, source(dir, "Marker", MARKER));
+		Assertions.assertTrue(errors(diagnostics).isEmpty(), () -> errors(diagnostics).toString());
+
+		try(URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())){
+			Constructor<Among, ?> marker = constructor(loader, "p.MarkerConstructor");
+			ReportBuffer reports = new ReportBuffer();
+			Assertions.assertEquals("Marker", String.valueOf(marker.construct(Among.object(), reports)));
+			Assertions.assertEquals("Marker", String.valueOf(marker.construct(Among.list(), reports)));
+			Assertions.assertTrue(reports.isEmpty(), reports.entries()::toString);
+
+			Assertions.assertEquals("Marker", String.valueOf(marker.construct(Among.object().property("a", 1).property("b", 2), reports)));
+			Assertions.assertEquals(Collections.singletonList("WARN: 2 redundant properties\n  a\n  b"), messages(reports));
+		}
+	}
+
+	@Test public void missingGeneratedConstructor(@TempDir Path dir) throws IOException{
+		// Point is compiled without the processor, so PointConstructor does not exist
+		Path lib = Files.createDirectories(dir.resolve("lib"));
+		Assertions.assertTrue(errors(compile(dir, lib, false, null, source(dir, "Point", POINT))).isEmpty());
+
+		Path out = Files.createDirectories(dir.resolve("out"));
+		List<Diagnostic<? extends JavaFileObject>> errors = errors(compile(dir, out, true, lib, source(dir, "Line", LINE)));
+		Assertions.assertEquals(1, errors.size(), errors::toString);
+		Assertions.assertTrue(errors.get(0).getMessage(null).contains("p.PointConstructor"), errors::toString);
+	}
+
+	private static Path source(Path dir, String name, String source) throws IOException{
+		Path file = dir.resolve("src/p/"+name+".java");
+		Files.createDirectories(file.getParent());
+		return Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Diagnostic<? extends JavaFileObject>> compile(Path dir, Path out, boolean process, @Nullable Path classpath, Path... sources) throws IOException{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try(StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)){
+			List<String> options = new ArrayList<>(Arrays.asList(
+					"-d", out.toString(),
+					"-s", Files.createDirectories(dir.resolve("generated")).toString(),
+					"-classpath", System.getProperty("java.class.path")+(classpath!=null ? File.pathSeparator+classpath : "")));
+			if(!process) options.add("-proc:none");
+			JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+					fileManager.getJavaFileObjects(sources));
+			if(process) task.setProcessors(Collections.singletonList(new ConstructorProcessor()));
+			task.call();
+		}
+		return diagnostics.getDiagnostics();
+	}
+
+	private static List<Diagnostic<? extends JavaFileObject>> errors(List<Diagnostic<? extends JavaFileObject>> diagnostics){
+		List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+		for(Diagnostic<? extends JavaFileObject> d : diagnostics)
+			if(d.getKind()==Diagnostic.Kind.ERROR) errors.add(d);
+		return errors;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Constructor<Among, ?> constructor(ClassLoader loader, String name) throws ReflectiveOperationException{
+		return (Constructor<Among, ?>)Class.forName(name, true, loader).getField("INSTANCE").get(null);
+	}
+
+	private static List<String> messages(ReportBuffer reports){
+		List<String> messages = new ArrayList<>();
+		for(ReportBuffer.Entry e : reports.entries()) messages.add(e.type()+": "+e.message());
+		return messages;
+	}
+}
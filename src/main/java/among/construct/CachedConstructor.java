@@ -0,0 +1,103 @@
+package among.construct;
+
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Memoizing {@link Constructor} wrapper; see {@link Constructor#cached(Constructor, int, boolean)}.<br>
+ * Entries are spread over a fixed number of segments, each of them being an access-ordered map guarded by its own
+ * lock, which makes eviction least-recently-used per segment. The delegate constructor is called outside the locks, so
+ * concurrent misses on the same key may construct the value more than once; only one of them is retained.
+ *
+ * @param <IN>  Type of the parameter object
+ * @param <OUT> Type of the resulting object
+ */
+final class CachedConstructor<IN, OUT> implements Constructor<IN, OUT>{
+	private static final int MAX_SEGMENTS = 16;
+
+	private final Constructor<IN, OUT> constructor;
+	private final boolean identity;
+	private final Segment<OUT>[] segments;
+
+	@SuppressWarnings("unchecked") CachedConstructor(Constructor<IN, OUT> constructor, int maxSize, boolean identity){
+		if(maxSize<=0) throw new IllegalArgumentException("maxSize <= 0");
+		this.constructor = Objects.requireNonNull(constructor);
+		this.identity = identity;
+		int segmentCount = 1;
+		while(segmentCount<MAX_SEGMENTS&&segmentCount*2<=maxSize) segmentCount *= 2;
+		int segmentSize = (maxSize+segmentCount-1)/segmentCount;
+		this.segments = new Segment[segmentCount];
+		for(int i = 0; i<segmentCount; i++) this.segments[i] = new Segment<>(segmentSize);
+	}
+
+	@Override @Nullable public OUT construct(IN instance, @Nullable ReportHandler reportHandler){
+		Objects.requireNonNull(instance);
+		Object key;
+		int hash;
+		if(identity){
+			key = new IdentityKey(instance);
+			hash = key.hashCode();
+		}else{
+			key = instance;
+			hash = instance.hashCode();
+		}
+		Segment<OUT> segment = segments[(hash^(hash >>> 16))&(segments.length-1)];
+		Result<OUT> result = segment.get(key);
+		if(result==null){
+			ReportBuffer reports = new ReportBuffer();
+			OUT out = constructor.construct(instance, reports);
+			result = new Result<>(out, reports.isEmpty() ? null : reports);
+			segment.put(key, result);
+		}
+		if(reportHandler!=null&&result.reports!=null) result.reports.replay(reportHandler);
+		return result.value;
+	}
+
+	private static final class Result<OUT>{
+		@Nullable final OUT value;
+		@Nullable final ReportBuffer reports;
+
+		Result(@Nullable OUT value, @Nullable ReportBuffer reports){
+			this.value = value;
+			this.reports = reports;
+		}
+	}
+
+	private static final class Segment<OUT>{
+		private final Map<Object, Result<OUT>> map;
+
+		Segment(int maxSize){
+			this.map = new LinkedHashMap<Object, Result<OUT>>(16, .75f, true){
+				@Override protected boolean removeEldestEntry(Map.Entry<Object, Result<OUT>> eldest){
+					return size()>maxSize;
+				}
+			};
+		}
+
+		@Nullable synchronized Result<OUT> get(Object key){
+			return map.get(key);
+		}
+		synchronized void put(Object key, Result<OUT> result){
+			map.putIfAbsent(key, result);
+		}
+	}
+
+	private static final class IdentityKey{
+		private final Object instance;
+
+		IdentityKey(Object instance){
+			this.instance = instance;
+		}
+
+		@Override public boolean equals(Object o){
+			return this==o||o instanceof IdentityKey&&((IdentityKey)o).instance==instance;
+		}
+		@Override public int hashCode(){
+			return System.identityHashCode(instance);
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package among.construct;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List of tuples stored as columns, produced by columnar list constructors. Each column is held in an array of
+ * exactly {@link ColumnarList#size()} elements; numeric columns are stored in primitive arrays.<br>
+ * Arrays are returned without copying, and are expected to not be modified.
+ *
+ * @see Constructor#columnarListOf(java.util.function.Consumer)
+ */
+public final class ColumnarList{
+	private final int size;
+	private final List<String> keys;
+	private final Map<String, Integer> indices;
+	private final Object[] columns;
+
+	ColumnarList(int size, List<String> keys, Map<String, Integer> indices, Object[] columns){
+		this.size = size;
+		this.keys = keys;
+		this.indices = indices;
+		this.columns = columns;
+	}
+
+	/**
+	 * @return Number of elements
+	 */
+	public int size(){
+		return size;
+	}
+	/**
+	 * @return Unmodifiable list of column keys, in declaration order
+	 */
+	public List<String> keys(){
+		return keys;
+	}
+
+	/**
+	 * @param key Key of the column
+	 * @return Values of the column
+	 * @throws IllegalArgumentException If there's no int column with given key
+	 */
+	public int[] ints(String key){
+		return column(key, int[].class);
+	}
+	/**
+	 * @param key Key of the column
+	 * @return Values of the column
+	 * @throws IllegalArgumentException If there's no long column with given key
+	 */
+	public long[] longs(String key){
+		return column(key, long[].class);
+	}
+	/**
+	 * @param key Key of the column
+	 * @return Values of the column
+	 * @throws IllegalArgumentException If there's no double column with given key
+	 */
+	public double[] doubles(String key){
+		return column(key, double[].class);
+	}
+	/**
+	 * @param key Key of the column
+	 * @return Values of the column
+	 * @throws IllegalArgumentException If there's no string column with given key
+	 */
+	public String[] strings(String key){
+		return column(key, String[].class);
+	}
+
+	private <A> A column(String key, Class<A> type){
+		Integer i = indices.get(key);
+		if(i==null) throw new IllegalArgumentException("No column named '"+key+"'");
+		Object column = columns[i];
+		if(!type.isInstance(column))
+			throw new IllegalArgumentException("Column '"+key+"' is not of type "+type.getComponentType());
+		return type.cast(column);
+	}
+
+	@Override public boolean equals(Object o){
+		if(this==o) return true;
+		if(!(o instanceof ColumnarList)) return false;
+		ColumnarList that = (ColumnarList)o;
+		return size==that.size&&keys.equals(that.keys)&&Arrays.deepEquals(columns, that.columns);
+	}
+	@Override public int hashCode(){
+		return (size*31+keys.hashCode())*31+Arrays.deepHashCode(columns);
+	}
+
+	@Override public String toString(){
+		StringBuilder stb = new StringBuilder("ColumnarList{size=").append(size);
+		for(int i = 0; i<columns.length; i++){
+			stb.append(", ").append(keys.get(i)).append('=');
+			Object c = columns[i];
+			stb.append(c instanceof int[] ? Arrays.toString((int[])c) :
+					c instanceof long[] ? Arrays.toString((long[])c) :
+							c instanceof double[] ? Arrays.toString((double[])c) :
+									Arrays.toString((Object[])c));
+		}
+		return stb.append('}').toString();
+	}
+}
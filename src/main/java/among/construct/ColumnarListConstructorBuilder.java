@@ -0,0 +1,156 @@
+package among.construct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builder for columnar list constructors. Each column is declared with its key and type; elements of the list are
+ * read either as objects with a property for each column key, or as unnamed lists with one value for each column in
+ * declaration order. Values are parsed straight into the columns, without constructing an object for each element.
+ *
+ * @see Constructor#columnarListOf(java.util.function.Consumer)
+ */
+public final class ColumnarListConstructorBuilder{
+	private static final byte INT = 0;
+	private static final byte LONG = 1;
+	private static final byte DOUBLE = 2;
+	private static final byte STRING = 3;
+
+	private final Map<String, Integer> indices = new HashMap<>();
+	private final List<String> keys = new ArrayList<>();
+	private final List<Byte> types = new ArrayList<>();
+	private boolean objects = true;
+	private boolean lists = true;
+	private boolean requiresUnnamedList;
+
+	public ColumnarListConstructorBuilder intColumn(String key){
+		return column(key, INT);
+	}
+	public ColumnarListConstructorBuilder longColumn(String key){
+		return column(key, LONG);
+	}
+	public ColumnarListConstructorBuilder doubleColumn(String key){
+		return column(key, DOUBLE);
+	}
+	public ColumnarListConstructorBuilder stringColumn(String key){
+		return column(key, STRING);
+	}
+
+	private ColumnarListConstructorBuilder column(String key, byte type){
+		if(indices.putIfAbsent(key, keys.size())!=null)
+			throw new IllegalStateException("Column '"+key+"' already defined");
+		keys.add(key);
+		types.add(type);
+		return this;
+	}
+
+	/**
+	 * Only accept objects as elements.
+	 */
+	public ColumnarListConstructorBuilder objectsOnly(){
+		this.objects = true;
+		this.lists = false;
+		return this;
+	}
+	/**
+	 * Only accept positional lists as elements.
+	 */
+	public ColumnarListConstructorBuilder listsOnly(){
+		this.objects = false;
+		this.lists = true;
+		return this;
+	}
+	/**
+	 * Require the list itself to be unnamed.
+	 */
+	public ColumnarListConstructorBuilder requiresUnnamedList(){
+		this.requiresUnnamedList = true;
+		return this;
+	}
+
+	public Constructor<AmongList, ColumnarList> build(){
+		if(keys.isEmpty()) throw new IllegalStateException("No columns");
+		String[] keys = this.keys.toArray(new String[0]);
+		byte[] types = new byte[keys.length];
+		for(int i = 0; i<types.length; i++) types[i] = this.types.get(i);
+		List<String> keyList = Collections.unmodifiableList(Arrays.asList(keys.clone()));
+		Map<String, Integer> indices = new HashMap<>(this.indices);
+		boolean objects = this.objects, lists = this.lists, requiresUnnamedList = this.requiresUnnamedList;
+
+		return (instance, reportHandler) -> {
+			if(requiresUnnamedList&&instance.hasName()){
+				if(reportHandler!=null) reportHandler.reportError("List should be unnamed", instance.sourcePosition());
+				return null;
+			}
+			int size = instance.size();
+			Object[] columns = new Object[keys.length];
+			for(int i = 0; i<keys.length; i++){
+				switch(types[i]){
+					case INT: columns[i] = new int[size]; break;
+					case LONG: columns[i] = new long[size]; break;
+					case DOUBLE: columns[i] = new double[size]; break;
+					default: columns[i] = new String[size];
+				}
+			}
+			for(int e = 0; e<size; e++){
+				Among element = instance.get(e);
+				if(lists&&element.isList()&&!element.asList().hasName()){
+					AmongList l = element.asList();
+					if(l.size()!=keys.length){
+						if(reportHandler!=null) reportHandler.reportError("Expected "+keys.length+" values", l.sourcePosition());
+						return null;
+					}
+					for(int i = 0; i<keys.length; i++)
+						if(!read(columns[i], types[i], e, l.get(i), reportHandler)) return null;
+				}else if(objects&&element.isObj()){
+					AmongObject o = element.asObj();
+					for(int i = 0; i<keys.length; i++){
+						Among property = o.getProperty(keys[i]);
+						if(property==null){
+							if(reportHandler!=null) reportHandler.reportError("Missing property '"+keys[i]+"'", o.sourcePosition());
+							return null;
+						}
+						if(!read(columns[i], types[i], e, property, reportHandler)) return null;
+					}
+				}else{
+					if(reportHandler!=null) reportHandler.reportError(
+							objects&&lists ? "Expected object or unnamed list" : objects ? "Expected object" : "Expected unnamed list",
+							element.sourcePosition());
+					return null;
+				}
+			}
+			return new ColumnarList(size, keyList, indices, columns);
+		};
+	}
+
+	private static boolean read(Object column, byte type, int index, Among value, @Nullable ReportHandler reportHandler){
+		if(!value.isPrimitive()){
+			if(reportHandler!=null) reportHandler.reportError("Expected value", value.sourcePosition());
+			return false;
+		}
+		try{
+			switch(type){
+				case INT: ((int[])column)[index] = value.asPrimitive().getIntValue(); break;
+				case LONG: ((long[])column)[index] = value.asPrimitive().getLongValue(); break;
+				case DOUBLE: ((double[])column)[index] = value.asPrimitive().getDoubleValue(); break;
+				default: ((String[])column)[index] = value.asPrimitive().getValue();
+			}
+			return true;
+		}catch(RuntimeException ex){
+			if(reportHandler!=null) reportHandler.reportError(
+					type==INT ? "Expected int" : type==LONG ? "Expected long" : "Expected number",
+					value.sourcePosition());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,283 @@
+package among.construct;
+
+import among.construct.Constructor.ExceptionReporter;
+import among.obj.Among;
+import among.obj.AmongList;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Implementations of standard combinators defined in {@link Constructor}, and the fusion pass of {@link
+ * Constructor#optimize(Constructor)}.<br>
+ * Combinators are kept as distinct node types instead of lambdas, so that chains of them can be inspected and
+ * replaced with fused implementations; fused nodes perform the same checks in the same order with the same
+ * reports, but with fewer indirect calls in between.
+ */
+final class Combinators{
+	private Combinators(){}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static Constructor<?, ?> optimize(Constructor<?, ?> constructor){
+		if(constructor instanceof Then){
+			List<Constructor<Object, Object>> stages = new ArrayList<>();
+			flatten((Then<?, ?, ?>)constructor, stages);
+			return new Chain(stages.toArray(new Constructor[0]));
+		}
+		if(constructor instanceof Try){
+			Try<?, ?> t = (Try<?, ?>)constructor;
+			Constructor<?, ?> delegate = optimize(t.delegate);
+			return delegate==t.delegate ? t : new Try(delegate, t.exceptionReporter);
+		}
+		if(constructor instanceof Generify){
+			Generify<?, ?> g = (Generify<?, ?>)constructor;
+			Constructor<?, ?> delegate = optimize(g.delegate);
+			if(delegate instanceof Try){
+				Try<?, ?> t = (Try<?, ?>)delegate;
+				return new GenerifyTry(g.type, t.delegate, t.exceptionReporter);
+			}
+			return delegate==g.delegate ? g : new Generify(g.type, delegate);
+		}
+		if(constructor instanceof ListOf){
+			ListOf<?> l = (ListOf<?>)constructor;
+			Constructor<?, ?> element = optimize(l.elementConstructor);
+			return element==l.elementConstructor ? l : new ListOf(element, l.requiresUnnamedList, l.strategy);
+		}
+		if(constructor instanceof ListOrElementOf){
+			ListOrElementOf<?> l = (ListOrElementOf<?>)constructor;
+			Constructor<?, ?> element = optimize(l.elementConstructor);
+			return element==l.elementConstructor ? l : new ListOrElementOf(element, l.strategy);
+		}
+		return constructor;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void flatten(Then<?, ?, ?> then, List<Constructor<Object, Object>> stages){
+		for(Constructor<?, ?> c : new Constructor<?, ?>[]{then.first, then.second}){
+			if(c instanceof Then) flatten((Then<?, ?, ?>)c, stages);
+			else stages.add((Constructor<Object, Object>)optimize(c));
+		}
+	}
+
+	/**
+	 * Node of {@link Constructor#then(Constructor)}.
+	 */
+	static final class Then<IN, MID, OUT> implements Constructor<IN, OUT>{
+		final Constructor<IN, MID> first;
+		final Constructor<MID, OUT> second;
+
+		Then(Constructor<IN, MID> first, Constructor<MID, OUT> second){
+			this.first = Objects.requireNonNull(first);
+			this.second = Objects.requireNonNull(second);
+		}
+
+		@Override @Nullable public OUT construct(IN instance, @Nullable ReportHandler reportHandler){
+			MID mid = first.construct(instance, reportHandler);
+			return mid==null ? null : second.construct(mid, reportHandler);
+		}
+	}
+
+	/**
+	 * Fused form of nested {@link Then} nodes.
+	 */
+	static final class Chain implements Constructor<Object, Object>{
+		private final Constructor<Object, Object>[] stages;
+
+		Chain(Constructor<Object, Object>[] stages){
+			this.stages = stages;
+		}
+
+		@Override @Nullable public Object construct(Object instance, @Nullable ReportHandler reportHandler){
+			Object o = instance;
+			for(Constructor<Object, Object> stage : stages){
+				o = stage.construct(o, reportHandler);
+				if(o==null) return null;
+			}
+			return o;
+		}
+	}
+
+	/**
+	 * Node of {@link Constructor#tryConstruct(Constructor, ExceptionReporter)}.
+	 */
+	static final class Try<IN, OUT> implements Constructor<IN, OUT>{
+		final Constructor<? super IN, OUT> delegate;
+		@Nullable final ExceptionReporter<? super IN> exceptionReporter;
+
+		Try(Constructor<? super IN, OUT> delegate, @Nullable ExceptionReporter<? super IN> exceptionReporter){
+			this.delegate = Objects.requireNonNull(delegate);
+			this.exceptionReporter = exceptionReporter;
+		}
+
+		@Override @Nullable public OUT construct(IN instance, @Nullable ReportHandler reportHandler){
+			try{
+				return delegate.construct(instance, reportHandler);
+			}catch(RuntimeException ex){
+				if(ConstructEvents.isActive()) ConstructEvents.exceptionCaught(ex);
+				if(reportHandler!=null&&exceptionReporter!=null)
+					exceptionReporter.reportException(reportHandler, instance, ex);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Type of {@link Among} value expected by {@link Generify}.
+	 */
+	enum GenericType{
+		LIST("Expected list"),
+		OBJECT("Expected object"),
+		VALUE("Expected value");
+
+		final String errorMessage;
+
+		GenericType(String errorMessage){
+			this.errorMessage = errorMessage;
+		}
+
+		boolean matches(Among instance){
+			switch(this){
+				case LIST: return instance.isList();
+				case OBJECT: return instance.isObj();
+				default: return instance.isPrimitive();
+			}
+		}
+
+		Among cast(Among instance){
+			switch(this){
+				case LIST: return instance.asList();
+				case OBJECT: return instance.asObj();
+				default: return instance.asPrimitive();
+			}
+		}
+	}
+
+	/**
+	 * Node of {@link Constructor#generifyList(Constructor)}, {@link Constructor#generifyObject(Constructor)} and
+	 * {@link Constructor#generifyValue(Constructor)}.
+	 */
+	static final class Generify<A extends Among, OUT> implements Constructor<Among, OUT>{
+		final GenericType type;
+		final Constructor<A, OUT> delegate;
+
+		Generify(GenericType type, Constructor<A, OUT> delegate){
+			this.type = type;
+			this.delegate = Objects.requireNonNull(delegate);
+		}
+
+		@SuppressWarnings("unchecked") @Override @Nullable public OUT construct(Among instance, @Nullable ReportHandler reportHandler){
+			if(type.matches(instance)) return delegate.construct((A)type.cast(instance), reportHandler);
+			if(reportHandler!=null) reportHandler.reportError(type.errorMessage, instance.sourcePosition());
+			return null;
+		}
+	}
+
+	/**
+	 * Fused form of {@link Generify} wrapping {@link Try}.
+	 */
+	static final class GenerifyTry<A extends Among, OUT> implements Constructor<Among, OUT>{
+		private final GenericType type;
+		private final Constructor<? super A, OUT> delegate;
+		@Nullable private final ExceptionReporter<? super A> exceptionReporter;
+
+		GenerifyTry(GenericType type, Constructor<? super A, OUT> delegate, @Nullable ExceptionReporter<? super A> exceptionReporter){
+			this.type = type;
+			this.delegate = delegate;
+			this.exceptionReporter = exceptionReporter;
+		}
+
+		@SuppressWarnings("unchecked") @Override @Nullable public OUT construct(Among instance, @Nullable ReportHandler reportHandler){
+			if(!type.matches(instance)){
+				if(reportHandler!=null) reportHandler.reportError(type.errorMessage, instance.sourcePosition());
+				return null;
+			}
+			A a = (A)type.cast(instance);
+			try{
+				return delegate.construct(a, reportHandler);
+			}catch(RuntimeException ex){
+				if(ConstructEvents.isActive()) ConstructEvents.exceptionCaught(ex);
+				if(reportHandler!=null&&exceptionReporter!=null)
+					exceptionReporter.reportException(reportHandler, a, ex);
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Node of {@link Constructor#listOf(Constructor, boolean)} and {@link Constructor#listOf(Constructor, boolean,
+	 * ListStrategy)}.
+	 */
+	static final class ListOf<E> implements Constructor<AmongList, List<E>>{
+		final Constructor<Among, E> elementConstructor;
+		final boolean requiresUnnamedList;
+		@Nullable final ListStrategy<E> strategy;
+
+		ListOf(Constructor<Among, E> elementConstructor, boolean requiresUnnamedList, @Nullable ListStrategy<E> strategy){
+			this.elementConstructor = Objects.requireNonNull(elementConstructor);
+			this.requiresUnnamedList = requiresUnnamedList;
+			this.strategy = strategy;
+		}
+
+		@Override @Nullable public List<E> construct(AmongList instance, @Nullable ReportHandler reportHandler){
+			if(requiresUnnamedList&&instance.hasName()){
+				if(reportHandler!=null) reportHandler.reportError("List should be unnamed", instance.sourcePosition());
+				return null;
+			}
+			return constructElements(instance, elementConstructor, strategy, reportHandler);
+		}
+	}
+
+	/**
+	 * Node of {@link Constructor#listOrElementOf(Constructor)} and {@link Constructor#listOrElementOf(Constructor,
+	 * ListStrategy)}.
+	 */
+	static final class ListOrElementOf<E> implements Constructor<Among, List<E>>{
+		final Constructor<Among, E> elementConstructor;
+		@Nullable final ListStrategy<E> strategy;
+
+		ListOrElementOf(Constructor<Among, E> elementConstructor, @Nullable ListStrategy<E> strategy){
+			this.elementConstructor = Objects.requireNonNull(elementConstructor);
+			this.strategy = strategy;
+		}
+
+		@Override @Nullable public List<E> construct(Among instance, @Nullable ReportHandler reportHandler){
+			if(instance.isList()){
+				AmongList l = instance.asList();
+				if(!l.hasName()) return constructElements(l, elementConstructor, strategy, reportHandler);
+			}
+			E e = elementConstructor.construct(instance, reportHandler);
+			if(e==null) return null;
+			if(strategy==null) return Collections.singletonList(e);
+			ListStrategy.Builder<E> list = strategy.builder(1);
+			list.add(e);
+			return list.build();
+		}
+	}
+
+	/**
+	 * Construct each element of {@code instance}, collected with {@code strategy}, or into {@link ArrayList} if it's
+	 * {@code null}.
+	 */
+	@Nullable private static <E> List<E> constructElements(AmongList instance, Constructor<Among, E> elementConstructor, @Nullable ListStrategy<E> strategy, @Nullable ReportHandler reportHandler){
+		if(strategy==null){
+			List<E> list = new ArrayList<>(instance.size());
+			for(int i = 0; i<instance.size(); i++){
+				E e = elementConstructor.construct(instance.get(i), reportHandler);
+				if(e==null) return null;
+				list.add(e);
+			}
+			return list;
+		}
+		ListStrategy.Builder<E> list = strategy.builder(instance.size());
+		for(int i = 0; i<instance.size(); i++){
+			E e = elementConstructor.construct(instance.get(i), reportHandler);
+			if(e==null) return null;
+			list.add(e);
+		}
+		return list.build();
+	}
+}
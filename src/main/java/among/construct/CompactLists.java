@@ -0,0 +1,167 @@
+package among.construct;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Implementations of {@link ListStrategy}.
+ */
+final class CompactLists{
+	private CompactLists(){}
+
+	private static final ListStrategy<Object> MUTABLE = size -> {
+		ArrayList<Object> list = new ArrayList<>(size);
+		return new ListStrategy.Builder<Object>(){
+			@Override public void add(Object element){
+				list.add(element);
+			}
+			@Override public List<Object> build(){
+				return list;
+			}
+		};
+	};
+	private static final ListStrategy<Object> IMMUTABLE = size -> new ArrayBuilder(size, false);
+	private static final ListStrategy<Object> COMPACT = size -> new ArrayBuilder(size, true);
+
+	static final ListStrategy<Integer> INTS = size -> {
+		int[] array = new int[size];
+		return new ListStrategy.Builder<Integer>(){
+			private int i;
+
+			@Override public void add(Integer element){
+				array[i++] = element;
+			}
+			@Override public List<Integer> build(){
+				return size==0 ? Collections.emptyList() : new IntList(i==size ? array : Arrays.copyOf(array, i));
+			}
+		};
+	};
+	static final ListStrategy<Long> LONGS = size -> {
+		long[] array = new long[size];
+		return new ListStrategy.Builder<Long>(){
+			private int i;
+
+			@Override public void add(Long element){
+				array[i++] = element;
+			}
+			@Override public List<Long> build(){
+				return size==0 ? Collections.emptyList() : new LongList(i==size ? array : Arrays.copyOf(array, i));
+			}
+		};
+	};
+	static final ListStrategy<Double> DOUBLES = size -> {
+		double[] array = new double[size];
+		return new ListStrategy.Builder<Double>(){
+			private int i;
+
+			@Override public void add(Double element){
+				array[i++] = element;
+			}
+			@Override public List<Double> build(){
+				return size==0 ? Collections.emptyList() : new DoubleList(i==size ? array : Arrays.copyOf(array, i));
+			}
+		};
+	};
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static <E> ListStrategy<E> mutable(){
+		return (ListStrategy)MUTABLE;
+	}
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static <E> ListStrategy<E> immutable(){
+		return (ListStrategy)IMMUTABLE;
+	}
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static <E> ListStrategy<E> compact(){
+		return (ListStrategy)COMPACT;
+	}
+
+	private static final class ArrayBuilder implements ListStrategy.Builder<Object>{
+		private final Object[] array;
+		private final boolean compact;
+		private int i;
+
+		ArrayBuilder(int size, boolean compact){
+			this.array = new Object[size];
+			this.compact = compact;
+		}
+
+		@Override public void add(Object element){
+			array[i++] = element;
+		}
+		@Override public List<Object> build(){
+			if(compact){
+				if(i==0) return Collections.emptyList();
+				if(i==1) return Collections.singletonList(array[0]);
+			}
+			return new ArrayBackedList<>(i==array.length ? array : Arrays.copyOf(array, i));
+		}
+	}
+
+	private static final class ArrayBackedList<E> extends AbstractList<E> implements RandomAccess{
+		private final Object[] array;
+
+		ArrayBackedList(Object[] array){
+			this.array = array;
+		}
+
+		@SuppressWarnings("unchecked") @Override public E get(int index){
+			return (E)array[index];
+		}
+		@Override public int size(){
+			return array.length;
+		}
+		@Override public Object[] toArray(){
+			return array.clone();
+		}
+	}
+
+	private static final class IntList extends AbstractList<Integer> implements RandomAccess{
+		private final int[] array;
+
+		IntList(int[] array){
+			this.array = array;
+		}
+
+		@Override public Integer get(int index){
+			return array[index];
+		}
+		@Override public int size(){
+			return array.length;
+		}
+	}
+
+	private static final class LongList extends AbstractList<Long> implements RandomAccess{
+		private final long[] array;
+
+		LongList(long[] array){
+			this.array = array;
+		}
+
+		@Override public Long get(int index){
+			return array[index];
+		}
+		@Override public int size(){
+			return array.length;
+		}
+	}
+
+	private static final class DoubleList extends AbstractList<Double> implements RandomAccess{
+		private final double[] array;
+
+		DoubleList(double[] array){
+			this.array = array;
+		}
+
+		@Override public Double get(int index){
+			return array[index];
+		}
+		@Override public int size(){
+			return array.length;
+		}
+	}
+}
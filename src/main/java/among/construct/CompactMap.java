@@ -0,0 +1,107 @@
+package among.construct;
+
+import among.construct.condition.ObjectCondition;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Unmodifiable map produced by {@link Constructor#mapOf(Constructor, Constructor, ObjectCondition, boolean)}. Keys
+ * and values are stored in arrays of exact size, in insertion order; lookups go through an open-addressed table of
+ * indices with linear probing, kept at most half full. No object is allocated for each entry.
+ *
+ * @param <K> Type of the keys
+ * @param <V> Type of the values
+ */
+final class CompactMap<K, V> extends AbstractMap<K, V>{
+	private final Object[] keys;
+	private final Object[] values;
+	/**
+	 * Index of the entry plus one, or {@code 0} for empty slots.
+	 */
+	private final int[] table;
+	private int size;
+	@Nullable private Set<Entry<K, V>> entrySet;
+
+	CompactMap(int capacity){
+		this.keys = new Object[capacity];
+		this.values = new Object[capacity];
+		int tableSize = Integer.highestOneBit(Math.max(1, capacity*2-1))<<1;
+		this.table = new int[tableSize];
+	}
+
+	/**
+	 * @return {@code false} if the key was already present
+	 */
+	boolean put0(K key, V value){
+		int mask = table.length-1;
+		for(int i = hash(key)&mask; ; i = (i+1)&mask){
+			int t = table[i];
+			if(t==0){
+				keys[size] = key;
+				values[size] = value;
+				table[i] = ++size;
+				return true;
+			}
+			if(keys[t-1].equals(key)) return false;
+		}
+	}
+
+	private int indexOf(@Nullable Object key){
+		if(key==null) return -1;
+		int mask = table.length-1;
+		for(int i = hash(key)&mask; ; i = (i+1)&mask){
+			int t = table[i];
+			if(t==0) return -1;
+			if(keys[t-1].equals(key)) return t-1;
+		}
+	}
+
+	private static int hash(Object key){
+		int h = key.hashCode();
+		return h^(h>>>16);
+	}
+
+	@Override public int size(){
+		return size;
+	}
+	@Override public boolean containsKey(Object key){
+		return indexOf(key)>=0;
+	}
+	@SuppressWarnings("unchecked") @Override @Nullable public V get(Object key){
+		int i = indexOf(key);
+		return i<0 ? null : (V)values[i];
+	}
+	@SuppressWarnings("unchecked") @Override public void forEach(BiConsumer<? super K, ? super V> action){
+		for(int i = 0; i<size; i++) action.accept((K)keys[i], (V)values[i]);
+	}
+
+	@Override public Set<Entry<K, V>> entrySet(){
+		if(entrySet==null) entrySet = new AbstractSet<Entry<K, V>>(){
+			@Override public Iterator<Entry<K, V>> iterator(){
+				return new Iterator<Entry<K, V>>(){
+					private int i;
+
+					@Override public boolean hasNext(){
+						return i<size;
+					}
+					@SuppressWarnings("unchecked") @Override public Entry<K, V> next(){
+						if(i>=size) throw new NoSuchElementException();
+						Entry<K, V> e = new SimpleImmutableEntry<>((K)keys[i], (V)values[i]);
+						i++;
+						return e;
+					}
+				};
+			}
+			@Override public int size(){
+				return size;
+			}
+		};
+		return entrySet;
+	}
+}
@@ -0,0 +1,153 @@
+package among.construct;
+
+import among.report.ReportHandler;
+import among.report.ReportType;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ReportHandler} which can be shared between multiple threads constructing parts of one document. Each thread
+ * writes to its own buffer, which is registered to this handler on first report without locking; no state is shared
+ * between threads while reporting, unless the number of reports is bounded.<br>
+ * Draining collects reports of every thread, ordered by their source position; reports without source position are
+ * placed after positioned ones. Reports with the same position are ordered by the thread which reported them, in
+ * order of the threads' first report, then in the order they were reported in. Buffers of terminated threads are
+ * released on drain.<br>
+ * Optionally, the number of reports held at once can be bounded. Reports exceeding the limit are discarded and only
+ * counted.
+ */
+public final class ConcurrentReportBuffer implements ReportHandler{
+	private static final Comparator<Node> SOURCE_ORDER = (n1, n2) -> {
+		int i1 = n1.entry.srcIndex(), i2 = n2.entry.srcIndex();
+		if(i1!=i2){
+			if(i1<0) return 1;
+			if(i2<0) return -1;
+			return Integer.compare(i1, i2);
+		}
+		if(n1.buffer!=n2.buffer) return Integer.compare(n1.buffer, n2.buffer);
+		return Long.compare(n1.index, n2.index);
+	};
+
+	private final ThreadLocal<LocalBuffer> localBuffer = ThreadLocal.withInitial(this::register);
+	private final AtomicReference<LocalBuffer> buffers = new AtomicReference<>();
+	private final AtomicInteger bufferCount = new AtomicInteger();
+	private final AtomicInteger size = new AtomicInteger();
+	private final AtomicInteger dropped = new AtomicInteger();
+	private final int maxReports;
+
+	/**
+	 * Create new buffer without limit.
+	 */
+	public ConcurrentReportBuffer(){
+		this(-1);
+	}
+	/**
+	 * Create new buffer holding at most {@code maxReports} reports at once.
+	 *
+	 * @param maxReports Maximum number of reports held, or negative value for no limit
+	 */
+	public ConcurrentReportBuffer(int maxReports){
+		this.maxReports = maxReports;
+	}
+
+	@Override public void report(ReportType type, String message, int srcIndex, @Nullable Throwable ex, String... hints){
+		if(maxReports>=0&&size.incrementAndGet()>maxReports){
+			size.decrementAndGet();
+			dropped.incrementAndGet();
+			return;
+		}
+		LocalBuffer buffer = localBuffer.get();
+		buffer.queue.add(new Node(new ReportBuffer.Entry(type, message, srcIndex, ex, hints), buffer.id, buffer.nextIndex++));
+	}
+
+	/**
+	 * @return Number of reports discarded due to the limit
+	 */
+	public int dropped(){
+		return dropped.get();
+	}
+
+	/**
+	 * Remove all reports currently held, and return them in source order. Reports being written concurrently may or
+	 * may not be included.
+	 *
+	 * @return Reports removed, sorted in source order
+	 */
+	public synchronized List<ReportBuffer.Entry> drain(){
+		List<Node> nodes = new ArrayList<>();
+		LocalBuffer prev = null;
+		for(LocalBuffer b = buffers.get(); b!=null; b = b.next){
+			// check termination before polling, so that every report of terminated thread is drained before release
+			Thread owner = b.owner.get();
+			boolean terminated = owner==null||!owner.isAlive();
+			for(Node n; (n = b.queue.poll())!=null; ){
+				nodes.add(n);
+				if(maxReports>=0) size.decrementAndGet();
+			}
+			if(terminated){
+				// new buffers are only ever pushed at the head; unlinking the head races with them, others don't
+				if(prev!=null) prev.next = b.next;
+				else if(!buffers.compareAndSet(b, b.next)) prev = b;
+			}else prev = b;
+		}
+		nodes.sort(SOURCE_ORDER);
+		List<ReportBuffer.Entry> entries = new ArrayList<>(nodes.size());
+		for(Node n : nodes) entries.add(n.entry);
+		return entries;
+	}
+
+	/**
+	 * Remove all reports currently held, and pass them to {@code reportHandler} in source order.
+	 *
+	 * @param reportHandler Report handler to receive the reports
+	 * @throws NullPointerException If {@code reportHandler == null}
+	 * @see ConcurrentReportBuffer#drain()
+	 */
+	public void drainTo(ReportHandler reportHandler){
+		Objects.requireNonNull(reportHandler);
+		for(ReportBuffer.Entry e : drain()) e.reportTo(reportHandler);
+	}
+
+	private LocalBuffer register(){
+		LocalBuffer buffer = new LocalBuffer(Thread.currentThread(), bufferCount.getAndIncrement());
+		do buffer.next = buffers.get();
+		while(!buffers.compareAndSet(buffer.next, buffer));
+		return buffer;
+	}
+
+	private static final class Node{
+		final ReportBuffer.Entry entry;
+		final int buffer;
+		final long index;
+
+		Node(ReportBuffer.Entry entry, int buffer, long index){
+			this.entry = entry;
+			this.buffer = buffer;
+			this.index = index;
+		}
+	}
+
+	private static final class LocalBuffer{
+		final ConcurrentLinkedQueue<Node> queue = new ConcurrentLinkedQueue<>();
+		final WeakReference<Thread> owner;
+		final int id;
+		/**
+		 * Index of the next report; only accessed by the owner thread.
+		 */
+		long nextIndex;
+		@Nullable volatile LocalBuffer next;
+
+		LocalBuffer(Thread owner, int id){
+			this.owner = new WeakReference<>(owner);
+			this.id = id;
+		}
+	}
+}
@@ -120,6 +120,7 @@ public final class ConditionedConstructor<A extends Among, T> implements Constru
 	private final Condition<A>[] conditions;
 	private final Constructor<A, T>[] constructors;
 	private final boolean firstMatch;
+	@Nullable private final Constructor<A, T> compiled;
 
 	@SuppressWarnings("unchecked") ConditionedConstructor(List<Condition<A>> conditions, List<Constructor<A, T>> constructors, boolean firstMatch){
 		this.conditions = conditions.toArray(new Condition[0]);
@@ -131,24 +132,48 @@ public final class ConditionedConstructor<A extends Among, T> implements Constru
 		for(Condition<A> c : this.conditions) Objects.requireNonNull(c);
 		for(Constructor<A, T> c : this.constructors) Objects.requireNonNull(c);
 		this.firstMatch = firstMatch;
+		this.compiled = Condition.compileDispatch(this.conditions, this.constructors, firstMatch, this::interpret);
+	}
+
+	/**
+	 * @return Whether the dispatch is compiled into a class specialized for it
+	 * @see among.construct.condition.ConditionBuilder#compile()
+	 * @see Condition#compileDispatch(Condition[], Constructor[], boolean, Constructor)
+	 */
+	public boolean isCompiled(){
+		return compiled!=null;
 	}
 
 	@Override @Nullable public T construct(A instance, @Nullable ReportHandler reportHandler){
-		if(conditions.length==1) return conditions[0].test(instance, reportHandler) ?
-				constructors[0].construct(instance, reportHandler) :
-				null;
+		// compiled dispatch falls back to interpretation whenever it can't choose a constructor without reports
+		if(compiled!=null&&!ConstructEvents.isActive()) return compiled.construct(instance, reportHandler);
+		return interpret(instance, reportHandler);
+	}
+
+	@Nullable private T interpret(A instance, @Nullable ReportHandler reportHandler){
+		if(conditions.length==1){
+			boolean match = conditions[0].test(instance, reportHandler);
+			if(ConstructEvents.isActive()) ConstructEvents.conditionDispatch(1, 1, match ? 0 : -1);
+			return match ? constructors[0].construct(instance, reportHandler) : null;
+		}
 		if(firstMatch){
-			for(int i = 0; i<conditions.length; i++)
-				if(conditions[i].test(instance))
+			for(int i = 0; i<conditions.length; i++){
+				if(conditions[i].test(instance)){
+					if(ConstructEvents.isActive()) ConstructEvents.conditionDispatch(conditions.length, i+1, i);
 					return constructors[i].construct(instance, reportHandler);
+				}
+			}
+			if(ConstructEvents.isActive()) ConstructEvents.conditionDispatch(conditions.length, conditions.length, -1);
 		}else{
 			int match = -1;
 			List<Integer> ambiguous = null;
 			for(int i = 0; i<conditions.length; i++){
 				if(conditions[i].test(instance)){
 					if(match<0) match = i;
-					else if(reportHandler==null) return null;
-					else{
+					else if(reportHandler==null){
+						if(ConstructEvents.isActive()) ConstructEvents.conditionDispatch(conditions.length, i+1, -1);
+						return null;
+					}else{
 						if(ambiguous==null){
 							ambiguous = new ArrayList<>();
 							ambiguous.add(match);
@@ -157,6 +182,7 @@ public final class ConditionedConstructor<A extends Among, T> implements Constru
 					}
 				}
 			}
+			if(ConstructEvents.isActive()) ConstructEvents.conditionDispatch(conditions.length, conditions.length, match);
 			if(ambiguous!=null){
 				StringBuilder stb = new StringBuilder();
 				stb.append("Matched by multiple conditions:");
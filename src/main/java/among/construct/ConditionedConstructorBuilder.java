@@ -2,7 +2,9 @@ package among.construct;
 
 import among.construct.condition.Condition;
 import among.construct.condition.ConditionBuilder;
+import among.construct.metrics.Instrumentation;
 import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +19,8 @@ public abstract class ConditionedConstructorBuilder<
 	private final List<Condition<A>> conditions = new ArrayList<>();
 	private final List<Constructor<A, T>> constructors = new ArrayList<>();
 	private boolean firstMatch = true;
+	@Nullable private Instrumentation instrumentation;
+	@Nullable private String instrumentationName;
 
 	protected abstract SELF self();
 
@@ -42,10 +46,32 @@ public abstract class ConditionedConstructorBuilder<
 		return self();
 	}
 
+	/**
+	 * Record calls to each branch with {@code instrumentation}. Each branch is named after {@code name} and the index
+	 * of the branch in declaration order, for example {@code name#0} for the first branch.
+	 *
+	 * @param instrumentation Instrumentation to record to, for example {@link among.construct.metrics.ConstructMetrics}
+	 * @param name            Prefix of the names
+	 * @return this
+	 */
+	public SELF instrument(Instrumentation instrumentation, String name){
+		if(this.instrumentation!=null)
+			throw new IllegalStateException("Instrumentation already defined");
+		this.instrumentation = Objects.requireNonNull(instrumentation);
+		this.instrumentationName = Objects.requireNonNull(name);
+		return self();
+	}
+
 	protected abstract CB createConditionBuilder();
 
 	public ConditionedConstructor<A, T> build(){
 		if(conditions.isEmpty()) throw new IllegalStateException("No conditions");
+		if(instrumentation!=null){
+			List<Constructor<A, T>> instrumented = new ArrayList<>(constructors.size());
+			for(int i = 0; i<constructors.size(); i++)
+				instrumented.add(instrumentation.instrument(instrumentationName+"#"+i, constructors.get(i)));
+			return new ConditionedConstructor<>(conditions, instrumented, firstMatch);
+		}
 		return new ConditionedConstructor<>(conditions, constructors, firstMatch);
 	}
 }
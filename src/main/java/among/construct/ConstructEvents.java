@@ -0,0 +1,46 @@
+package among.construct;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emission of JDK Flight Recorder events. Flight recorder events are not supported on this version of Java; the class
+ * is replaced with a working implementation for Java 21 or above, via multi-release jar.<br>
+ * Callers are expected to check {@link ConstructEvents#isActive()} before computing event data; it is a constant
+ * {@code false} here, so instrumented code paths are removed entirely by JIT.
+ */
+final class ConstructEvents{
+	private ConstructEvents(){}
+
+	/**
+	 * @return Whether events might be recorded
+	 */
+	static boolean isActive(){
+		return false;
+	}
+
+	/**
+	 * Emit event for rule dispatch of {@link ConstructRule}.
+	 *
+	 * @param kind  Kind of the rule chosen; one of {@code "primitive"}, {@code "list"}, {@code "object"}, {@code
+	 *              "all"}, or {@code "none"} if no rule was chosen
+	 * @param name  Name (or value, for primitives) of the rule chosen, or {@code null} for generic rules
+	 * @param depth Number of rules in the chain of base rules searched
+	 */
+	static void ruleDispatch(String kind, @Nullable String name, int depth){}
+
+	/**
+	 * Emit event for condition dispatch of {@link ConditionedConstructor}.
+	 *
+	 * @param conditions Number of conditions of the constructor
+	 * @param tested     Number of conditions tested
+	 * @param match      Index of the condition matched, or {@code -1} if none matched
+	 */
+	static void conditionDispatch(int conditions, int tested, int match){}
+
+	/**
+	 * Emit event for an exception caught by {@link Constructor#tryConstruct(Constructor, Constructor.ExceptionReporter)}.
+	 *
+	 * @param exception Exception caught
+	 */
+	static void exceptionCaught(Throwable exception){}
+}
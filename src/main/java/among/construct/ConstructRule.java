@@ -9,6 +9,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
@@ -73,21 +74,55 @@ public final class ConstructRule<T> implements Constructor<Among, T>{
 
 	@Override @Nullable public T construct(Among instance, @Nullable ReportHandler reportHandler){
 		if(instance.isPrimitive()){
-			Supplier<? extends T> s = searchPrimitiveRule(instance.asPrimitive().getValue());
-			if(s!=null) return s.get();
+			String value = instance.asPrimitive().getValue();
+			Supplier<? extends T> s = searchPrimitiveRule(value);
+			if(s!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("primitive", value,
+						searchDepth(r -> r.primitiveRules!=null&&r.primitiveRules.containsKey(value)));
+				return s.get();
+			}
 			Constructor<AmongPrimitive, ? extends T> c = searchGenericPrimitiveRule();
-			if(c!=null) return c.construct(instance.asPrimitive(), reportHandler);
+			if(c!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("primitive", null,
+						searchDepth(r -> r.genericPrimitiveRule!=null));
+				return c.construct(instance.asPrimitive(), reportHandler);
+			}
 		}else if(instance.isList()){
-			Constructor<AmongList, ? extends T> c = searchListRule(instance.asList());
-			if(c==null) c = searchGenericListRule();
-			if(c!=null) return c.construct(instance.asList(), reportHandler);
+			AmongList list = instance.asList();
+			Constructor<AmongList, ? extends T> c = searchListRule(list);
+			if(c!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("list", list.getName(),
+						searchDepth(r -> r.listRules!=null&&r.listRules.containsKey(list.getName())));
+				return c.construct(list, reportHandler);
+			}
+			c = searchGenericListRule();
+			if(c!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("list", null,
+						searchDepth(r -> r.genericListRule!=null));
+				return c.construct(list, reportHandler);
+			}
 		}else{ // object
-			Constructor<AmongObject, ? extends T> c = searchObjRule(instance.asObj());
-			if(c==null) c = searchGenericObjRule();
-			if(c!=null) return c.construct(instance.asObj(), reportHandler);
+			AmongObject obj = instance.asObj();
+			Constructor<AmongObject, ? extends T> c = searchObjRule(obj);
+			if(c!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("object", obj.getName(),
+						searchDepth(r -> r.objectRules!=null&&r.objectRules.containsKey(obj.getName())));
+				return c.construct(obj, reportHandler);
+			}
+			c = searchGenericObjRule();
+			if(c!=null){
+				if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("object", null,
+						searchDepth(r -> r.genericObjectRule!=null));
+				return c.construct(obj, reportHandler);
+			}
 		}
 		Constructor<Among, ? extends T> c = searchGenericValueRule();
-		if(c!=null) return c.construct(instance, reportHandler);
+		if(c!=null){
+			if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("all", null,
+					searchDepth(r -> r.genericValueRule!=null));
+			return c.construct(instance, reportHandler);
+		}
+		if(ConstructEvents.isActive()) ConstructEvents.ruleDispatch("none", null, searchDepth(r -> false));
 		if(reportHandler!=null)
 			reportHandler.reportError(errorMessage!=null ?
 							errorMessage : "None of the rules match given object",
@@ -108,6 +143,17 @@ public final class ConstructRule<T> implements Constructor<Among, T>{
 		return b.build();
 	}
 
+	/**
+	 * Count the number of rules searched in the chain of base rules, until a rule satisfying {@code hasRule} is found.
+	 * Only used for reporting.
+	 */
+	private int searchDepth(Predicate<ConstructRule<?>> hasRule){
+		int depth = 1;
+		for(ConstructRule<?> r = this; ; r = r.baseRule, depth++){
+			if(hasRule.test(r)||r.baseRule==null) return depth;
+		}
+	}
+
 	@Nullable private Supplier<? extends T> searchPrimitiveRule(String value){
 		if(primitiveRules!=null){
 			Supplier<T> s = primitiveRules.get(value);
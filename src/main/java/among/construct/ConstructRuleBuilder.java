@@ -1,5 +1,6 @@
 package among.construct;
 
+import among.construct.metrics.Instrumentation;
 import among.obj.Among;
 import among.obj.AmongList;
 import among.obj.AmongObject;
@@ -8,6 +9,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 public final class ConstructRuleBuilder<T>{
@@ -26,6 +28,9 @@ public final class ConstructRuleBuilder<T>{
 
 	@Nullable private String errorMessage;
 
+	@Nullable private Instrumentation instrumentation;
+	@Nullable private String instrumentationName;
+
 	public ConstructRuleBuilder(@Nullable ConstructRule<? extends T> baseRule){
 		this.baseRule = baseRule;
 	}
@@ -97,7 +102,33 @@ public final class ConstructRuleBuilder<T>{
 		return this;
 	}
 
+	/**
+	 * Record calls to each rule with {@code instrumentation}. Each rule is named after {@code name} and the rule, for
+	 * example {@code name/obj:foo} for object rule named {@code foo}, and {@code name/obj} for generic object rule.
+	 * Rules inherited from base rule are not instrumented.
+	 *
+	 * @param instrumentation Instrumentation to record to, for example {@link among.construct.metrics.ConstructMetrics}
+	 * @param name            Prefix of the names
+	 * @return this
+	 */
+	public ConstructRuleBuilder<T> instrument(Instrumentation instrumentation, String name){
+		if(this.instrumentation!=null)
+			throw new IllegalStateException("Instrumentation already defined");
+		this.instrumentation = Objects.requireNonNull(instrumentation);
+		this.instrumentationName = Objects.requireNonNull(name);
+		return this;
+	}
+
 	public ConstructRule<T> build(){
+		if(instrumentation!=null) return new ConstructRule<>(baseRule,
+				instrumentSuppliers(primitiveRules, "/primitive:"),
+				instrument(genericPrimitiveRule, "/primitive"),
+				instrument(listRules, "/list:"),
+				instrument(genericListRule, "/list"),
+				instrument(objectRules, "/obj:"),
+				instrument(genericObjectRule, "/obj"),
+				instrument(genericValueRule, "/all"),
+				errorMessage);
 		return new ConstructRule<>(baseRule,
 				primitiveRules,
 				genericPrimitiveRule,
@@ -108,4 +139,22 @@ public final class ConstructRuleBuilder<T>{
 				genericValueRule,
 				errorMessage);
 	}
+
+	@Nullable private Map<String, Supplier<T>> instrumentSuppliers(@Nullable Map<String, Supplier<T>> rules, String kind){
+		if(rules==null) return null;
+		Map<String, Supplier<T>> map = new HashMap<>();
+		for(Map.Entry<String, Supplier<T>> e : rules.entrySet())
+			map.put(e.getKey(), Objects.requireNonNull(instrumentation).instrument(instrumentationName+kind+e.getKey(), e.getValue()));
+		return map;
+	}
+	@Nullable private <A extends Among> Map<String, Constructor<A, T>> instrument(@Nullable Map<String, Constructor<A, T>> rules, String kind){
+		if(rules==null) return null;
+		Map<String, Constructor<A, T>> map = new HashMap<>();
+		for(Map.Entry<String, Constructor<A, T>> e : rules.entrySet())
+			map.put(e.getKey(), Objects.requireNonNull(instrumentation).instrument(instrumentationName+kind+e.getKey(), e.getValue()));
+		return map;
+	}
+	@Nullable private <A extends Among> Constructor<A, T> instrument(@Nullable Constructor<A, T> rule, String kind){
+		return rule==null ? null : Objects.requireNonNull(instrumentation).instrument(instrumentationName+kind, rule);
+	}
 }
@@ -1,5 +1,8 @@
 package among.construct;
 
+import among.construct.condition.Condition;
+import among.construct.condition.ListCondition;
+import among.construct.condition.ObjectCondition;
 import among.exception.Sussy;
 import among.obj.Among;
 import among.obj.AmongList;
@@ -9,10 +12,13 @@ import among.report.ReportHandler;
 import among.report.ReportType;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Base interface for object construction.<br>
@@ -88,10 +94,27 @@ public interface Constructor<IN, OUT>{
 	 * @return New constructor
 	 */
 	default <R> Constructor<IN, R> then(Constructor<OUT, R> other){
-		return (instance, reportHandler) -> {
-			OUT out = this.construct(instance, reportHandler);
-			return out==null ? null : other.construct(out, reportHandler);
-		};
+		return new Combinators.Then<>(this, other);
+	}
+
+	/**
+	 * Optimize given constructor. Chains of standard combinators defined in this interface, for example {@link
+	 * Constructor#then(Constructor)}, {@link Constructor#tryConstruct(Constructor, ExceptionReporter)} and {@link
+	 * Constructor#generifyValue(Constructor)}, are fused into specialized implementations with fewer indirect calls.
+	 * Element constructors of {@link Constructor#listOf(Constructor, boolean)} and {@link
+	 * Constructor#listOrElementOf(Constructor)}, including the overloads with {@link ListStrategy}, are optimized as
+	 * well. Any other constructor is left as is.<br>
+	 * Returned constructor behaves identically to the original constructor, including reports.
+	 *
+	 * @param constructor The constructor to optimize
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Optimized constructor, or {@code constructor} itself if there's nothing to optimize
+	 * @throws NullPointerException If {@code constructor == null}
+	 */
+	@SuppressWarnings("unchecked")
+	static <IN, OUT> Constructor<IN, OUT> optimize(Constructor<IN, OUT> constructor){
+		return (Constructor<IN, OUT>)Combinators.optimize(Objects.requireNonNull(constructor));
 	}
 
 	/**
@@ -138,18 +161,120 @@ public interface Constructor<IN, OUT>{
 	 * @throws NullPointerException If {@code constructor == null}
 	 */
 	static <IN, OUT> Constructor<IN, OUT> tryConstruct(Constructor<? super IN, OUT> constructor, @Nullable ExceptionReporter<? super IN> exceptionReporter){
+		return new Combinators.Try<>(constructor, exceptionReporter);
+	}
+
+	/**
+	 * Wraps given constructor with a bounded cache. Parameters are compared with their {@code equals} and {@code
+	 * hashCode} implementation, which is structural for {@link Among} values.
+	 *
+	 * @param constructor The constructor to cache
+	 * @param maxSize     Maximum number of cached results
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Cached constructor
+	 * @throws NullPointerException     If {@code constructor == null}
+	 * @throws IllegalArgumentException If {@code maxSize <= 0}
+	 * @see Constructor#cached(Constructor, int, boolean)
+	 */
+	static <IN, OUT> Constructor<IN, OUT> cached(Constructor<IN, OUT> constructor, int maxSize){
+		return cached(constructor, maxSize, false);
+	}
+	/**
+	 * Wraps given constructor with a bounded cache. Each result is constructed once per distinct parameter, and shared
+	 * between every call with equal parameter afterwards; the least recently used results are evicted first when the
+	 * cache is full.<br>
+	 * Reports produced by the original call are recorded alongside the result, and replayed to report handler on each
+	 * cache hit. Note that recorded source positions are the ones of the original parameter, which might differ from
+	 * the parameter of the later call when compared structurally. Failed constructions are cached as well.<br>
+	 * Since results are shared, it is expected for both the parameters and the results to not be modified afterwards.
+	 * Returned constructor can be used from multiple threads, as long as the wrapped constructor can.
+	 *
+	 * @param constructor The constructor to cache
+	 * @param maxSize     Maximum number of cached results
+	 * @param identity    If {@code true}, parameters are compared by identity instead of {@code equals}
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Cached constructor
+	 * @throws NullPointerException     If {@code constructor == null}
+	 * @throws IllegalArgumentException If {@code maxSize <= 0}
+	 */
+	static <IN, OUT> Constructor<IN, OUT> cached(Constructor<IN, OUT> constructor, int maxSize, boolean identity){
+		return new CachedConstructor<>(constructor, maxSize, identity);
+	}
+
+	/**
+	 * Wraps given constructor so that equal results share one canonical instance. A new {@link Interner#weak() weak
+	 * interner} is used as pool.
+	 *
+	 * @param constructor The constructor to wrap
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Wrapped constructor
+	 * @throws NullPointerException If {@code constructor == null}
+	 * @see Constructor#interned(Constructor, Interner)
+	 */
+	static <IN, OUT> Constructor<IN, OUT> interned(Constructor<IN, OUT> constructor){
+		return interned(constructor, Interner.weak());
+	}
+	/**
+	 * Wraps given constructor so that equal results share one canonical instance. Each successfully constructed object
+	 * is passed to {@code interner}, and the canonical instance is returned instead. Interners can be shared between
+	 * multiple constructors producing the same type of objects.<br>
+	 * Since results are shared, it is expected for them to not be modified afterwards.
+	 *
+	 * @param constructor The constructor to wrap
+	 * @param interner    Pool of canonical instances
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Wrapped constructor
+	 * @throws NullPointerException If either {@code constructor == null} or {@code interner == null}
+	 */
+	static <IN, OUT> Constructor<IN, OUT> interned(Constructor<IN, OUT> constructor, Interner<OUT> interner){
 		Objects.requireNonNull(constructor);
+		Objects.requireNonNull(interner);
 		return (instance, reportHandler) -> {
-			try{
-				return constructor.construct(instance, reportHandler);
-			}catch(RuntimeException ex){
-				if(reportHandler!=null&&exceptionReporter!=null)
-					exceptionReporter.reportException(reportHandler, instance, ex);
-				return null;
-			}
+			OUT out = constructor.construct(instance, reportHandler);
+			return out==null ? null : interner.intern(out);
 		};
 	}
 
+	/**
+	 * Create new constructor which defers construction until the result is first accessed. Returned constructor always
+	 * succeeds, producing {@link Lazy} bound to the parameter.<br>
+	 * Reports of the deferred construction are passed to the report handler supplied to the returned constructor.
+	 *
+	 * @param constructor The constructor to defer
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Lazy constructor
+	 * @throws NullPointerException If {@code constructor == null}
+	 * @see Constructor#lazy(Condition, Constructor)
+	 */
+	static <IN, OUT> Constructor<IN, Lazy<OUT>> lazy(Constructor<IN, OUT> constructor){
+		Objects.requireNonNull(constructor);
+		return (instance, reportHandler) -> new Lazy<>(instance, constructor, reportHandler);
+	}
+	/**
+	 * Create new constructor which defers construction until the result is first accessed. The parameter is tested
+	 * with {@code condition} immediately, and construction fails if the condition is not met; otherwise, {@link Lazy}
+	 * bound to the parameter is returned.<br>
+	 * Reports of the deferred construction are passed to the report handler supplied to the returned constructor.
+	 *
+	 * @param condition   Condition to test parameter with
+	 * @param constructor The constructor to defer
+	 * @param <A>         Type of Among value parameter
+	 * @param <OUT>       Type of the resulting object
+	 * @return Lazy constructor
+	 * @throws NullPointerException If either {@code condition == null} or {@code constructor == null}
+	 */
+	static <A extends Among, OUT> Constructor<A, Lazy<OUT>> lazy(Condition<A> condition, Constructor<A, OUT> constructor){
+		Objects.requireNonNull(condition);
+		Objects.requireNonNull(constructor);
+		return (instance, reportHandler) -> condition.test(instance, reportHandler) ?
+				new Lazy<>(instance, constructor, reportHandler) : null;
+	}
+
 	/**
 	 * Create new constructor which produces list of given element. {@link AmongList} is expected for input.
 	 *
@@ -173,20 +298,143 @@ public interface Constructor<IN, OUT>{
 			Constructor<Among, E> elementConstructor,
 			boolean requiresUnnamedList){
 		Objects.requireNonNull(elementConstructor);
+		return new Combinators.ListOf<>(elementConstructor, requiresUnnamedList, null);
+	}
+	/**
+	 * Create new constructor which produces list of given element, collected with {@code strategy}. {@link AmongList}
+	 * is expected for input.
+	 *
+	 * @param elementConstructor  Constructor for elements
+	 * @param requiresUnnamedList If {@code true}, matching list is required to be unnamed.
+	 * @param strategy            Strategy for collecting the elements
+	 * @param <E>                 Type of the elements
+	 * @return Constructor of list
+	 * @throws NullPointerException If either {@code elementConstructor == null} or {@code strategy == null}
+	 * @see ListStrategy
+	 */
+	static <E> Constructor<AmongList, List<E>> listOf(
+			Constructor<Among, E> elementConstructor,
+			boolean requiresUnnamedList,
+			ListStrategy<E> strategy){
+		Objects.requireNonNull(elementConstructor);
+		Objects.requireNonNull(strategy);
+		return new Combinators.ListOf<>(elementConstructor, requiresUnnamedList, strategy);
+	}
+	/**
+	 * Create new constructor which produces map of given value, keyed by property names. {@link AmongObject} is
+	 * expected for input.
+	 *
+	 * @param valueConstructor Constructor for values
+	 * @param <V>              Type of the values
+	 * @return Constructor of map
+	 * @see Constructor#mapOf(Constructor, Constructor, ObjectCondition, boolean)
+	 */
+	static <V> Constructor<AmongObject, Map<String, V>> mapOf(Constructor<Among, V> valueConstructor){
+		return mapOf((instance, reportHandler) -> instance, valueConstructor, null, false);
+	}
+	/**
+	 * Create new constructor which produces map of given key and value. {@link AmongObject} is expected for input.
+	 *
+	 * @param keyConstructor   Constructor for keys, from property names
+	 * @param valueConstructor Constructor for values
+	 * @param <K>              Type of the keys
+	 * @param <V>              Type of the values
+	 * @return Constructor of map
+	 * @see Constructor#mapOf(Constructor, Constructor, ObjectCondition, boolean)
+	 */
+	static <K, V> Constructor<AmongObject, Map<K, V>> mapOf(Constructor<String, K> keyConstructor, Constructor<Among, V> valueConstructor){
+		return mapOf(keyConstructor, valueConstructor, null, false);
+	}
+	/**
+	 * Create new constructor which produces map of given key and value. {@link AmongObject} is expected for input.
+	 * Each property is read as an entry, with its name constructed with {@code keyConstructor} and its value with
+	 * {@code valueConstructor}. Construction fails if any key or value fails to construct, or if two properties
+	 * produce equal keys.<br>
+	 * If {@code condition} is supplied, the object is tested with it before any entry is constructed; it can be used to
+	 * check types of the values, or the number of properties, before construction.<br>
+	 * If {@code compact} is {@code true}, the result is an unmodifiable map storing its entries in arrays of exact
+	 * size, with an open-addressed table for lookups; otherwise, the result is a {@link LinkedHashMap} sized to hold every
+	 * entry without resizing. Both preserve order of the properties on iteration.
+	 *
+	 * @param keyConstructor   Constructor for keys, from property names
+	 * @param valueConstructor Constructor for values
+	 * @param condition        Optional condition to test the object with
+	 * @param compact          Whether to produce compact unmodifiable map
+	 * @param <K>              Type of the keys
+	 * @param <V>              Type of the values
+	 * @return Constructor of map
+	 * @throws NullPointerException If either {@code keyConstructor == null} or {@code valueConstructor == null}
+	 */
+	static <K, V> Constructor<AmongObject, Map<K, V>> mapOf(
+			Constructor<String, K> keyConstructor,
+			Constructor<Among, V> valueConstructor,
+			@Nullable ObjectCondition condition,
+			boolean compact){
+		Objects.requireNonNull(keyConstructor);
+		Objects.requireNonNull(valueConstructor);
 		return (instance, reportHandler) -> {
-			if(requiresUnnamedList&&instance.hasName()){
-				if(reportHandler!=null) reportHandler.reportError("List should be unnamed", instance.sourcePosition());
-				return null;
-			}
-			List<E> list = new ArrayList<>(instance.size());
-			for(int i = 0; i<instance.size(); i++){
-				E e = elementConstructor.construct(instance.get(i), reportHandler);
-				if(e==null) return null;
-				list.add(e);
+			if(condition!=null&&!condition.test(instance, reportHandler)) return null;
+			int size = instance.size();
+			CompactMap<K, V> compactMap = compact ? new CompactMap<>(size) : null;
+			Map<K, V> map = compact ? compactMap : new LinkedHashMap<>(size<3 ? size+1 : (int)(size/.75f+1));
+			for(Map.Entry<String, Among> e : instance.properties().entrySet()){
+				K k = keyConstructor.construct(e.getKey(), reportHandler);
+				if(k==null) return null;
+				V v = valueConstructor.construct(e.getValue(), reportHandler);
+				if(v==null) return null;
+				if(compact ? !compactMap.put0(k, v) : map.putIfAbsent(k, v)!=null){
+					if(reportHandler!=null) reportHandler.reportError("Duplicate key '"+k+"'", e.getValue().sourcePosition());
+					return null;
+				}
 			}
-			return list;
+			return map;
 		};
 	}
+
+	/**
+	 * Create new constructor which produces list of tuples stored as columns. {@link AmongList} is expected for input.
+	 * Each element is read as a tuple of the columns declared in the builder, and its values are stored directly in
+	 * the arrays of each column, instead of constructing an object for each element.
+	 *
+	 * @param consumer Builder consumer
+	 * @return Constructor of columnar list
+	 * @see ColumnarListConstructorBuilder
+	 */
+	static Constructor<AmongList, ColumnarList> columnarListOf(Consumer<ColumnarListConstructorBuilder> consumer){
+		ColumnarListConstructorBuilder b = new ColumnarListConstructorBuilder();
+		consumer.accept(b);
+		return b.build();
+	}
+	/**
+	 * Create new constructor which produces list view of given element. {@link AmongList} is expected for input.
+	 *
+	 * @param elementConstructor Constructor for elements
+	 * @param <E>                Type of the elements
+	 * @return Constructor of list view
+	 * @see Constructor#lazyListOf(Constructor, ListCondition)
+	 */
+	static <E> Constructor<AmongList, List<E>> lazyListOf(Constructor<Among, E> elementConstructor){
+		return lazyListOf(elementConstructor, null);
+	}
+	/**
+	 * Create new constructor which produces list view of given element. {@link AmongList} is expected for input.<br>
+	 * Elements of the view are constructed on first access, and reused afterwards. Elements failed to construct are
+	 * represented as {@code null}. Reports of each element are passed to the report handler supplied to the returned
+	 * constructor, at the time of the element being constructed.<br>
+	 * If {@code condition} is supplied, the list is tested with it immediately, and construction fails if the
+	 * condition is not met. Elements are not constructed until accessed even if the condition is supplied.
+	 *
+	 * @param elementConstructor Constructor for elements
+	 * @param condition          Optional condition to test the list with
+	 * @param <E>                Type of the elements
+	 * @return Constructor of list view
+	 * @throws NullPointerException If {@code elementConstructor == null}
+	 */
+	static <E> Constructor<AmongList, List<E>> lazyListOf(Constructor<Among, E> elementConstructor, @Nullable ListCondition condition){
+		Objects.requireNonNull(elementConstructor);
+		return (instance, reportHandler) -> condition==null||condition.test(instance, reportHandler) ?
+				new LazyList<>(instance, elementConstructor, reportHandler) : null;
+	}
 	/**
 	 * Create new constructor which produces list of given element.<br>
 	 * If an unnamed {@link AmongList} is provided as input, it will be read as list, with each element read with
@@ -202,18 +450,84 @@ public interface Constructor<IN, OUT>{
 	 */
 	static <E> Constructor<Among, List<E>> listOrElementOf(Constructor<Among, E> elementConstructor){
 		Objects.requireNonNull(elementConstructor);
+		return new Combinators.ListOrElementOf<>(elementConstructor, null);
+	}
+
+	/**
+	 * Create new constructor which produces list of given element, collected with {@code strategy}. Lists are read the
+	 * same way as {@link Constructor#listOrElementOf(Constructor)}; single elements are collected as list of one
+	 * element.
+	 *
+	 * @param elementConstructor Constructor for elements
+	 * @param strategy           Strategy for collecting the elements
+	 * @param <E>                Type of the elements
+	 * @return Constructor of list
+	 * @throws NullPointerException If either {@code elementConstructor == null} or {@code strategy == null}
+	 * @see ListStrategy
+	 */
+	static <E> Constructor<Among, List<E>> listOrElementOf(Constructor<Among, E> elementConstructor, ListStrategy<E> strategy){
+		Objects.requireNonNull(elementConstructor);
+		Objects.requireNonNull(strategy);
+		return new Combinators.ListOrElementOf<>(elementConstructor, strategy);
+	}
+
+	/**
+	 * Create new constructor which produces list of given element, constructing elements in parallel on {@link
+	 * ForkJoinPool#commonPool()}. {@link AmongList} is expected for input.
+	 *
+	 * @param elementConstructor Constructor for elements
+	 * @param threshold          Minimum size of the list to be constructed in parallel
+	 * @param <E>                Type of the elements
+	 * @return Constructor of list
+	 * @see Constructor#parallelListOf(Constructor, boolean, ForkJoinPool, int)
+	 */
+	static <E> Constructor<AmongList, List<E>> parallelListOf(Constructor<Among, E> elementConstructor, int threshold){
+		return parallelListOf(elementConstructor, false, ForkJoinPool.commonPool(), threshold);
+	}
+	/**
+	 * Create new constructor which produces list of given element, constructing elements in parallel. {@link
+	 * AmongList} is expected for input.<br>
+	 * Lists smaller than {@code threshold} are constructed sequentially on the calling thread. Bigger lists are split
+	 * into chunks of at least {@code threshold} elements, which are constructed on {@code pool}. Reports of each chunk
+	 * are buffered, and passed to report handler in element order after all chunks are done; the resulting list and
+	 * reports are identical to the ones of {@link Constructor#listOf(Constructor, boolean)}, as long as the element
+	 * constructor does not depend on the order of calls.<br>
+	 * Element constructor is expected to be safe to call from multiple threads at once.
+	 *
+	 * @param elementConstructor  Constructor for elements
+	 * @param requiresUnnamedList If {@code true}, matching list is required to be unnamed.
+	 * @param pool                Pool to construct elements on
+	 * @param threshold           Minimum size of the list to be constructed in parallel
+	 * @param <E>                 Type of the elements
+	 * @return Constructor of list
+	 * @throws NullPointerException     If either {@code elementConstructor == null} or {@code pool == null}
+	 * @throws IllegalArgumentException If {@code threshold <= 0}
+	 */
+	static <E> Constructor<AmongList, List<E>> parallelListOf(
+			Constructor<Among, E> elementConstructor,
+			boolean requiresUnnamedList,
+			ForkJoinPool pool,
+			int threshold){
+		return new ParallelListConstructor<>(elementConstructor, requiresUnnamedList, pool, threshold);
+	}
+	/**
+	 * Parallel variant of {@link Constructor#listOrElementOf(Constructor)}. Unnamed lists are constructed as described
+	 * in {@link Constructor#parallelListOf(Constructor, boolean, ForkJoinPool, int)}.
+	 *
+	 * @param elementConstructor Constructor for elements
+	 * @param pool               Pool to construct elements on
+	 * @param threshold          Minimum size of the list to be constructed in parallel
+	 * @param <E>                Type of the elements
+	 * @return Constructor of list
+	 * @throws NullPointerException     If either {@code elementConstructor == null} or {@code pool == null}
+	 * @throws IllegalArgumentException If {@code threshold <= 0}
+	 */
+	static <E> Constructor<Among, List<E>> parallelListOrElementOf(Constructor<Among, E> elementConstructor, ForkJoinPool pool, int threshold){
+		ParallelListConstructor<E> listConstructor = new ParallelListConstructor<>(elementConstructor, false, pool, threshold);
 		return (instance, reportHandler) -> {
 			if(instance.isList()){
 				AmongList l = instance.asList();
-				if(!l.hasName()){
-					List<E> list = new ArrayList<>(l.size());
-					for(int i = 0; i<l.size(); i++){
-						E e = elementConstructor.construct(l.get(i), reportHandler);
-						if(e==null) return null;
-						list.add(e);
-					}
-					return list;
-				}
+				if(!l.hasName()) return listConstructor.constructElements(l, reportHandler);
 			}
 			E e = elementConstructor.construct(instance, reportHandler);
 			return e==null ? null : Collections.singletonList(e);
@@ -228,11 +542,7 @@ public interface Constructor<IN, OUT>{
 	 * @return Generified constructor
 	 */
 	static <OUT> Constructor<Among, OUT> generifyList(Constructor<AmongList, OUT> constructor){
-		return (instance, reportHandler) -> {
-			if(instance.isList()) return constructor.construct(instance.asList(), reportHandler);
-			if(reportHandler!=null) reportHandler.reportError("Expected list", instance.sourcePosition());
-			return null;
-		};
+		return new Combinators.Generify<>(Combinators.GenericType.LIST, constructor);
 	}
 
 	/**
@@ -243,11 +553,7 @@ public interface Constructor<IN, OUT>{
 	 * @return Generified constructor
 	 */
 	static <OUT> Constructor<Among, OUT> generifyObject(Constructor<AmongObject, OUT> constructor){
-		return (instance, reportHandler) -> {
-			if(instance.isObj()) return constructor.construct(instance.asObj(), reportHandler);
-			if(reportHandler!=null) reportHandler.reportError("Expected object", instance.sourcePosition());
-			return null;
-		};
+		return new Combinators.Generify<>(Combinators.GenericType.OBJECT, constructor);
 	}
 
 	/**
@@ -258,11 +564,7 @@ public interface Constructor<IN, OUT>{
 	 * @return Generified constructor
 	 */
 	static <OUT> Constructor<Among, OUT> generifyValue(Constructor<AmongPrimitive, OUT> constructor){
-		return (instance, reportHandler) -> {
-			if(instance.isPrimitive()) return constructor.construct(instance.asPrimitive(), reportHandler);
-			if(reportHandler!=null) reportHandler.reportError("Expected value", instance.sourcePosition());
-			return null;
-		};
+		return new Combinators.Generify<>(Combinators.GenericType.VALUE, constructor);
 	}
 
 	/**
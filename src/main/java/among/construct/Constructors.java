@@ -1,10 +1,15 @@
 package among.construct;
 
+import among.construct.metrics.Instrumentation;
 import among.obj.Among;
 import among.obj.AmongPrimitive;
 import among.report.ReportHandler;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.util.Objects;
+import java.util.function.Consumer;
+
 import static among.construct.ConditionedConstructor.*;
 
 /**
@@ -27,125 +32,216 @@ public final class Constructors{
 	/**
 	 * {@link AmongPrimitive#getBoolValue()} as constructor.
 	 */
-	public static final Constructor<Among, Boolean> BOOL = Constructor.generifyValue(
+	public static final Constructor<Among, Boolean> BOOL = Constructor.optimize(Constructor.generifyValue(
 			Constructor.tryConstruct((instance, reportHandler) ->
-					instance.getBoolValue(), "Expected bool", false));
+					instance.getBoolValue(), "Expected bool", false)));
 	/**
 	 * {@link AmongPrimitive#getIntValue()} as constructor.
 	 */
-	public static final Constructor<Among, Integer> INT = Constructor.generifyValue(
+	public static final Constructor<Among, Integer> INT = Constructor.optimize(Constructor.generifyValue(
 			Constructor.tryConstruct((instance, reportHandler) ->
-					instance.getIntValue(), "Expected int", false));
+					instance.getIntValue(), "Expected int", false)));
 	/**
 	 * {@link AmongPrimitive#getLongValue()} as constructor.
 	 */
-	public static final Constructor<Among, Long> LONG = Constructor.generifyValue(
+	public static final Constructor<Among, Long> LONG = Constructor.optimize(Constructor.generifyValue(
 			Constructor.tryConstruct((instance, reportHandler) ->
-					instance.getLongValue(), "Expected long", false));
+					instance.getLongValue(), "Expected long", false)));
 	/**
 	 * {@link AmongPrimitive#getFloatValue()} as constructor.
 	 */
-	public static final Constructor<Among, Float> FLOAT = Constructor.generifyValue(
+	public static final Constructor<Among, Float> FLOAT = Constructor.optimize(Constructor.generifyValue(
 			Constructor.tryConstruct((instance, reportHandler) ->
-					instance.getFloatValue(), "Expected number", false));
+					instance.getFloatValue(), "Expected number", false)));
 	/**
 	 * {@link AmongPrimitive#getDoubleValue()} as constructor.
 	 */
-	public static final Constructor<Among, Double> DOUBLE = Constructor.generifyValue(
+	public static final Constructor<Among, Double> DOUBLE = Constructor.optimize(Constructor.generifyValue(
 			Constructor.tryConstruct((instance, reportHandler) ->
-					instance.getDoubleValue(), "Expected number", false));
+					instance.getDoubleValue(), "Expected number", false)));
+
+	/**
+	 * Make constructor of enum constants, matching each constant by its exact {@link Enum#name() name}.
+	 *
+	 * @param type Type of the enum
+	 * @param <E>  Type of the enum
+	 * @return Newly created constructor
+	 * @throws IllegalArgumentException If {@code type} is not an enum
+	 * @see EnumConstructorBuilder
+	 */
+	public static <E extends Enum<E>> Constructor<Among, E> enumOf(Class<E> type){
+		return new EnumConstructorBuilder<>(type).build();
+	}
+	/**
+	 * Make constructor of enum constants. Values not matching any constant are reported with the list of every
+	 * accepted name.
+	 *
+	 * @param type     Type of the enum
+	 * @param consumer Builder consumer
+	 * @param <E>      Type of the enum
+	 * @return Newly created constructor
+	 * @throws IllegalArgumentException If {@code type} is not an enum
+	 * @throws IllegalStateException    If two names or aliases are equal, ignoring case if the constructor is case
+	 *                                  insensitive
+	 * @see EnumConstructorBuilder
+	 */
+	public static <E extends Enum<E>> Constructor<Among, E> enumOf(Class<E> type, Consumer<EnumConstructorBuilder<E>> consumer){
+		EnumConstructorBuilder<E> b = new EnumConstructorBuilder<>(type);
+		consumer.accept(b);
+		return b.build();
+	}
 
-	private static final Constructor<Among, Boolean> EVAL_BOOL = (instance, reportHandler) -> {
-		Among a = Constructors.EVAL.construct(instance, reportHandler);
-		return a!=null ? BOOL.construct(a, reportHandler) : null;
-	};
-	private static final Constructor<Among, Double> EVAL_NUM = (instance, reportHandler) -> {
-		Among a = Constructors.EVAL.construct(instance, reportHandler);
-		return a!=null ? DOUBLE.construct(a, reportHandler) : null;
-	};
+	/**
+	 * Make constructor of a record, or a class with canonical constructor. The constructor must be public.
+	 *
+	 * @param type Type of the resulting object
+	 * @param <T>  Type of the resulting object
+	 * @return Newly created construct rule
+	 * @see RecordConstructorBuilder
+	 */
+	public static <T> ConstructRule<T> ofRecord(Class<T> type){
+		return new RecordConstructorBuilder<>(type, MethodHandles.publicLookup()).build();
+	}
+	/**
+	 * Make constructor of a record, or a class with canonical constructor. The constructor is accessed with {@code
+	 * lookup}.
+	 *
+	 * @param type     Type of the resulting object
+	 * @param lookup   Lookup with access to the canonical constructor
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the resulting object
+	 * @return Newly created construct rule
+	 * @see RecordConstructorBuilder
+	 */
+	public static <T> ConstructRule<T> ofRecord(Class<T> type, MethodHandles.Lookup lookup, Consumer<RecordConstructorBuilder<T>> consumer){
+		RecordConstructorBuilder<T> b = new RecordConstructorBuilder<>(type, lookup);
+		consumer.accept(b);
+		return b.build();
+	}
 
 	/**
 	 * Among default {@code eval} library recreated using constructors. Evaluated object is converted back to {@link
 	 * Among} object, as original library does.
+	 *
+	 * @see Constructors#eval(Instrumentation)
 	 */
-	public static final ConstructRule<Among> EVAL = ConstructRule.make(builder ->
-			builder.list("||", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.OR_SS)))
-					.list("&&", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.AND_SS)))
-					.list("|", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.OR)))
-					.list("&", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.AND)))
-					.list(new String[]{"==", "="}, binaryCondition((a, b, r) -> eq(a, b, r, true)))
-					.list("!=", binaryCondition((a, b, r) -> eq(a, b, r, false)))
-					.list(">", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.GT)))
-					.list("<", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.LT)))
-					.list(">=", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.GTEQ)))
-					.list("<=", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.LTEQ)))
-					.list("+", listConditions(b2 -> b2
-							.addBinary((a, b, r) -> binary(a, b, r, BinaryNumOp.ADD))
-							.addStrictUnary((a, r) -> {
-								Double num = EVAL_NUM.construct(a, r);
-								return num==null ? null : Among.value(num);
-							})))
-					.list("-", listConditions(b2 -> b2
-							.addBinary((a, b, r) -> binary(a, b, r, BinaryNumOp.SUB))
-							.addStrictUnary((a, r) -> {
-								Double num = EVAL_NUM.construct(a, r);
-								return num==null ? null : Among.value(-num);
-							})))
-					.list("*", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.MUL)))
-					.list("/", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.DIV)))
-					.list(new String[]{"^", "**"}, binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.POW)))
-					.list("!", unaryCondition((a, r) -> {
-						Boolean bool = EVAL_BOOL.construct(a, r);
-						return bool==null ? null : Among.value(!bool);
-					}))
-					.all(IDENTITY)
-	);
+	public static final ConstructRule<Among> EVAL = new Eval(null).rule;
 
-	private enum BinaryBoolOp{AND, OR, AND_SS, OR_SS}
-	@Nullable private static Among binaryBool(Among a, Among b, @Nullable ReportHandler reportHandler, BinaryBoolOp op){
-		Boolean b1 = EVAL_BOOL.construct(a, reportHandler);
-		if(b1==null) return null;
-		switch(op){
-			case AND_SS: if(!b1) return Among.value(false); break;
-			case OR_SS: if(b1) return Among.value(true); break;
+	/**
+	 * Create new instance of {@link Constructors#EVAL} recording its calls with {@code instrumentation}.<br>
+	 * {@link Constructors#EVAL} and other constructors defined in this class are shared constants, thus can't be
+	 * instrumented themselves. Each rule of the returned constructor is named after {@code EVAL} and the rule, for
+	 * example {@code EVAL/list:+}, and evaluation of operands to numbers and booleans is named {@code EVAL_NUM} and
+	 * {@code EVAL_BOOL} respectively. With {@link among.construct.metrics.ConstructProfiler}, evaluating {@code +[1,
+	 * 2]} records stacks such as {@code EVAL/list:+ > EVAL_NUM > EVAL/all}.
+	 *
+	 * @param instrumentation Instrumentation to record to
+	 * @return New instance of {@link Constructors#EVAL} recording to {@code instrumentation}
+	 * @throws NullPointerException If {@code instrumentation == null}
+	 */
+	public static ConstructRule<Among> eval(Instrumentation instrumentation){
+		return new Eval(Objects.requireNonNull(instrumentation)).rule;
+	}
+
+	private static final class Eval{
+		final Constructor<Among, Boolean> evalBool;
+		final Constructor<Among, Double> evalNum;
+		final ConstructRule<Among> rule;
+
+		Eval(@Nullable Instrumentation instrumentation){
+			this.evalBool = instrumentation!=null ? instrumentation.instrument("EVAL_BOOL", this::toBool) : this::toBool;
+			this.evalNum = instrumentation!=null ? instrumentation.instrument("EVAL_NUM", this::toNum) : this::toNum;
+			this.rule = ConstructRule.make(builder -> {
+				builder.list("||", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.OR_SS)))
+						.list("&&", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.AND_SS)))
+						.list("|", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.OR)))
+						.list("&", binaryCondition((a, b, r) -> binaryBool(a, b, r, BinaryBoolOp.AND)))
+						.list(new String[]{"==", "="}, binaryCondition((a, b, r) -> eq(a, b, r, true)))
+						.list("!=", binaryCondition((a, b, r) -> eq(a, b, r, false)))
+						.list(">", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.GT)))
+						.list("<", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.LT)))
+						.list(">=", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.GTEQ)))
+						.list("<=", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.LTEQ)))
+						.list("+", listConditions(b2 -> b2
+								.addBinary((a, b, r) -> binary(a, b, r, BinaryNumOp.ADD))
+								.addStrictUnary((a, r) -> {
+									Double num = evalNum.construct(a, r);
+									return num==null ? null : Among.value(num);
+								})))
+						.list("-", listConditions(b2 -> b2
+								.addBinary((a, b, r) -> binary(a, b, r, BinaryNumOp.SUB))
+								.addStrictUnary((a, r) -> {
+									Double num = evalNum.construct(a, r);
+									return num==null ? null : Among.value(-num);
+								})))
+						.list("*", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.MUL)))
+						.list("/", binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.DIV)))
+						.list(new String[]{"^", "**"}, binaryCondition((a, b, r) -> binary(a, b, r, BinaryNumOp.POW)))
+						.list("!", unaryCondition((a, r) -> {
+							Boolean bool = evalBool.construct(a, r);
+							return bool==null ? null : Among.value(!bool);
+						}))
+						.all(IDENTITY);
+				if(instrumentation!=null) builder.instrument(instrumentation, "EVAL");
+			});
 		}
-		Boolean b2 = EVAL_BOOL.construct(b, reportHandler);
-		if(b2==null) return null;
-		switch(op){
-			case AND: case AND_SS: return Among.value(b1&&b2);
-			case OR: case OR_SS: return Among.value(b1||b2);
+
+		@Nullable private Boolean toBool(Among instance, @Nullable ReportHandler reportHandler){
+			Among a = rule.construct(instance, reportHandler);
+			return a!=null ? BOOL.construct(a, reportHandler) : null;
+		}
+		@Nullable private Double toNum(Among instance, @Nullable ReportHandler reportHandler){
+			Among a = rule.construct(instance, reportHandler);
+			return a!=null ? DOUBLE.construct(a, reportHandler) : null;
 		}
-		return null;
-	}
 
-	@Nullable private static Among eq(Among a, Among b, @Nullable ReportHandler reportHandler, boolean expected){
-		a = EVAL.construct(a, reportHandler);
-		b = EVAL.construct(b, reportHandler);
-		if(a==null||b==null) return null;
-		if(a.equals(b)) return Among.value(expected);
-		Boolean aBool = BOOL.construct(a, null);
-		if(aBool!=null) return Among.value(aBool.equals(BOOL.construct(b, null))==expected);
-		Double aNum = DOUBLE.construct(a, null);
-		if(aNum!=null) return Among.value(aNum.equals(DOUBLE.construct(b, null))==expected);
-		return Among.value(!expected);
-	}
+		@Nullable private Among binaryBool(Among a, Among b, @Nullable ReportHandler reportHandler, BinaryBoolOp op){
+			Boolean b1 = evalBool.construct(a, reportHandler);
+			if(b1==null) return null;
+			switch(op){
+				case AND_SS: if(!b1) return Among.value(false); break;
+				case OR_SS: if(b1) return Among.value(true); break;
+			}
+			Boolean b2 = evalBool.construct(b, reportHandler);
+			if(b2==null) return null;
+			switch(op){
+				case AND: case AND_SS: return Among.value(b1&&b2);
+				case OR: case OR_SS: return Among.value(b1||b2);
+			}
+			return null;
+		}
 
-	private enum BinaryNumOp{ADD, SUB, MUL, DIV, POW, GT, LT, GTEQ, LTEQ}
-	@Nullable private static Among binary(Among a, Among b, @Nullable ReportHandler reportHandler, BinaryNumOp op){
-		Double n1 = EVAL_NUM.construct(a, reportHandler);
-		Double n2 = EVAL_NUM.construct(b, reportHandler);
-		if(n1==null||n2==null) return null;
-		switch(op){
-			case ADD: return Among.value(n1+n2);
-			case SUB: return Among.value(n1-n2);
-			case MUL: return Among.value(n1*n2);
-			case DIV: return Among.value(n1/n2);
-			case POW: return Among.value(Math.pow(n1, n2));
-			case GT: return Among.value(n1>n2);
-			case LT: return Among.value(n1<n2);
-			case GTEQ: return Among.value(n1>=n2);
-			case LTEQ: return Among.value(n1<=n2);
+		@Nullable private Among eq(Among a, Among b, @Nullable ReportHandler reportHandler, boolean expected){
+			a = rule.construct(a, reportHandler);
+			b = rule.construct(b, reportHandler);
+			if(a==null||b==null) return null;
+			if(a.equals(b)) return Among.value(expected);
+			Boolean aBool = BOOL.construct(a, null);
+			if(aBool!=null) return Among.value(aBool.equals(BOOL.construct(b, null))==expected);
+			Double aNum = DOUBLE.construct(a, null);
+			if(aNum!=null) return Among.value(aNum.equals(DOUBLE.construct(b, null))==expected);
+			return Among.value(!expected);
+		}
+
+		@Nullable private Among binary(Among a, Among b, @Nullable ReportHandler reportHandler, BinaryNumOp op){
+			Double n1 = evalNum.construct(a, reportHandler);
+			Double n2 = evalNum.construct(b, reportHandler);
+			if(n1==null||n2==null) return null;
+			switch(op){
+				case ADD: return Among.value(n1+n2);
+				case SUB: return Among.value(n1-n2);
+				case MUL: return Among.value(n1*n2);
+				case DIV: return Among.value(n1/n2);
+				case POW: return Among.value(Math.pow(n1, n2));
+				case GT: return Among.value(n1>n2);
+				case LT: return Among.value(n1<n2);
+				case GTEQ: return Among.value(n1>=n2);
+				case LTEQ: return Among.value(n1<=n2);
+			}
+			return null;
 		}
-		return null;
 	}
+
+	private enum BinaryBoolOp{AND, OR, AND_SS, OR_SS}
+	private enum BinaryNumOp{ADD, SUB, MUL, DIV, POW, GT, LT, GTEQ, LTEQ}
 }
@@ -0,0 +1,70 @@
+package among.construct;
+
+import among.obj.AmongPrimitive;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Constructor of enum constants produced by {@link EnumConstructorBuilder}. Names are looked up in an open-addressed
+ * table with linear probing, kept at most half full, so the table grows linearly with the number of names. Case
+ * sensitive lookups hash the value with {@link String#hashCode()}, which is cached in the string; case insensitive
+ * lookups hash the value with its characters folded. No object is allocated for each lookup.
+ *
+ * @param <E> Type of the enum
+ */
+final class EnumConstructor<E> implements Constructor<AmongPrimitive, E>{
+	private final boolean caseInsensitive;
+	private final String errorMessage;
+	private final int mask;
+	private final String[] tableKeys;
+	private final Object[] tableValues;
+
+	EnumConstructor(String[] keys, Object[] values, boolean caseInsensitive, String errorMessage){
+		this.caseInsensitive = caseInsensitive;
+		this.errorMessage = errorMessage;
+		int size = Integer.highestOneBit(Math.max(1, keys.length*2-1))<<1;
+		this.mask = size-1;
+		this.tableKeys = new String[size];
+		this.tableValues = new Object[size];
+		for(int k = 0; k<keys.length; k++){
+			int i = indexOf(keys[k]);
+			if(tableKeys[i]!=null) throw new IllegalStateException("Duplicate name '"+keys[k]+"'");
+			tableKeys[i] = keys[k];
+			tableValues[i] = values[k];
+		}
+	}
+
+	@SuppressWarnings("unchecked") @Override @Nullable public E construct(AmongPrimitive instance, @Nullable ReportHandler reportHandler){
+		int i = indexOf(instance.getValue());
+		if(tableKeys[i]!=null) return (E)tableValues[i];
+		if(reportHandler!=null) reportHandler.reportError(errorMessage, instance.sourcePosition());
+		return null;
+	}
+
+	/**
+	 * @return Index of the slot holding {@code name}, or the empty slot {@code name} would be inserted to
+	 */
+	private int indexOf(String name){
+		for(int i = hash(name)&mask; ; i = (i+1)&mask){
+			String key = tableKeys[i];
+			if(key==null||(caseInsensitive ? key.equalsIgnoreCase(name) : key.equals(name))) return i;
+		}
+	}
+
+	private int hash(String s){
+		int h;
+		if(caseInsensitive){
+			h = 0;
+			for(int i = 0; i<s.length(); i++) h = h*31+fold(s.charAt(i));
+		}else h = s.hashCode();
+		return h^(h>>>16);
+	}
+
+	/**
+	 * Case folding consistent with {@link String#equalsIgnoreCase(String)}.
+	 */
+	private static char fold(char c){
+		if(c<128) return c>='A'&&c<='Z' ? (char)(c+('a'-'A')) : c;
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+}
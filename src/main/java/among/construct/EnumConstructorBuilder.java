@@ -0,0 +1,64 @@
+package among.construct;
+
+import among.obj.Among;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builder for enum constructors. Each constant is matched by its {@link Enum#name() name}, and by any alias added.
+ *
+ * @param <E> Type of the enum
+ * @see Constructors#enumOf(Class, java.util.function.Consumer)
+ */
+public final class EnumConstructorBuilder<E extends Enum<E>>{
+	private final Class<E> type;
+	private final Map<String, E> aliases = new LinkedHashMap<>();
+	private boolean caseInsensitive;
+
+	public EnumConstructorBuilder(Class<E> type){
+		this.type = Objects.requireNonNull(type);
+		if(!type.isEnum()) throw new IllegalArgumentException(type+" is not an enum");
+	}
+
+	/**
+	 * Match names and aliases ignoring case, as {@link String#equalsIgnoreCase(String)} does.
+	 */
+	public EnumConstructorBuilder<E> caseInsensitive(){
+		this.caseInsensitive = true;
+		return this;
+	}
+
+	/**
+	 * Add an alternative name for {@code constant}.
+	 */
+	public EnumConstructorBuilder<E> alias(String alias, E constant){
+		Objects.requireNonNull(constant);
+		if(aliases.putIfAbsent(Objects.requireNonNull(alias), constant)!=null)
+			throw new IllegalStateException("Alias '"+alias+"' already defined");
+		return this;
+	}
+
+	public Constructor<Among, E> build(){
+		List<String> keys = new ArrayList<>();
+		List<E> values = new ArrayList<>();
+		for(E e : type.getEnumConstants()){
+			keys.add(e.name());
+			values.add(e);
+		}
+		for(Map.Entry<String, E> e : aliases.entrySet()){
+			keys.add(e.getKey());
+			values.add(e.getValue());
+		}
+		StringBuilder stb = new StringBuilder("Expected one of: ");
+		for(int i = 0; i<keys.size(); i++){
+			if(i>0) stb.append(", ");
+			stb.append(keys.get(i));
+		}
+		return Constructor.generifyValue(new EnumConstructor<>(
+				keys.toArray(new String[0]), values.toArray(new Object[0]), caseInsensitive, stb.toString()));
+	}
+}
@@ -0,0 +1,220 @@
+package among.construct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Session reusing results of the previous construction for subtrees unchanged since then.<br>
+ * Constructors of the subtrees worth reusing are wrapped with {@link IncrementalSession#track(Constructor)}, and the
+ * document is constructed with {@link IncrementalSession#construct(Constructor, Among, ReportHandler)}. During the
+ * construction, each call to tracked constructor looks up the result of the previous construction with structurally
+ * equal subtree; the result and its reports are reused if found, and the subtree is not visited at all. Since a
+ * change in a subtree changes every subtree containing it, only the changed subtrees and the path from them to the
+ * root are constructed again.<br>
+ * Results not used in the latest construction are discarded after each construction. Source positions of reused
+ * reports are adjusted to the position of the new subtree; source positions embedded in reused results are not.<br>
+ * Since results are shared between constructions, it is expected for them to not be modified afterwards. Sessions are
+ * not thread safe; constructions of one session are expected to run one at a time.
+ */
+public final class IncrementalSession{
+	private int trackedConstructors;
+
+	private Map<Key, Result> previous = new HashMap<>();
+	private Map<Key, Result> current = new HashMap<>();
+	private final Map<Among, Integer> hashes = new IdentityHashMap<>();
+	private boolean running;
+	@Nullable private List<Key> children;
+
+	private int reused;
+	private int constructed;
+
+	/**
+	 * Wrap given constructor so that its results are reused between constructions of this session. Outside of
+	 * construction started with {@link IncrementalSession#construct(Constructor, Among, ReportHandler)}, returned
+	 * constructor calls {@code constructor} directly.
+	 *
+	 * @param constructor The constructor to track
+	 * @param <T>         Type of the resulting object
+	 * @return Tracked constructor
+	 * @throws NullPointerException If {@code constructor == null}
+	 */
+	public <T> Constructor<Among, T> track(Constructor<Among, T> constructor){
+		Objects.requireNonNull(constructor);
+		int id = trackedConstructors++;
+		return (instance, reportHandler) -> running ?
+				constructTracked(id, constructor, instance, reportHandler) :
+				constructor.construct(instance, reportHandler);
+	}
+
+	/**
+	 * Construct {@code instance} with {@code constructor}, reusing results of tracked constructors from the previous
+	 * construction.
+	 *
+	 * @param constructor   Constructor for the root
+	 * @param instance      Parameter value
+	 * @param reportHandler Optional report handler
+	 * @param <T>           Type of the resulting object
+	 * @return Constructed object, or {@code null} if it failed
+	 * @throws IllegalStateException If called during another construction of this session
+	 */
+	@Nullable public <T> T construct(Constructor<Among, T> constructor, Among instance, @Nullable ReportHandler reportHandler){
+		if(running) throw new IllegalStateException("Construction already in progress");
+		running = true;
+		reused = 0;
+		constructed = 0;
+		try{
+			return constructor.construct(instance, reportHandler);
+		}finally{
+			running = false;
+			children = null;
+			hashes.clear();
+			previous = current;
+			current = new HashMap<>();
+		}
+	}
+
+	/**
+	 * @return Number of tracked constructor calls reused in the latest construction
+	 */
+	public int reused(){
+		return reused;
+	}
+	/**
+	 * @return Number of tracked constructor calls constructed in the latest construction
+	 */
+	public int constructed(){
+		return constructed;
+	}
+
+	/**
+	 * Discard every result retained.
+	 *
+	 * @throws IllegalStateException If called during construction
+	 */
+	public void clear(){
+		if(running) throw new IllegalStateException("Construction in progress");
+		previous.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable private <T> T constructTracked(int id, Constructor<Among, T> constructor, Among instance, @Nullable ReportHandler reportHandler){
+		Key key = new Key(id, instance, hash(instance));
+		if(children!=null) children.add(key);
+		Result result = current.get(key);
+		if(result==null){
+			result = previous.remove(key);
+			if(result!=null){
+				current.put(key, result);
+				retainChildren(result);
+				reused++;
+			}
+		}
+		if(result==null){
+			ReportBuffer reports = new ReportBuffer();
+			List<Key> parentChildren = children;
+			List<Key> resultChildren = new ArrayList<>();
+			children = resultChildren;
+			T t;
+			try{
+				t = constructor.construct(instance, reports);
+			}finally{
+				children = parentChildren;
+			}
+			result = new Result(t, reports.isEmpty() ? null : reports, instance.sourcePosition(),
+					resultChildren.isEmpty() ? Collections.emptyList() : resultChildren);
+			current.put(key, result);
+			constructed++;
+		}
+		if(reportHandler!=null&&result.reports!=null){
+			int offset = result.sourcePosition>=0&&instance.sourcePosition()>=0 ?
+					instance.sourcePosition()-result.sourcePosition : 0;
+			for(ReportBuffer.Entry e : result.reports.entries())
+				reportHandler.report(e.type(), e.message(), e.srcIndex()>=0 ? e.srcIndex()+offset : e.srcIndex(), e.exception(), e.hints());
+		}
+		return (T)result.value;
+	}
+
+	/**
+	 * Carry over results of tracked calls made while constructing reused result, so that they stay available even
+	 * though they are not visited in this construction.
+	 */
+	private void retainChildren(Result result){
+		for(Key k : result.children){
+			Result r = previous.remove(k);
+			if(r!=null){
+				current.putIfAbsent(k, r);
+				retainChildren(r);
+			}
+		}
+	}
+
+	/**
+	 * Structural hash of the subtree, consistent with {@link Among#equals(Object)}. Hashes are memoized for the
+	 * duration of one construction, so the whole document is hashed in linear time.
+	 */
+	private int hash(Among among){
+		Integer cached = hashes.get(among);
+		if(cached!=null) return cached;
+		int hash;
+		if(among.isPrimitive()) hash = among.asPrimitive().getValue().hashCode();
+		else if(among.isList()){
+			AmongList list = among.asList();
+			hash = list.getName().hashCode();
+			for(int i = 0; i<list.size(); i++) hash = hash*31+hash(list.get(i));
+		}else{
+			AmongObject obj = among.asObj();
+			hash = obj.getName().hashCode()*31+1;
+			for(Map.Entry<String, Among> e : obj.properties().entrySet())
+				hash += e.getKey().hashCode()^hash(e.getValue());
+		}
+		hashes.put(among, hash);
+		return hash;
+	}
+
+	private static final class Key{
+		private final int id;
+		private final Among among;
+		private final int hash;
+
+		Key(int id, Among among, int hash){
+			this.id = id;
+			this.among = among;
+			this.hash = hash*31+id;
+		}
+
+		@Override public boolean equals(Object o){
+			if(this==o) return true;
+			if(!(o instanceof Key)) return false;
+			Key key = (Key)o;
+			return id==key.id&&hash==key.hash&&among.equals(key.among);
+		}
+		@Override public int hashCode(){
+			return hash;
+		}
+	}
+
+	private static final class Result{
+		@Nullable final Object value;
+		@Nullable final ReportBuffer reports;
+		final int sourcePosition;
+		final List<Key> children;
+
+		Result(@Nullable Object value, @Nullable ReportBuffer reports, int sourcePosition, List<Key> children){
+			this.value = value;
+			this.reports = reports;
+			this.sourcePosition = sourcePosition;
+			this.children = children;
+		}
+	}
+}
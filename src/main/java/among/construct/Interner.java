@@ -0,0 +1,47 @@
+package among.construct;
+
+/**
+ * Pool of canonical instances. Interning an object returns the instance previously interned and equal to it, or the
+ * object itself if no such instance exists. Interners can be used from multiple threads.<br>
+ * Interned objects are shared between every user of the pool, so it is expected for them to not be modified
+ * afterwards.
+ *
+ * @param <T> Type of the pooled objects
+ * @see Constructor#interned(Constructor, Interner)
+ */
+@FunctionalInterface
+public interface Interner<T>{
+	/**
+	 * Return canonical instance equal to {@code value}. If there is no canonical instance yet, {@code value} becomes
+	 * one.
+	 *
+	 * @param value Object to intern
+	 * @return Canonical instance equal to {@code value}
+	 * @throws NullPointerException If {@code value == null}
+	 */
+	T intern(T value);
+
+	/**
+	 * Create new interner which holds its instances weakly; canonical instances are removed from the pool once they're
+	 * not referenced outside of it.
+	 *
+	 * @param <T> Type of the pooled objects
+	 * @return New interner
+	 */
+	static <T> Interner<T> weak(){
+		return new SegmentedInterner<>(true, -1);
+	}
+	/**
+	 * Create new interner which holds at most {@code maxSize} instances; the least recently used instances are removed
+	 * from the pool first.
+	 *
+	 * @param maxSize Maximum number of canonical instances held by the pool
+	 * @param <T>     Type of the pooled objects
+	 * @return New interner
+	 * @throws IllegalArgumentException If {@code maxSize <= 0}
+	 */
+	static <T> Interner<T> bounded(int maxSize){
+		if(maxSize<=0) throw new IllegalArgumentException("maxSize <= 0");
+		return new SegmentedInterner<>(false, maxSize);
+	}
+}
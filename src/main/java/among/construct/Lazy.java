@@ -0,0 +1,56 @@
+package among.construct;
+
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Deferred construction result produced by {@link Constructor#lazy(Constructor)}. The object is constructed on first
+ * call to {@link Lazy#get()}, and the result is reused afterwards. Lazy instances can be used from multiple threads;
+ * the constructor is called at most once.<br>
+ * Reports of the deferred construction are passed to the report handler supplied on creation of this instance.
+ *
+ * @param <T> Type of the resulting object
+ */
+public final class Lazy<T> implements Supplier<T>{
+	@Nullable private Supplier<T> supplier;
+	@Nullable private T value;
+	private volatile boolean done;
+
+	<IN> Lazy(IN instance, Constructor<? super IN, T> constructor, @Nullable ReportHandler reportHandler){
+		Objects.requireNonNull(instance);
+		Objects.requireNonNull(constructor);
+		this.supplier = () -> constructor.construct(instance, reportHandler);
+	}
+
+	/**
+	 * Construct the object if it's not done yet, and return the result.
+	 *
+	 * @return Constructed object, or {@code null} if it failed
+	 */
+	@Override @Nullable public T get(){
+		if(!done){
+			synchronized(this){
+				if(!done){
+					value = Objects.requireNonNull(supplier).get();
+					supplier = null;
+					done = true;
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * @return Whether the object was constructed already
+	 */
+	public boolean isDone(){
+		return done;
+	}
+
+	@Override public String toString(){
+		return done ? "Lazy{"+value+'}' : "Lazy{<not constructed>}";
+	}
+}
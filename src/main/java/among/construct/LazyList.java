@@ -0,0 +1,54 @@
+package among.construct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unmodifiable list view produced by {@link Constructor#lazyListOf(Constructor,
+ * among.construct.condition.ListCondition)}. Each element is constructed on first access, and stored in an array
+ * indexed the same as the source list.<br>
+ * The view can be read from multiple threads. If multiple threads access an element not constructed yet at the same
+ * time, the element might be constructed more than once, but only one result will be visible to all threads. Reports
+ * of each construction are buffered, and only the reports of the visible result are passed to the report handler.
+ *
+ * @param <E> Type of the elements
+ */
+final class LazyList<E> extends AbstractList<E> implements RandomAccess{
+	private static final Object FAILED = new Object();
+
+	private final AmongList list;
+	private final Constructor<Among, E> elementConstructor;
+	@Nullable private final ReportHandler reportHandler;
+	private final AtomicReferenceArray<Object> elements;
+
+	LazyList(AmongList list, Constructor<Among, E> elementConstructor, @Nullable ReportHandler reportHandler){
+		this.list = list;
+		this.elementConstructor = elementConstructor;
+		this.reportHandler = reportHandler;
+		this.elements = new AtomicReferenceArray<>(list.size());
+	}
+
+	@SuppressWarnings("unchecked") @Override @Nullable public E get(int index){
+		Object o = elements.get(index);
+		if(o==null){
+			ReportBuffer reports = reportHandler!=null ? new ReportBuffer() : null;
+			E e = elementConstructor.construct(list.get(index), reports);
+			if(!elements.compareAndSet(index, null, e==null ? FAILED : e)) o = elements.get(index);
+			else{
+				if(reports!=null) reports.replay(reportHandler);
+				return e;
+			}
+		}
+		return o==FAILED ? null : (E)o;
+	}
+
+	@Override public int size(){
+		return elements.length();
+	}
+}
@@ -0,0 +1,78 @@
+package among.construct;
+
+import java.util.List;
+
+/**
+ * Strategy for collecting elements into the list produced by list constructors. The size of the list is known before
+ * the first element is added, so strategies can allocate storage of exact size.<br>
+ * Lists produced by strategies other than {@link ListStrategy#mutable()} are unmodifiable.
+ *
+ * @param <E> Type of the elements
+ * @see Constructor#listOf(Constructor, boolean, ListStrategy)
+ * @see Constructor#listOrElementOf(Constructor, ListStrategy)
+ */
+@FunctionalInterface
+public interface ListStrategy<E>{
+	/**
+	 * Start collecting a list of {@code size} elements.
+	 *
+	 * @param size Number of elements to be added
+	 * @return New builder
+	 */
+	Builder<E> builder(int size);
+
+	/**
+	 * Builder of a single list. Exactly the number of elements specified are added, in order, before
+	 * {@link Builder#build()} is called; if construction of an element fails, the builder is discarded without calling
+	 * {@link Builder#build()}.
+	 *
+	 * @param <E> Type of the elements
+	 */
+	interface Builder<E>{
+		void add(E element);
+		List<E> build();
+	}
+
+	/**
+	 * @param <E> Type of the elements
+	 * @return Strategy producing {@link java.util.ArrayList}
+	 */
+	static <E> ListStrategy<E> mutable(){
+		return CompactLists.mutable();
+	}
+	/**
+	 * @param <E> Type of the elements
+	 * @return Strategy producing unmodifiable list backed by an array of exact size
+	 */
+	static <E> ListStrategy<E> immutable(){
+		return CompactLists.immutable();
+	}
+	/**
+	 * Strategy producing the smallest unmodifiable list for each size; shared empty list for empty lists, singleton
+	 * list for lists with one element, and unmodifiable list backed by an array of exact size otherwise.
+	 *
+	 * @param <E> Type of the elements
+	 * @return Strategy producing compact unmodifiable list
+	 */
+	static <E> ListStrategy<E> compact(){
+		return CompactLists.compact();
+	}
+	/**
+	 * @return Strategy producing unmodifiable list backed by {@code int[]}; elements are boxed on each access
+	 */
+	static ListStrategy<Integer> ints(){
+		return CompactLists.INTS;
+	}
+	/**
+	 * @return Strategy producing unmodifiable list backed by {@code long[]}; elements are boxed on each access
+	 */
+	static ListStrategy<Long> longs(){
+		return CompactLists.LONGS;
+	}
+	/**
+	 * @return Strategy producing unmodifiable list backed by {@code double[]}; elements are boxed on each access
+	 */
+	static ListStrategy<Double> doubles(){
+		return CompactLists.DOUBLES;
+	}
+}
@@ -0,0 +1,114 @@
+package among.construct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementation of {@link Constructor#parallelListOf(Constructor, boolean, ForkJoinPool, int)}.<br>
+ * The list is split into contiguous chunks, each of them constructed in its own task with reports buffered
+ * separately. After all tasks complete, the buffers are passed to report handler in element order, up to the first
+ * chunk with failed element; which reproduces the reports of sequential construction exactly.
+ *
+ * @param <E> Type of the elements
+ */
+final class ParallelListConstructor<E> implements Constructor<AmongList, List<E>>{
+	private final Constructor<Among, E> elementConstructor;
+	private final boolean requiresUnnamedList;
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	ParallelListConstructor(Constructor<Among, E> elementConstructor, boolean requiresUnnamedList, ForkJoinPool pool, int threshold){
+		if(threshold<=0) throw new IllegalArgumentException("threshold <= 0");
+		this.elementConstructor = Objects.requireNonNull(elementConstructor);
+		this.requiresUnnamedList = requiresUnnamedList;
+		this.pool = Objects.requireNonNull(pool);
+		this.threshold = threshold;
+	}
+
+	@Override @Nullable public List<E> construct(AmongList instance, @Nullable ReportHandler reportHandler){
+		if(requiresUnnamedList&&instance.hasName()){
+			if(reportHandler!=null) reportHandler.reportError("List should be unnamed", instance.sourcePosition());
+			return null;
+		}
+		return constructElements(instance, reportHandler);
+	}
+
+	@SuppressWarnings("unchecked") @Nullable List<E> constructElements(AmongList instance, @Nullable ReportHandler reportHandler){
+		int size = instance.size();
+		if(size<threshold){
+			List<E> list = new ArrayList<>(size);
+			for(int i = 0; i<size; i++){
+				E e = elementConstructor.construct(instance.get(i), reportHandler);
+				if(e==null) return null;
+				list.add(e);
+			}
+			return list;
+		}
+		int chunkSize = Math.max(threshold, size/(pool.getParallelism()*4));
+		int chunks = (size+chunkSize-1)/chunkSize;
+		Object[] elements = new Object[size];
+		ReportBuffer[] buffers = reportHandler!=null ? new ReportBuffer[chunks] : null;
+		AtomicInteger firstFailedChunk = new AtomicInteger(Integer.MAX_VALUE);
+		pool.invoke(new ChunkTask(instance, elements, buffers, firstFailedChunk, chunkSize, 0, chunks));
+
+		int failed = firstFailedChunk.get();
+		if(reportHandler!=null){
+			for(int i = 0; i<chunks&&i<=failed; i++)
+				if(buffers[i]!=null) buffers[i].replay(reportHandler);
+		}
+		if(failed!=Integer.MAX_VALUE) return null;
+		List<E> list = new ArrayList<>(size);
+		for(Object e : elements) list.add((E)e);
+		return list;
+	}
+
+	private final class ChunkTask extends RecursiveAction{
+		private final AmongList list;
+		private final Object[] elements;
+		@Nullable private final ReportBuffer[] buffers;
+		private final AtomicInteger firstFailedChunk;
+		private final int chunkSize;
+		private final int fromChunk, toChunk;
+
+		ChunkTask(AmongList list, Object[] elements, @Nullable ReportBuffer[] buffers, AtomicInteger firstFailedChunk, int chunkSize, int fromChunk, int toChunk){
+			this.list = list;
+			this.elements = elements;
+			this.buffers = buffers;
+			this.firstFailedChunk = firstFailedChunk;
+			this.chunkSize = chunkSize;
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+		}
+
+		@Override protected void compute(){
+			if(toChunk-fromChunk>1){
+				int mid = (fromChunk+toChunk) >>> 1;
+				invokeAll(new ChunkTask(list, elements, buffers, firstFailedChunk, chunkSize, fromChunk, mid),
+						new ChunkTask(list, elements, buffers, firstFailedChunk, chunkSize, mid, toChunk));
+				return;
+			}
+			// reports of chunks after the failed one are discarded anyway
+			if(fromChunk>firstFailedChunk.get()) return;
+			ReportBuffer buffer = null;
+			if(buffers!=null) buffers[fromChunk] = buffer = new ReportBuffer();
+			int end = Math.min(list.size(), (fromChunk+1)*chunkSize);
+			for(int i = fromChunk*chunkSize; i<end; i++){
+				E e = elementConstructor.construct(list.get(i), buffer);
+				if(e==null){
+					firstFailedChunk.accumulateAndGet(fromChunk, Math::min);
+					return;
+				}
+				elements[i] = e;
+			}
+		}
+	}
+}
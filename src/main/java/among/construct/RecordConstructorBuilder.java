@@ -0,0 +1,350 @@
+package among.construct;
+
+import among.TypeFlags;
+import among.obj.Among;
+import among.report.ReportHandler;
+import among.report.ReportType;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Builder for constructors of records, or classes with canonical constructor. Each component of the type is mapped to
+ * a property of the same name; if {@link RecordConstructorBuilder#positional()} is set, components can also be
+ * supplied as elements of unnamed list, in declaration order.<br>
+ * Components of type {@code boolean}, {@code int}, {@code long}, {@code float}, {@code double}, {@link String} and
+ * {@link Among} (and their boxed types) use the constructors defined in {@link Constructors} by default. Constructors
+ * for other types have to be supplied with {@link RecordConstructorBuilder#component(String, Constructor)}.<br>
+ * Components with default value can be omitted. Since list elements can only be omitted from the end, each optional
+ * component of positional constructor has to be placed after every required component.<br>
+ * Components are resolved with reflection once on {@link RecordConstructorBuilder#build()}; constructed objects are
+ * instantiated through a {@link MethodHandle} bound at that time.
+ *
+ * @param <T> Type of the resulting object
+ * @see Constructors#ofRecord(Class, MethodHandles.Lookup, java.util.function.Consumer)
+ */
+public final class RecordConstructorBuilder<T>{
+	private final Class<T> type;
+	private final MethodHandles.Lookup lookup;
+
+	private final Map<String, Constructor<Among, ?>> componentConstructors = new HashMap<>();
+	private final Map<String, Supplier<?>> defaultValues = new HashMap<>();
+	@Nullable private String[] names;
+	private boolean positional;
+
+	/**
+	 * @param type   Type of the resulting object
+	 * @param lookup Lookup with access to the canonical constructor of {@code type}
+	 * @throws NullPointerException If either {@code type == null} or {@code lookup == null}
+	 */
+	public RecordConstructorBuilder(Class<T> type, MethodHandles.Lookup lookup){
+		this.type = Objects.requireNonNull(type);
+		this.lookup = Objects.requireNonNull(lookup);
+	}
+
+	/**
+	 * Specify constructor for a component, replacing the default constructor for its type.
+	 *
+	 * @param name        Name of the component
+	 * @param constructor Constructor for the component
+	 * @return this
+	 * @throws NullPointerException  If {@code constructor == null}
+	 * @throws IllegalStateException If constructor for the component is already defined
+	 */
+	public RecordConstructorBuilder<T> component(String name, Constructor<Among, ?> constructor){
+		if(componentConstructors.putIfAbsent(name, Objects.requireNonNull(constructor))!=null)
+			throw new IllegalStateException("Constructor for component '"+name+"' already defined");
+		return this;
+	}
+
+	/**
+	 * Make a component optional. If the component is omitted, the value provided by {@code defaultValue} is used
+	 * instead. Default values can be {@code null}, unless the component is of primitive type; {@code null} default
+	 * value for primitive component is reported as error on construction.
+	 *
+	 * @param name         Name of the component
+	 * @param defaultValue Supplier of the default value, called each time the component is omitted
+	 * @return this
+	 * @throws NullPointerException  If {@code defaultValue == null}
+	 * @throws IllegalStateException If default value for the component is already defined
+	 */
+	public RecordConstructorBuilder<T> optional(String name, Supplier<?> defaultValue){
+		if(defaultValues.putIfAbsent(name, Objects.requireNonNull(defaultValue))!=null)
+			throw new IllegalStateException("Default value for component '"+name+"' already defined");
+		return this;
+	}
+
+	/**
+	 * Specify names of the constructor parameters, in declaration order. Required for classes other than records, if
+	 * the class is compiled without parameter names.
+	 *
+	 * @param names Names of the constructor parameters
+	 * @return this
+	 * @throws IllegalStateException If names are already defined
+	 */
+	public RecordConstructorBuilder<T> names(String... names){
+		if(this.names!=null) throw new IllegalStateException("Component names already defined");
+		this.names = names.clone();
+		return this;
+	}
+
+	/**
+	 * Accept unnamed lists as well as objects, with components supplied as elements in declaration order.
+	 *
+	 * @return this
+	 */
+	public RecordConstructorBuilder<T> positional(){
+		this.positional = true;
+		return this;
+	}
+
+	/**
+	 * @return Rule constructing objects, and unnamed lists if {@link RecordConstructorBuilder#positional()} is set
+	 * @throws IllegalStateException If the canonical constructor or names of the components cannot be determined, a
+	 *                               component has no constructor, a component specified does not exist, or an
+	 *                               optional component is followed by required component in positional constructor
+	 */
+	public ConstructRule<T> build(){
+		java.lang.reflect.Constructor<?> canonical = findCanonicalConstructor();
+		Class<?>[] types = canonical.getParameterTypes();
+		String[] names = componentNames(canonical);
+		for(String n : componentConstructors.keySet()) checkComponent(names, n);
+		for(String n : defaultValues.keySet()) checkComponent(names, n);
+
+		Component[] components = new Component[names.length];
+		for(int i = 0; i<names.length; i++){
+			Constructor<Among, ?> c = componentConstructors.get(names[i]);
+			byte typeFlag = TypeFlags.ANY;
+			if(c==null){
+				c = defaultConstructor(types[i]);
+				if(c==null) throw new IllegalStateException("No constructor for component '"+names[i]+"' of type "+types[i].getName());
+				if(c!=Constructors.IDENTITY) typeFlag = TypeFlags.PRIMITIVE;
+			}
+			components[i] = new Component(names[i], c, defaultValues.get(names[i]), types[i].isPrimitive(), typeFlag);
+		}
+		int minSize = 0;
+		if(positional){
+			while(minSize<components.length&&components[minSize].defaultValue==null) minSize++;
+			for(int i = minSize+1; i<components.length; i++)
+				if(components[i].defaultValue==null)
+					throw new IllegalStateException("Required component '"+components[i].name+"' follows optional component '"+components[minSize].name+"'");
+		}
+		int minListSize = minSize;
+
+		MethodHandle handle;
+		try{
+			handle = lookup.unreflectConstructor(canonical)
+					.asSpreader(Object[].class, components.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		}catch(IllegalAccessException ex){
+			throw new IllegalStateException("Cannot access constructor of "+type.getName(), ex);
+		}
+		Instantiator<T> instantiator = new Instantiator<>(type, handle);
+
+		return ConstructRule.make(b -> {
+			b.obj("", ConditionedConstructor.objectCondition(c -> {
+				for(Component component : components){
+					if(component.defaultValue!=null) c.optionalProperty(component.name, component.typeFlag);
+					else c.property(component.name, component.typeFlag);
+				}
+				c.warnOtherProperties();
+			}, (obj, r) -> {
+				Object[] args = new Object[components.length];
+				boolean failed = false;
+				for(int i = 0; i<components.length; i++){
+					Among property = obj.getProperty(components[i].name);
+					Object o = property==null ?
+							components[i].defaultValue(obj, r) :
+							components[i].construct(property, r);
+					if(o==Component.FAILED) failed = true;
+					else args[i] = o;
+				}
+				return failed ? null : instantiator.instantiate(args, obj, r);
+			}));
+			if(positional){
+				b.list("", ConditionedConstructor.listCondition(c -> {
+					c.size(minListSize, components.length);
+					for(int i = 0; i<components.length; i++) c.elementType(i, components[i].typeFlag);
+				}, (list, r) -> {
+					Object[] args = new Object[components.length];
+					boolean failed = false;
+					for(int i = 0; i<components.length; i++){
+						Object o = i<list.size() ?
+								components[i].construct(list.get(i), r) :
+								components[i].defaultValue(list, r);
+						if(o==Component.FAILED) failed = true;
+						else args[i] = o;
+					}
+					return failed ? null : instantiator.instantiate(args, list, r);
+				}));
+			}
+			b.errorMessage(positional ? "Expected object or list" : "Expected object");
+		});
+	}
+
+	private java.lang.reflect.Constructor<?> findCanonicalConstructor(){
+		Class<?>[] recordComponentTypes = recordComponentTypes();
+		if(recordComponentTypes!=null){
+			try{
+				return type.getDeclaredConstructor(recordComponentTypes);
+			}catch(NoSuchMethodException ex){
+				throw new IllegalStateException("Cannot find canonical constructor of "+type.getName(), ex);
+			}
+		}
+		java.lang.reflect.Constructor<?> canonical = null;
+		for(java.lang.reflect.Constructor<?> c : type.getConstructors()){
+			if(names!=null&&c.getParameterCount()!=names.length) continue;
+			if(canonical!=null) throw new IllegalStateException("Cannot determine canonical constructor of "+type.getName());
+			canonical = c;
+		}
+		if(canonical==null) throw new IllegalStateException("Cannot find canonical constructor of "+type.getName());
+		return canonical;
+	}
+
+	private String[] componentNames(java.lang.reflect.Constructor<?> canonical){
+		if(names!=null){
+			if(names.length!=canonical.getParameterCount())
+				throw new IllegalStateException("Expected "+canonical.getParameterCount()+" component names, "+names.length+" provided");
+			return names;
+		}
+		String[] recordComponentNames = recordComponentNames();
+		if(recordComponentNames!=null) return recordComponentNames;
+		Parameter[] parameters = canonical.getParameters();
+		String[] names = new String[parameters.length];
+		for(int i = 0; i<parameters.length; i++){
+			if(!parameters[i].isNamePresent())
+				throw new IllegalStateException("Parameter names of "+type.getName()+" are not available; specify them with names()");
+			names[i] = parameters[i].getName();
+		}
+		return names;
+	}
+
+	private static void checkComponent(String[] names, String name){
+		for(String n : names) if(n.equals(name)) return;
+		throw new IllegalStateException("No component named '"+name+"'");
+	}
+
+	// records are queried reflectively to stay compatible with Java 8
+
+	@Nullable private Class<?>[] recordComponentTypes(){
+		Object[] components = recordComponents();
+		if(components==null) return null;
+		Class<?>[] types = new Class[components.length];
+		for(int i = 0; i<components.length; i++) types[i] = (Class<?>)invoke(components[i], "getType");
+		return types;
+	}
+
+	@Nullable private String[] recordComponentNames(){
+		Object[] components = recordComponents();
+		if(components==null) return null;
+		String[] names = new String[components.length];
+		for(int i = 0; i<components.length; i++) names[i] = (String)invoke(components[i], "getName");
+		return names;
+	}
+
+	@Nullable private Object[] recordComponents(){
+		Method getRecordComponents;
+		try{
+			getRecordComponents = Class.class.getMethod("getRecordComponents");
+		}catch(NoSuchMethodException ex){
+			return null;
+		}
+		return (Object[])invoke(getRecordComponents, type);
+	}
+
+	private static Object invoke(Object instance, String methodName){
+		try{
+			return invoke(instance.getClass().getMethod(methodName), instance);
+		}catch(NoSuchMethodException ex){
+			throw new IllegalStateException(ex);
+		}
+	}
+	private static Object invoke(Method method, Object instance){
+		try{
+			return method.invoke(instance);
+		}catch(ReflectiveOperationException ex){
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Nullable private static Constructor<Among, ?> defaultConstructor(Class<?> type){
+		if(type==boolean.class||type==Boolean.class) return Constructors.BOOL;
+		if(type==int.class||type==Integer.class) return Constructors.INT;
+		if(type==long.class||type==Long.class) return Constructors.LONG;
+		if(type==float.class||type==Float.class) return Constructors.FLOAT;
+		if(type==double.class||type==Double.class) return Constructors.DOUBLE;
+		if(type==String.class) return Constructors.VALUE;
+		if(type==Among.class) return Constructors.IDENTITY;
+		return null;
+	}
+
+	private static final class Component{
+		static final Object FAILED = new Object();
+
+		final String name;
+		final Constructor<Among, ?> constructor;
+		@Nullable final Supplier<?> defaultValue;
+		final boolean primitive;
+		final byte typeFlag;
+
+		Component(String name, Constructor<Among, ?> constructor, @Nullable Supplier<?> defaultValue, boolean primitive, byte typeFlag){
+			this.name = name;
+			this.constructor = constructor;
+			this.defaultValue = defaultValue;
+			this.primitive = primitive;
+			this.typeFlag = typeFlag;
+		}
+
+		/**
+		 * @return Constructed value, or {@link Component#FAILED} if construction failed
+		 */
+		Object construct(Among instance, @Nullable ReportHandler reportHandler){
+			Object o = constructor.construct(instance, reportHandler);
+			return o!=null ? o : FAILED;
+		}
+
+		/**
+		 * @return Default value, or {@link Component#FAILED} if the component is primitive and default value is {@code
+		 * null}
+		 */
+		@Nullable Object defaultValue(Among instance, @Nullable ReportHandler reportHandler){
+			Object o = Objects.requireNonNull(defaultValue).get();
+			if(o==null&&primitive){
+				if(reportHandler!=null)
+					reportHandler.reportError("Default value of primitive component '"+name+"' is null", instance.sourcePosition());
+				return FAILED;
+			}
+			return o;
+		}
+	}
+
+	private static final class Instantiator<T>{
+		private final Class<T> type;
+		private final MethodHandle handle;
+
+		Instantiator(Class<T> type, MethodHandle handle){
+			this.type = type;
+			this.handle = handle;
+		}
+
+		@Nullable T instantiate(Object[] args, Among instance, @Nullable ReportHandler reportHandler){
+			try{
+				return type.cast((Object)handle.invokeExact(args));
+			}catch(Error e){
+				throw e;
+			}catch(Throwable t){
+				if(reportHandler!=null)
+					reportHandler.report(ReportType.ERROR, "Cannot construct object due to an unexpected exception", instance.sourcePosition(), t);
+				return null;
+			}
+		}
+	}
+}
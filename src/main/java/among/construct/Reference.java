@@ -0,0 +1,63 @@
+package among.construct;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Placeholder for an object referred to by its id, produced by {@link ReferenceIndex#reference()}. The target is
+ * bound when {@link ReferenceIndex#resolve(among.report.ReportHandler)} is called, after every object is constructed;
+ * references can therefore point to objects constructed later, and form cycles.
+ *
+ * @param <T> Type of the referred object
+ */
+public final class Reference<T>{
+	private final String id;
+	private final int sourcePosition;
+	@Nullable private T target;
+	private boolean resolved;
+
+	Reference(String id, int sourcePosition){
+		this.id = id;
+		this.sourcePosition = sourcePosition;
+	}
+
+	/**
+	 * @return Id of the referred object
+	 */
+	public String id(){
+		return id;
+	}
+	/**
+	 * @return Source position of the reference, or {@code -1} if it's not available
+	 */
+	public int sourcePosition(){
+		return sourcePosition;
+	}
+
+	/**
+	 * @return Whether the reference is bound to its target
+	 */
+	public boolean isResolved(){
+		return resolved;
+	}
+
+	/**
+	 * @return The referred object
+	 * @throws IllegalStateException If the reference is not resolved
+	 */
+	public T get(){
+		if(!resolved) throw new IllegalStateException("Reference '"+id+"' is not resolved");
+		return target;
+	}
+
+	void bind(T target){
+		this.target = target;
+		this.resolved = true;
+	}
+
+	@Override public String toString(){
+		return "Reference{"+
+				"id='"+id+'\''+
+				", resolved="+resolved+
+				'}';
+	}
+}
@@ -0,0 +1,203 @@
+package among.construct;
+
+import among.obj.Among;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Index of objects referring to each other by id, resolved in two phases.<br>
+ * During construction, objects are registered to the index with constructors wrapped by {@link
+ * ReferenceIndex#registering(Constructor, Function)}, and references are read with {@link ReferenceIndex#reference()}
+ * as unresolved {@link Reference} placeholders. Once every object is constructed, {@link
+ * ReferenceIndex#resolve(ReportHandler)} binds each placeholder to its target with one hash lookup, and reports every
+ * reference without target at once. Since placeholders are bound after construction, references to objects defined
+ * later in the document, and cyclic references, work without any special handling.<br>
+ * Registrations and references are kept even if a constructor enclosing them fails afterwards, for example when a
+ * later element of the same list fails. Constructors wrapped with {@link ReferenceIndex#transactional(Constructor)}
+ * buffer the registrations and references made during their construction, and only keep them if the construction
+ * succeeds.<br>
+ * Registering objects and reading references is thread safe, so the constructors can be used with {@link
+ * Constructor#parallelListOf(Constructor, boolean, java.util.concurrent.ForkJoinPool, int)}. Transactions are bound to
+ * the thread running them; registrations and references made on other threads are not covered by the transaction,
+ * unless the constructors running on those threads are transactional themselves. {@link
+ * ReferenceIndex#resolve(ReportHandler)} and {@link ReferenceIndex#clear()} are expected to be called after the
+ * construction is complete.
+ *
+ * @param <T> Type of the referred objects
+ */
+public final class ReferenceIndex<T>{
+	private final Map<String, T> objects = new ConcurrentHashMap<>();
+	private final Queue<Reference<T>> pending = new ConcurrentLinkedQueue<>();
+	private final ThreadLocal<Transaction<T>> transaction = new ThreadLocal<>();
+
+	/**
+	 * @return Constructor reading primitive values as references to the object with the value as id
+	 */
+	public Constructor<Among, Reference<T>> reference(){
+		return Constructor.generifyValue((instance, reportHandler) -> {
+			Reference<T> ref = new Reference<>(instance.getValue(), instance.sourcePosition());
+			Transaction<T> tx = transaction.get();
+			if(tx!=null) tx.references.add(ref);
+			else pending.add(ref);
+			return ref;
+		});
+	}
+
+	/**
+	 * Wrap given constructor so that each object constructed is registered to this index, with id provided by {@code
+	 * idFunction}. Objects with already registered id are reported, and fails the construction.
+	 *
+	 * @param constructor The constructor to wrap
+	 * @param idFunction  Function providing id of the constructed objects
+	 * @param <A>         Type of Among value parameter
+	 * @param <X>         Type of the resulting object
+	 * @return Wrapped constructor
+	 * @throws NullPointerException If either {@code constructor == null} or {@code idFunction == null}
+	 */
+	public <A extends Among, X extends T> Constructor<A, X> registering(Constructor<A, X> constructor, Function<? super X, String> idFunction){
+		Objects.requireNonNull(constructor);
+		Objects.requireNonNull(idFunction);
+		return (instance, reportHandler) -> {
+			X x = constructor.construct(instance, reportHandler);
+			if(x==null) return null;
+			String id = idFunction.apply(x);
+			if(!register(id, x)){
+				if(reportHandler!=null) reportHandler.reportError("Duplicate id '"+id+"'", instance.sourcePosition());
+				return null;
+			}
+			return x;
+		};
+	}
+
+	/**
+	 * Wrap given constructor so that registrations and references made during its construction are only kept if it
+	 * succeeds. Registrations are buffered until then, and are visible to {@link ReferenceIndex#get(String)} only
+	 * after the outermost transaction completes; ids are still checked for duplicates at the time of registration.
+	 * Transactions can be nested, in which case inner transactions are merged into the enclosing transaction.
+	 *
+	 * @param constructor The constructor to wrap
+	 * @param <A>         Type of Among value parameter
+	 * @param <X>         Type of the resulting object
+	 * @return Wrapped constructor
+	 * @throws NullPointerException If {@code constructor == null}
+	 */
+	public <A extends Among, X> Constructor<A, X> transactional(Constructor<A, X> constructor){
+		Objects.requireNonNull(constructor);
+		return (instance, reportHandler) -> {
+			Transaction<T> parent = transaction.get();
+			Transaction<T> tx = new Transaction<>(parent);
+			transaction.set(tx);
+			X x;
+			try{
+				x = constructor.construct(instance, reportHandler);
+			}finally{
+				if(parent!=null) transaction.set(parent);
+				else transaction.remove();
+			}
+			if(x==null) return null;
+			if(parent!=null){
+				parent.objects.putAll(tx.objects);
+				parent.references.addAll(tx.references);
+				return x;
+			}
+			// objects registered by other threads in the meantime may conflict with the buffered ones
+			List<String> committed = new ArrayList<>();
+			for(Map.Entry<String, T> e : tx.objects.entrySet()){
+				if(objects.putIfAbsent(e.getKey(), e.getValue())!=null){
+					for(String id : committed) objects.remove(id, tx.objects.get(id));
+					if(reportHandler!=null) reportHandler.reportError("Duplicate id '"+e.getKey()+"'", instance.sourcePosition());
+					return null;
+				}
+				committed.add(e.getKey());
+			}
+			pending.addAll(tx.references);
+			return x;
+		};
+	}
+
+	/**
+	 * Register an object to this index. If called during a transaction, the object is buffered to the transaction.
+	 *
+	 * @param id     Id of the object
+	 * @param object The object
+	 * @return {@code false} if another object is already registered with the id
+	 * @see ReferenceIndex#transactional(Constructor)
+	 */
+	public boolean register(String id, T object){
+		Objects.requireNonNull(id);
+		Objects.requireNonNull(object);
+		Transaction<T> tx = transaction.get();
+		if(tx==null) return objects.putIfAbsent(id, object)==null;
+		if(objects.containsKey(id)) return false;
+		for(Transaction<T> t = tx; t!=null; t = t.parent)
+			if(t.objects.containsKey(id)) return false;
+		tx.objects.put(id, object);
+		return true;
+	}
+
+	/**
+	 * @param id Id of the object
+	 * @return Object registered with the id, or {@code null} if there's none
+	 */
+	@Nullable public T get(String id){
+		return objects.get(id);
+	}
+	/**
+	 * @return Number of objects registered
+	 */
+	public int size(){
+		return objects.size();
+	}
+
+	/**
+	 * Bind every reference read since the last call to its target. References without target are left unresolved,
+	 * and reported together after every other reference is bound.
+	 *
+	 * @param reportHandler Optional report handler
+	 * @return Whether every reference was resolved
+	 */
+	public boolean resolve(@Nullable ReportHandler reportHandler){
+		List<Reference<T>> unresolved = null;
+		for(Reference<T> ref; (ref = pending.poll())!=null; ){
+			T t = objects.get(ref.id());
+			if(t!=null) ref.bind(t);
+			else{
+				if(unresolved==null) unresolved = new ArrayList<>();
+				unresolved.add(ref);
+			}
+		}
+		if(unresolved==null) return true;
+		if(reportHandler!=null)
+			for(Reference<T> ref : unresolved)
+				reportHandler.reportError("Unresolved reference '"+ref.id()+"'", ref.sourcePosition());
+		return false;
+	}
+
+	/**
+	 * Remove every registered object and unresolved reference.
+	 */
+	public void clear(){
+		objects.clear();
+		pending.clear();
+	}
+
+	private static final class Transaction<T>{
+		@Nullable final Transaction<T> parent;
+		final Map<String, T> objects = new LinkedHashMap<>();
+		final List<Reference<T>> references = new ArrayList<>();
+
+		Transaction(@Nullable Transaction<T> parent){
+			this.parent = parent;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package among.construct;
+
+import among.report.ReportHandler;
+import among.report.ReportType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link ReportHandler} recording every report passed to it, in order. Recorded reports can be inspected, or be
+ * replayed to another report handler later.<br>
+ * Report buffers are not thread safe; each buffer is expected to be written by one thread at a time.
+ */
+public final class ReportBuffer implements ReportHandler{
+	private final List<Entry> entries = new ArrayList<>();
+
+	@Override public void report(ReportType type, String message, int srcIndex, @Nullable Throwable ex, String... hints){
+		entries.add(new Entry(type, message, srcIndex, ex, hints));
+	}
+
+	/**
+	 * @return Number of reports recorded
+	 */
+	public int size(){
+		return entries.size();
+	}
+	/**
+	 * @return Whether this buffer has no reports recorded
+	 */
+	public boolean isEmpty(){
+		return entries.isEmpty();
+	}
+	/**
+	 * @return Whether this buffer has any report of type {@link ReportType#ERROR}
+	 */
+	public boolean hasError(){
+		for(Entry e : entries)
+			if(e.type==ReportType.ERROR) return true;
+		return false;
+	}
+
+	/**
+	 * @return Unmodifiable view of recorded reports, in the order of reporting
+	 */
+	public List<Entry> entries(){
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Pass all recorded reports to {@code reportHandler}, in the order of reporting.
+	 *
+	 * @param reportHandler Report handler to receive the reports
+	 * @throws NullPointerException If {@code reportHandler == null}
+	 */
+	public void replay(ReportHandler reportHandler){
+		Objects.requireNonNull(reportHandler);
+		for(Entry e : entries) e.reportTo(reportHandler);
+	}
+
+	/**
+	 * Remove all recorded reports.
+	 */
+	public void clear(){
+		entries.clear();
+	}
+
+	/**
+	 * A single report recorded by {@link ReportBuffer}.
+	 */
+	public static final class Entry{
+		private final ReportType type;
+		private final String message;
+		private final int srcIndex;
+		@Nullable private final Throwable exception;
+		private final String[] hints;
+
+		public Entry(ReportType type, String message, int srcIndex, @Nullable Throwable exception, @Nullable String[] hints){
+			this.type = Objects.requireNonNull(type);
+			this.message = Objects.requireNonNull(message);
+			this.srcIndex = srcIndex;
+			this.exception = exception;
+			this.hints = hints==null ? new String[0] : hints.clone();
+		}
+
+		public ReportType type(){
+			return type;
+		}
+		public String message(){
+			return message;
+		}
+		public int srcIndex(){
+			return srcIndex;
+		}
+		@Nullable public Throwable exception(){
+			return exception;
+		}
+		public String[] hints(){
+			return hints.clone();
+		}
+
+		public void reportTo(ReportHandler reportHandler){
+			reportHandler.report(type, message, srcIndex, exception, hints);
+		}
+
+		@Override public String toString(){
+			return type+": "+message+(srcIndex>=0 ? " (at "+srcIndex+")" : "");
+		}
+	}
+}
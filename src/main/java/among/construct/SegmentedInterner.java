@@ -0,0 +1,46 @@
+package among.construct;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * Implementation of {@link Interner#weak()} and {@link Interner#bounded(int)}. Instances are spread over a fixed number
+ * of segments, each of them guarded by its own lock.
+ *
+ * @param <T> Type of the pooled objects
+ */
+final class SegmentedInterner<T> implements Interner<T>{
+	private static final int SEGMENTS = 16;
+
+	private final Map<T, Object>[] segments;
+	private final boolean weak;
+
+	@SuppressWarnings("unchecked") SegmentedInterner(boolean weak, int maxSize){
+		this.weak = weak;
+		this.segments = new Map[SEGMENTS];
+		int segmentSize = weak ? -1 : (maxSize+SEGMENTS-1)/SEGMENTS;
+		for(int i = 0; i<SEGMENTS; i++)
+			this.segments[i] = weak ? new WeakHashMap<>() : new LinkedHashMap<T, Object>(16, .75f, true){
+				@Override protected boolean removeEldestEntry(Map.Entry<T, Object> eldest){
+					return size()>segmentSize;
+				}
+			};
+	}
+
+	@SuppressWarnings("unchecked") @Override public T intern(T value){
+		int hash = Objects.requireNonNull(value).hashCode();
+		Map<T, Object> segment = segments[(hash^(hash >>> 16))&(SEGMENTS-1)];
+		synchronized(segment){
+			Object o = segment.get(value);
+			@Nullable T canonical = weak ? o==null ? null : ((WeakReference<T>)o).get() : (T)o;
+			if(canonical!=null) return canonical;
+			segment.put(value, weak ? new WeakReference<>(value) : value);
+			return value;
+		}
+	}
+}
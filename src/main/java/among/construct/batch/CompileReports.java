@@ -0,0 +1,25 @@
+package among.construct.batch;
+
+import among.CompileResult;
+import among.report.Report;
+import among.report.ReportHandler;
+
+/**
+ * Transfer of the reports made by the engine while compiling a file, so that they are delivered along with the reports
+ * of the construction.
+ */
+final class CompileReports{
+	private CompileReports(){}
+
+	/**
+	 * Report every report of {@code result} to {@code reportHandler}, in the order they were made. {@link
+	 * CompileResult} is the list of the reports itself, bound to the compiled source.
+	 *
+	 * @param result        Result of the compilation
+	 * @param reportHandler Report handler to report to
+	 */
+	static void copy(CompileResult result, ReportHandler reportHandler){
+		for(Report r : result.reports())
+			reportHandler.report(r.type(), r.message(), r.srcIndex(), r.exception());
+	}
+}
@@ -0,0 +1,166 @@
+package among.construct.batch;
+
+import among.RootAndDefinition;
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.obj.Among;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Service for constructing many independent documents concurrently. Each document is constructed as one task on the
+ * executor; on Java 21 or above the default executor runs each task on its own virtual thread, and a fixed thread pool
+ * is used otherwise.<br>
+ * The number of documents being constructed at once is bounded; submitting a document blocks the caller until a slot
+ * is available.<br>
+ * Deadline of each document is measured from its submission, including the time spent waiting for a slot and in the
+ * executor's queue. It is checked before each root value, including the first one; construction of a single value is
+ * never interrupted, since constructors have no point to stop at. A document whose deadline passed while queued is
+ * not constructed at all, but a document with a single root value that already started is always completed.<br>
+ * The constructor is expected to be safe to call from multiple threads at once.
+ *
+ * @param <T> Type of the resulting objects
+ */
+public final class ConstructService<T> implements AutoCloseable{
+	/**
+	 * Make a construct service.
+	 *
+	 * @param constructor Constructor for each root value of the documents
+	 * @param consumer    Builder consumer
+	 * @param <T>         Type of the resulting objects
+	 * @return Newly created construct service
+	 */
+	public static <T> ConstructService<T> make(Constructor<Among, T> constructor, Consumer<ConstructServiceBuilder<T>> consumer){
+		ConstructServiceBuilder<T> b = new ConstructServiceBuilder<>(constructor);
+		consumer.accept(b);
+		return b.build();
+	}
+
+	private final Constructor<Among, T> constructor;
+	private final Executor executor;
+	private final boolean ownsExecutor;
+	private final Semaphore inFlight;
+	private final long deadlineNanos;
+
+	ConstructService(Constructor<Among, T> constructor, Executor executor, boolean ownsExecutor, int maxInFlight, long deadlineNanos){
+		this.constructor = Objects.requireNonNull(constructor);
+		this.executor = Objects.requireNonNull(executor);
+		this.ownsExecutor = ownsExecutor;
+		this.inFlight = new Semaphore(maxInFlight);
+		this.deadlineNanos = deadlineNanos;
+	}
+
+	/**
+	 * Submit a document for construction. Each value of the root is constructed.
+	 *
+	 * @param document The document
+	 * @return Future of the result
+	 * @throws NullPointerException If {@code document == null}
+	 */
+	public CompletableFuture<DocumentResult<T>> submit(RootAndDefinition document){
+		return submit(document.root().values());
+	}
+	/**
+	 * Submit a document with single root value for construction.
+	 *
+	 * @param root The root value
+	 * @return Future of the result
+	 * @throws NullPointerException If {@code root == null}
+	 */
+	public CompletableFuture<DocumentResult<T>> submit(Among root){
+		return submit(Collections.singletonList(Objects.requireNonNull(root)));
+	}
+	/**
+	 * Submit a document for construction. Blocks until the number of documents being constructed is below the limit.
+	 *
+	 * @param roots Root values of the document
+	 * @return Future of the result
+	 * @throws NullPointerException       If {@code roots == null}
+	 * @throws RejectedExecutionException If the executor rejected the task
+	 */
+	public CompletableFuture<DocumentResult<T>> submit(List<Among> roots){
+		Objects.requireNonNull(roots);
+		CompletableFuture<DocumentResult<T>> future = new CompletableFuture<>();
+		long deadline = System.nanoTime()+deadlineNanos;
+		inFlight.acquireUninterruptibly();
+		try{
+			executor.execute(() -> {
+				try{
+					future.complete(construct(roots, deadline));
+				}catch(Throwable t){
+					future.completeExceptionally(t);
+				}finally{
+					inFlight.release();
+				}
+			});
+		}catch(RuntimeException ex){
+			inFlight.release();
+			throw ex;
+		}
+		return future;
+	}
+
+	/**
+	 * Construct all documents and wait for them to complete.
+	 *
+	 * @param documents The documents
+	 * @return Results of each document, in the same order as {@code documents}
+	 * @throws NullPointerException If {@code documents == null}
+	 */
+	public List<DocumentResult<T>> constructAll(Collection<? extends RootAndDefinition> documents){
+		List<CompletableFuture<DocumentResult<T>>> futures = new ArrayList<>(documents.size());
+		for(RootAndDefinition d : documents) futures.add(submit(d));
+		List<DocumentResult<T>> results = new ArrayList<>(futures.size());
+		boolean interrupted = false;
+		for(CompletableFuture<DocumentResult<T>> f : futures){
+			while(true){
+				try{
+					results.add(f.get());
+					break;
+				}catch(InterruptedException ex){
+					interrupted = true;
+				}catch(ExecutionException ex){
+					throw new IllegalStateException("Unexpected error during construction", ex.getCause());
+				}
+			}
+		}
+		if(interrupted) Thread.currentThread().interrupt();
+		return results;
+	}
+
+	private DocumentResult<T> construct(List<Among> roots, long deadline){
+		ReportBuffer reports = new ReportBuffer();
+		List<T> values = new ArrayList<>(roots.size());
+		for(Among root : roots){
+			if(deadlineNanos>0&&System.nanoTime()-deadline>0){
+				reports.reportError("Construction timed out");
+				return new DocumentResult<>(values, reports, true, null);
+			}
+			try{
+				values.add(constructor.construct(root, reports));
+			}catch(RuntimeException ex){
+				reports.reportError("Cannot construct object due to an unexpected exception", root.sourcePosition());
+				return new DocumentResult<>(values, reports, false, ex);
+			}
+		}
+		return new DocumentResult<>(values, reports, false, null);
+	}
+
+	/**
+	 * Shut down the executor, if it was created by this service. Documents already submitted are still constructed.
+	 */
+	@Override public void close(){
+		if(ownsExecutor) ((ExecutorService)executor).shutdown();
+	}
+}
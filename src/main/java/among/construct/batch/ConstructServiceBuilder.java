@@ -0,0 +1,82 @@
+package among.construct.batch;
+
+import among.construct.Constructor;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public final class ConstructServiceBuilder<T>{
+	private final Constructor<Among, T> constructor;
+	@Nullable private Executor executor;
+	private int maxInFlight = 256;
+	private long deadlineNanos;
+
+	/**
+	 * @param constructor Constructor for each root value of the documents
+	 * @throws NullPointerException If {@code constructor == null}
+	 */
+	public ConstructServiceBuilder(Constructor<Among, T> constructor){
+		this.constructor = Objects.requireNonNull(constructor);
+	}
+
+	/**
+	 * Set the executor to construct documents on. Executors supplied here are not shut down by {@link
+	 * ConstructService#close()}. If not set, the service creates its own executor; it starts a virtual thread for each
+	 * document on Java 21 or above, and uses a fixed thread pool sized to the number of processors otherwise.
+	 *
+	 * @param executor The executor
+	 * @return This
+	 * @throws NullPointerException If {@code executor == null}
+	 */
+	public ConstructServiceBuilder<T> executor(Executor executor){
+		this.executor = Objects.requireNonNull(executor);
+		return this;
+	}
+
+	/**
+	 * Set the maximum number of documents submitted but not completed yet. Defaults to {@code 256}.
+	 *
+	 * @param maxInFlight Maximum number of documents in flight
+	 * @return This
+	 * @throws IllegalArgumentException If {@code maxInFlight <= 0}
+	 */
+	public ConstructServiceBuilder<T> maxInFlight(int maxInFlight){
+		if(maxInFlight<=0) throw new IllegalArgumentException("maxInFlight <= 0");
+		this.maxInFlight = maxInFlight;
+		return this;
+	}
+
+	/**
+	 * Set the deadline of each document, measured from its submission. No deadline is set by default.
+	 *
+	 * @param timeout Time allowed for each document
+	 * @param unit    Unit of {@code timeout}
+	 * @return This
+	 * @throws IllegalArgumentException If {@code timeout <= 0}
+	 * @see ConstructService
+	 */
+	public ConstructServiceBuilder<T> deadline(long timeout, TimeUnit unit){
+		if(timeout<=0) throw new IllegalArgumentException("timeout <= 0");
+		this.deadlineNanos = unit.toNanos(timeout);
+		return this;
+	}
+
+	/**
+	 * @return New construct service
+	 */
+	public ConstructService<T> build(){
+		if(executor!=null) return new ConstructService<>(constructor, executor, false, maxInFlight, deadlineNanos);
+		ExecutorService e = VirtualThreads.newExecutor();
+		if(e==null) e = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+			Thread t = new Thread(r, "Construct Service");
+			t.setDaemon(true);
+			return t;
+		});
+		return new ConstructService<>(constructor, e, true, maxInFlight, deadlineNanos);
+	}
+}
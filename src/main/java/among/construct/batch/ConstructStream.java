@@ -0,0 +1,121 @@
+package among.construct.batch;
+
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.obj.Among;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming construction of root values. Roots are read from the source only when results are requested, so neither
+ * the roots nor the results need to be held in memory all at once; the consumer pulling results provides backpressure
+ * to both the source and the construction.<br>
+ * On Java 21 or above, {@code ConstructPublisher} provides the same construction as a {@code
+ * java.util.concurrent.Flow.Publisher}.
+ */
+public final class ConstructStream{
+	private ConstructStream(){}
+
+	/**
+	 * Construct each root lazily on the thread calling {@link Iterator#next()}.
+	 *
+	 * @param roots       Source of root values
+	 * @param constructor Constructor for root values
+	 * @param <T>         Type of the resulting objects
+	 * @return Iterator of results, in the same order as {@code roots}
+	 * @throws NullPointerException If either {@code roots == null} or {@code constructor == null}
+	 */
+	public static <T> Iterator<RootResult<T>> iterate(Iterator<? extends Among> roots, Constructor<Among, T> constructor){
+		Objects.requireNonNull(roots);
+		Objects.requireNonNull(constructor);
+		return new Iterator<RootResult<T>>(){
+			@Override public boolean hasNext(){
+				return roots.hasNext();
+			}
+			@Override public RootResult<T> next(){
+				return construct(roots.next(), constructor);
+			}
+		};
+	}
+
+	/**
+	 * Construct each root lazily as the stream is consumed. If {@code parallel} is {@code true}, the stream splits
+	 * {@code roots} and constructs them in parallel, as any other parallel stream.
+	 *
+	 * @param roots       Source of root values
+	 * @param constructor Constructor for root values
+	 * @param parallel    Whether the returned stream is parallel
+	 * @param <T>         Type of the resulting objects
+	 * @return Stream of results
+	 * @throws NullPointerException If either {@code roots == null} or {@code constructor == null}
+	 */
+	public static <T> Stream<RootResult<T>> stream(Spliterator<? extends Among> roots, Constructor<Among, T> constructor, boolean parallel){
+		Objects.requireNonNull(constructor);
+		return StreamSupport.stream(roots, parallel).map(root -> construct(root, constructor));
+	}
+
+	/**
+	 * Construct roots on {@code executor}, keeping at most {@code window} roots in construction ahead of the consumer.
+	 * Results are returned in the same order as {@code roots}. {@code roots} is only accessed from the thread calling
+	 * the returned iterator.<br>
+	 * The constructor is expected to be safe to call from multiple threads at once.
+	 *
+	 * @param roots       Source of root values
+	 * @param constructor Constructor for root values
+	 * @param executor    Executor to construct roots on
+	 * @param window      Maximum number of roots being constructed, or constructed but not yet consumed
+	 * @param <T>         Type of the resulting objects
+	 * @return Iterator of results, in the same order as {@code roots}
+	 * @throws NullPointerException     If either {@code roots == null}, {@code constructor == null} or {@code executor ==
+	 *                                  null}
+	 * @throws IllegalArgumentException If {@code window <= 0}
+	 */
+	public static <T> Iterator<RootResult<T>> iterateAsync(Iterator<? extends Among> roots, Constructor<Among, T> constructor, Executor executor, int window){
+		Objects.requireNonNull(roots);
+		Objects.requireNonNull(constructor);
+		Objects.requireNonNull(executor);
+		if(window<=0) throw new IllegalArgumentException("window <= 0");
+		return new Iterator<RootResult<T>>(){
+			private final ArrayDeque<CompletableFuture<RootResult<T>>> inFlight = new ArrayDeque<>(window);
+
+			private void fill(){
+				while(inFlight.size()<window&&roots.hasNext()){
+					Among root = roots.next();
+					inFlight.add(CompletableFuture.supplyAsync(() -> construct(root, constructor), executor));
+				}
+			}
+
+			@Override public boolean hasNext(){
+				fill();
+				return !inFlight.isEmpty();
+			}
+			@Override public RootResult<T> next(){
+				fill();
+				CompletableFuture<RootResult<T>> f = inFlight.poll();
+				if(f==null) throw new NoSuchElementException();
+				try{
+					return f.join();
+				}catch(CompletionException ex){
+					if(ex.getCause() instanceof RuntimeException) throw (RuntimeException)ex.getCause();
+					throw ex;
+				}finally{
+					fill();
+				}
+			}
+		};
+	}
+
+	static <T> RootResult<T> construct(Among root, Constructor<Among, T> constructor){
+		ReportBuffer reports = new ReportBuffer();
+		return new RootResult<>(root, constructor.construct(root, reports), reports);
+	}
+}
@@ -0,0 +1,135 @@
+package among.construct.batch;
+
+import among.AmongEngine;
+import among.CompileResult;
+import among.Source;
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.obj.Among;
+import among.report.ReportType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loader of a directory tree of {@code .among} files. Each file is read, compiled and constructed as one task on the
+ * executor, so files are loaded in parallel.<br>
+ * Files are memory mapped and decoded directly from the mapping, skipping the intermediate copy made by reading
+ * through a stream. Each thread compiles with its own engine, obtained from the engine factory on first use. Reports
+ * made while compiling a file are included in the reports of the file.<br>
+ * The constructor is expected to be safe to call from multiple threads at once.
+ *
+ * @param <T> Type of the resulting objects
+ */
+public final class DirectoryLoader<T>{
+	/**
+	 * Make a directory loader.
+	 *
+	 * @param constructor Constructor for each root value of the files
+	 * @param consumer    Builder consumer
+	 * @param <T>         Type of the resulting objects
+	 * @return Newly created directory loader
+	 */
+	public static <T> DirectoryLoader<T> make(Constructor<Among, T> constructor, Consumer<DirectoryLoaderBuilder<T>> consumer){
+		DirectoryLoaderBuilder<T> b = new DirectoryLoaderBuilder<>(constructor);
+		consumer.accept(b);
+		return b.build();
+	}
+
+	private static final String EXTENSION = ".among";
+
+	private final Constructor<Among, T> constructor;
+	private final Executor executor;
+	private final ThreadLocal<AmongEngine> engine;
+
+	DirectoryLoader(Constructor<Among, T> constructor, Executor executor, Supplier<AmongEngine> engineFactory){
+		this.constructor = Objects.requireNonNull(constructor);
+		this.executor = Objects.requireNonNull(executor);
+		this.engine = ThreadLocal.withInitial(Objects.requireNonNull(engineFactory));
+	}
+
+	/**
+	 * Load every {@code .among} file in the directory and its subdirectories, and wait for them to complete.
+	 *
+	 * @param directory The directory
+	 * @return Result of the files
+	 * @throws IOException If an I/O error occurs while traversing the directory; errors reading each file are
+	 *                     reported in the result instead
+	 */
+	public DirectoryResult<T> load(Path directory) throws IOException{
+		List<Path> files;
+		try(Stream<Path> stream = Files.walk(directory)){
+			files = stream.filter(p -> p.getFileName().toString().endsWith(EXTENSION)&&Files.isRegularFile(p))
+					.sorted()
+					.collect(Collectors.toList());
+		}
+		List<CompletableFuture<DirectoryResult.File<T>>> futures = new ArrayList<>(files.size());
+		for(Path file : files) futures.add(CompletableFuture.supplyAsync(() -> loadFile(file), executor));
+		List<DirectoryResult.File<T>> results = new ArrayList<>(futures.size());
+		for(CompletableFuture<DirectoryResult.File<T>> f : futures){
+			try{
+				results.add(f.join());
+			}catch(CompletionException ex){
+				throw new IllegalStateException("Unexpected error during loading", ex.getCause());
+			}
+		}
+		return new DirectoryResult<>(results);
+	}
+
+	private DirectoryResult.File<T> loadFile(Path file){
+		ReportBuffer reports = new ReportBuffer();
+		Source source;
+		try{
+			source = Source.of(read(file).toString());
+		}catch(CharacterCodingException ex){
+			reports.report(ReportType.ERROR, "File is not valid UTF-8", -1, ex);
+			return new DirectoryResult.File<>(file, null, null, reports);
+		}catch(IOException ex){
+			reports.report(ReportType.ERROR, "Cannot read file", -1, ex);
+			return new DirectoryResult.File<>(file, null, null, reports);
+		}
+		CompileResult result = engine.get().read(source, null, null);
+		CompileReports.copy(result, reports);
+		if(!result.isSuccess()){
+			reports.reportError("Failed to compile file");
+			return new DirectoryResult.File<>(file, source, null, reports);
+		}
+		List<Among> roots = result.root().values();
+		List<T> values = new ArrayList<>(roots.size());
+		for(Among root : roots){
+			try{
+				values.add(constructor.construct(root, reports));
+			}catch(RuntimeException ex){
+				reports.reportError("Cannot construct object due to an unexpected exception", root.sourcePosition());
+				return new DirectoryResult.File<>(file, source, new DocumentResult<>(values, reports, false, ex), reports);
+			}
+		}
+		return new DirectoryResult.File<>(file, source, new DocumentResult<>(values, reports, false, null), reports);
+	}
+
+	private static CharBuffer read(Path file) throws IOException{
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+			long size = channel.size();
+			if(size>Integer.MAX_VALUE) throw new IOException("File too large");
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			return StandardCharsets.UTF_8.newDecoder().decode(buffer);
+		}
+	}
+}
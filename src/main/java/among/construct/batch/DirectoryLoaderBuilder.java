@@ -0,0 +1,41 @@
+package among.construct.batch;
+
+import among.AmongEngine;
+import among.construct.Constructor;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public final class DirectoryLoaderBuilder<T>{
+	private final Constructor<Among, T> constructor;
+	@Nullable private Executor executor;
+	private Supplier<AmongEngine> engineFactory = AmongEngine::new;
+
+	public DirectoryLoaderBuilder(Constructor<Among, T> constructor){
+		this.constructor = Objects.requireNonNull(constructor);
+	}
+
+	/**
+	 * Set the executor to load files on. Defaults to {@link ForkJoinPool#commonPool()}.
+	 */
+	public DirectoryLoaderBuilder<T> executor(Executor executor){
+		this.executor = Objects.requireNonNull(executor);
+		return this;
+	}
+
+	/**
+	 * Set the factory of engines used to compile the files. One engine is created for each thread loading the files.
+	 */
+	public DirectoryLoaderBuilder<T> engineFactory(Supplier<AmongEngine> engineFactory){
+		this.engineFactory = Objects.requireNonNull(engineFactory);
+		return this;
+	}
+
+	public DirectoryLoader<T> build(){
+		return new DirectoryLoader<>(constructor, executor!=null ? executor : ForkJoinPool.commonPool(), engineFactory);
+	}
+}
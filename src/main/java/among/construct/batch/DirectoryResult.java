@@ -0,0 +1,172 @@
+package among.construct.batch;
+
+import among.Source;
+import among.construct.ReportBuffer;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of loading a directory with {@link DirectoryLoader}.
+ *
+ * @param <T> Type of the resulting objects
+ */
+public final class DirectoryResult<T>{
+	private final Map<Path, File<T>> files;
+	private final Map<Path, DocumentResult<T>> results;
+	private final List<Report> reports;
+	private final boolean success;
+
+	DirectoryResult(List<File<T>> files){
+		Map<Path, File<T>> fileMap = new LinkedHashMap<>();
+		Map<Path, DocumentResult<T>> results = new LinkedHashMap<>();
+		List<Report> reports = new ArrayList<>();
+		boolean success = true;
+		for(File<T> f : files){
+			fileMap.put(f.path, f);
+			if(f.result!=null) results.put(f.path, f.result);
+			for(ReportBuffer.Entry e : f.reports.entries()) reports.add(new Report(f.path, f.source, e));
+			if(!f.isSuccess()) success = false;
+		}
+		this.files = Collections.unmodifiableMap(fileMap);
+		this.results = Collections.unmodifiableMap(results);
+		this.reports = Collections.unmodifiableList(reports);
+		this.success = success;
+	}
+
+	/**
+	 * @return Unmodifiable map of every file loaded, in path order
+	 */
+	public Map<Path, File<T>> files(){
+		return files;
+	}
+	/**
+	 * Results of each file compiled successfully, in path order. Files failed to read or compile are missing.
+	 *
+	 * @return Unmodifiable map of results
+	 */
+	public Map<Path, DocumentResult<T>> results(){
+		return results;
+	}
+	/**
+	 * @return Unmodifiable list of reports of every file, in path order
+	 */
+	public List<Report> reports(){
+		return reports;
+	}
+	/**
+	 * @return Whether every file was read, compiled and constructed successfully
+	 */
+	public boolean isSuccess(){
+		return success;
+	}
+
+	/**
+	 * Print reports of every file, with source of each file attached.
+	 */
+	public void printReports(){
+		for(File<T> f : files.values()){
+			if(f.reports.isEmpty()) continue;
+			System.out.println(f.path+":");
+			f.reports.replay(f.source!=null ? ReportHandler.simple(f.source) : ReportHandler.simple());
+		}
+	}
+
+	@Override public String toString(){
+		return "DirectoryResult{"+
+				"files="+files.size()+
+				", reports="+reports.size()+
+				", success="+success+
+				'}';
+	}
+
+	/**
+	 * Result of loading one file.
+	 *
+	 * @param <T> Type of the resulting objects
+	 */
+	public static final class File<T>{
+		private final Path path;
+		@Nullable private final Source source;
+		@Nullable private final DocumentResult<T> result;
+		private final ReportBuffer reports;
+
+		File(Path path, @Nullable Source source, @Nullable DocumentResult<T> result, ReportBuffer reports){
+			this.path = path;
+			this.source = source;
+			this.result = result;
+			this.reports = reports;
+		}
+
+		public Path path(){
+			return path;
+		}
+		/**
+		 * @return Source of the file, or {@code null} if the file failed to read
+		 */
+		@Nullable public Source source(){
+			return source;
+		}
+		/**
+		 * @return Result of the construction, or {@code null} if the file failed to read or compile
+		 */
+		@Nullable public DocumentResult<T> result(){
+			return result;
+		}
+		/**
+		 * @return Reports produced while loading the file
+		 */
+		public ReportBuffer reports(){
+			return reports;
+		}
+		/**
+		 * @return Whether the file was read, compiled and constructed successfully
+		 */
+		public boolean isSuccess(){
+			return result!=null&&result.isSuccess();
+		}
+
+		@Override public String toString(){
+			return "File{"+
+					"path="+path+
+					", result="+result+
+					", reports="+reports.size()+
+					'}';
+		}
+	}
+
+	/**
+	 * A single report, attributed to the file it was reported from.
+	 */
+	public static final class Report{
+		private final Path path;
+		@Nullable private final Source source;
+		private final ReportBuffer.Entry entry;
+
+		Report(Path path, @Nullable Source source, ReportBuffer.Entry entry){
+			this.path = path;
+			this.source = source;
+			this.entry = entry;
+		}
+
+		public Path path(){
+			return path;
+		}
+		@Nullable public Source source(){
+			return source;
+		}
+		public ReportBuffer.Entry entry(){
+			return entry;
+		}
+
+		@Override public String toString(){
+			return path+": "+entry;
+		}
+	}
+}
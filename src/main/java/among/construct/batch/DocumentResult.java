@@ -0,0 +1,72 @@
+package among.construct.batch;
+
+import among.construct.ReportBuffer;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of constructing one document with {@link ConstructService}.
+ *
+ * @param <T> Type of the resulting objects
+ */
+public final class DocumentResult<T>{
+	private final List<T> values;
+	private final ReportBuffer reports;
+	private final boolean timedOut;
+	@Nullable private final Throwable exception;
+	private final boolean success;
+
+	DocumentResult(List<T> values, ReportBuffer reports, boolean timedOut, @Nullable Throwable exception){
+		this.values = Collections.unmodifiableList(values);
+		this.reports = reports;
+		this.timedOut = timedOut;
+		this.exception = exception;
+		this.success = !timedOut&&exception==null&&!values.contains(null);
+	}
+
+	/**
+	 * Constructed objects of each root value, in declaration order. Objects failed to construct are represented as
+	 * {@code null}. If construction was stopped due to timeout or an exception, objects after the last constructed
+	 * one are missing.
+	 *
+	 * @return Unmodifiable list of constructed objects
+	 */
+	public List<T> values(){
+		return values;
+	}
+	/**
+	 * @return Reports produced while constructing this document
+	 */
+	public ReportBuffer reports(){
+		return reports;
+	}
+	/**
+	 * @return Whether the construction was stopped because the deadline has passed
+	 */
+	public boolean timedOut(){
+		return timedOut;
+	}
+	/**
+	 * @return Exception thrown by the constructor, if any
+	 */
+	@Nullable public Throwable exception(){
+		return exception;
+	}
+	/**
+	 * @return Whether every root value was constructed successfully
+	 */
+	public boolean isSuccess(){
+		return success;
+	}
+
+	@Override public String toString(){
+		return "DocumentResult{"+
+				"values="+values+
+				", reports="+reports.size()+
+				", timedOut="+timedOut+
+				", exception="+exception+
+				'}';
+	}
+}
@@ -0,0 +1,220 @@
+package among.construct.batch;
+
+import among.AmongEngine;
+import among.CompileResult;
+import among.Source;
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.obj.Among;
+import among.report.ReportType;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Loader of a directory of {@code .among} files, reloading the files as they change.<br>
+ * Every file in the directory is loaded on creation. Afterwards, the directory is watched on a background thread;
+ * changes are collected until no change is made during the debounce period, and only the files changed are parsed and
+ * constructed again. The results are published as a new immutable map, so readers of {@link HotReloader#value()}
+ * never see partially reloaded state.<br>
+ * If a file fails to compile or construct, or reports any error during construction, its previous result is kept; the
+ * reports of the compilation and the construction are passed to the report listener either way. Deleted files are
+ * removed from the result.<br>
+ * Exceptions thrown by the report listener are passed to the uncaught exception handler of the current thread, and do
+ * not stop the reloader.<br>
+ * Subdirectories are not watched.
+ *
+ * @param <T> Type of the resulting objects
+ */
+public final class HotReloader<T> implements AutoCloseable{
+	/**
+	 * Make a hot reloader, and load every file in the directory.
+	 *
+	 * @param directory   Directory to watch
+	 * @param constructor Constructor for each root value of the files
+	 * @param consumer    Builder consumer
+	 * @param <T>         Type of the resulting objects
+	 * @return Newly created hot reloader
+	 * @throws IOException If an I/O error occurs while registering the directory
+	 */
+	public static <T> HotReloader<T> make(Path directory, Constructor<Among, T> constructor, Consumer<HotReloaderBuilder<T>> consumer) throws IOException{
+		HotReloaderBuilder<T> b = new HotReloaderBuilder<>(directory, constructor);
+		consumer.accept(b);
+		return b.build();
+	}
+
+	private static final String EXTENSION = ".among";
+
+	private final Path directory;
+	private final Constructor<Among, T> constructor;
+	private final AmongEngine engine;
+	private final long debounceNanos;
+	@Nullable private final BiConsumer<Path, ReportBuffer> reportListener;
+
+	private final WatchService watchService;
+	private final AtomicReference<Map<Path, List<T>>> value = new AtomicReference<>(Collections.emptyMap());
+
+	HotReloader(Path directory, Constructor<Among, T> constructor, AmongEngine engine, long debounceNanos, @Nullable BiConsumer<Path, ReportBuffer> reportListener) throws IOException{
+		this.directory = Objects.requireNonNull(directory);
+		this.constructor = Objects.requireNonNull(constructor);
+		this.engine = Objects.requireNonNull(engine);
+		this.debounceNanos = debounceNanos;
+		this.reportListener = reportListener;
+
+		this.watchService = directory.getFileSystem().newWatchService();
+		try{
+			directory.register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY,
+					StandardWatchEventKinds.ENTRY_DELETE);
+			// register before listing, so that no change made in between is missed
+			Set<Path> files = new LinkedHashSet<>();
+			try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*"+EXTENSION)){
+				for(Path p : stream) files.add(p);
+			}
+			reload(files);
+		}catch(IOException|RuntimeException ex){
+			watchService.close();
+			throw ex;
+		}
+		Thread thread = new Thread(this::run, "Among Hot Reload");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @return Latest results of each file, keyed by path of the file; objects failed to construct are represented as
+	 * {@code null}
+	 */
+	public Map<Path, List<T>> value(){
+		return value.get();
+	}
+	/**
+	 * @param file Path of the file
+	 * @return Latest results of the file, or {@code null} if the file is not loaded
+	 */
+	@Nullable public List<T> value(Path file){
+		return value.get().get(file);
+	}
+
+	/**
+	 * Stop watching the directory. Last published results stay available.
+	 */
+	@Override public void close() throws IOException{
+		watchService.close();
+	}
+
+	private void run(){
+		try{
+			while(true){
+				Set<Path> changed = new LinkedHashSet<>();
+				boolean overflow = collect(watchService.take(), changed);
+				// debounce; wait until no further change arrives within the period
+				for(WatchKey key; (key = watchService.poll(debounceNanos, TimeUnit.NANOSECONDS))!=null; )
+					overflow |= collect(key, changed);
+				if(overflow){
+					value.get().keySet().forEach(changed::add);
+					try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*"+EXTENSION)){
+						for(Path p : stream) changed.add(p);
+					}catch(IOException ex){
+						report(directory, "Cannot list directory", ex);
+					}
+				}
+				if(!changed.isEmpty()) reload(changed);
+			}
+		}catch(ClosedWatchServiceException|InterruptedException ignored){}
+	}
+
+	/**
+	 * @return Whether any event was lost
+	 */
+	private boolean collect(WatchKey key, Set<Path> changed){
+		boolean overflow = false;
+		for(WatchEvent<?> e : key.pollEvents()){
+			if(e.kind()==StandardWatchEventKinds.OVERFLOW) overflow = true;
+			else{
+				Path p = directory.resolve((Path)e.context());
+				if(p.getFileName().toString().endsWith(EXTENSION)) changed.add(p);
+			}
+		}
+		key.reset();
+		return overflow;
+	}
+
+	private void reload(Set<Path> files){
+		Map<Path, List<T>> previous = value.get();
+		Map<Path, List<T>> next = new HashMap<>(previous);
+		for(Path file : files){
+			ReportBuffer reports = new ReportBuffer();
+			List<T> result;
+			try{
+				result = load(file, reports);
+			}catch(NoSuchFileException ex){
+				next.remove(file);
+				continue;
+			}catch(IOException|RuntimeException ex){
+				reports.report(ReportType.ERROR, "Cannot load file due to an unexpected exception", -1, ex);
+				result = null;
+			}
+			if(result!=null&&!reports.hasError()) next.put(file, result);
+			if(!reports.isEmpty()) notifyListener(file, reports);
+		}
+		value.set(Collections.unmodifiableMap(next));
+	}
+
+	@Nullable private List<T> load(Path file, ReportBuffer reports) throws IOException{
+		Source source;
+		try(Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)){
+			source = Source.read(reader);
+		}
+		CompileResult result = engine.read(source, null, null);
+		CompileReports.copy(result, reports);
+		if(!result.isSuccess()){
+			reports.reportError("Failed to compile file");
+			return null;
+		}
+		List<Among> roots = result.root().values();
+		List<T> values = new ArrayList<>(roots.size());
+		for(Among root : roots) values.add(constructor.construct(root, reports));
+		return Collections.unmodifiableList(values);
+	}
+
+	private void report(Path file, String message, Throwable ex){
+		ReportBuffer reports = new ReportBuffer();
+		reports.report(ReportType.ERROR, message, -1, ex);
+		notifyListener(file, reports);
+	}
+
+	private void notifyListener(Path file, ReportBuffer reports){
+		if(reportListener==null) return;
+		try{
+			reportListener.accept(file, reports);
+		}catch(RuntimeException ex){
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, ex);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package among.construct.batch;
+
+import among.AmongEngine;
+import among.construct.Constructor;
+import among.construct.ReportBuffer;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+public final class HotReloaderBuilder<T>{
+	private final Path directory;
+	private final Constructor<Among, T> constructor;
+	@Nullable private AmongEngine engine;
+	private long debounceNanos = TimeUnit.MILLISECONDS.toNanos(100);
+	@Nullable private BiConsumer<Path, ReportBuffer> reportListener;
+
+	public HotReloaderBuilder(Path directory, Constructor<Among, T> constructor){
+		this.directory = Objects.requireNonNull(directory);
+		this.constructor = Objects.requireNonNull(constructor);
+	}
+
+	/**
+	 * Set the engine used to compile the files. The engine is only accessed from one thread at a time.
+	 */
+	public HotReloaderBuilder<T> engine(AmongEngine engine){
+		this.engine = Objects.requireNonNull(engine);
+		return this;
+	}
+
+	/**
+	 * Set the period without any change to wait for before reloading. Defaults to 100 milliseconds.
+	 */
+	public HotReloaderBuilder<T> debounce(long time, TimeUnit unit){
+		if(time<0) throw new IllegalArgumentException("time < 0");
+		this.debounceNanos = unit.toNanos(time);
+		return this;
+	}
+
+	/**
+	 * Set the listener receiving reports of each file loaded, including the reports made while compiling the file. The
+	 * listener is called on the thread loading the file, and only if any report was made. Exceptions thrown by the
+	 * listener are passed to the uncaught exception handler of the thread.
+	 */
+	public HotReloaderBuilder<T> reportListener(BiConsumer<Path, ReportBuffer> reportListener){
+		this.reportListener = Objects.requireNonNull(reportListener);
+		return this;
+	}
+
+	public HotReloader<T> build() throws IOException{
+		return new HotReloader<>(directory, constructor, engine!=null ? engine : new AmongEngine(), debounceNanos, reportListener);
+	}
+}
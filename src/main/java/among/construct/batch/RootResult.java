@@ -0,0 +1,54 @@
+package among.construct.batch;
+
+import among.construct.ReportBuffer;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Result of constructing one root value with {@link ConstructStream}.
+ *
+ * @param <T> Type of the resulting object
+ */
+public final class RootResult<T>{
+	private final Among root;
+	@Nullable private final T value;
+	private final ReportBuffer reports;
+
+	RootResult(Among root, @Nullable T value, ReportBuffer reports){
+		this.root = root;
+		this.value = value;
+		this.reports = reports;
+	}
+
+	/**
+	 * @return The root value used as parameter
+	 */
+	public Among root(){
+		return root;
+	}
+	/**
+	 * @return Constructed object, or {@code null} if it failed
+	 */
+	@Nullable public T value(){
+		return value;
+	}
+	/**
+	 * @return Reports produced while constructing the object
+	 */
+	public ReportBuffer reports(){
+		return reports;
+	}
+	/**
+	 * @return Whether the object was constructed successfully
+	 */
+	public boolean isSuccess(){
+		return value!=null;
+	}
+
+	@Override public String toString(){
+		return "RootResult{"+
+				"value="+value+
+				", reports="+reports.size()+
+				'}';
+	}
+}
@@ -0,0 +1,21 @@
+package among.construct.batch;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads. Virtual threads are not available on this version of Java; the class is replaced with a
+ * working implementation for Java 21 or above, via multi-release jar.
+ */
+final class VirtualThreads{
+	private VirtualThreads(){}
+
+	/**
+	 * @return Executor starting a new virtual thread for each task, or {@code null} if virtual threads are not
+	 * supported
+	 */
+	@Nullable static ExecutorService newExecutor(){
+		return null;
+	}
+}
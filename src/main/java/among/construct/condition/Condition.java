@@ -1,5 +1,6 @@
 package among.construct.condition;
 
+import among.construct.Constructor;
 import among.obj.Among;
 import among.report.ReportHandler;
 import org.jetbrains.annotations.Nullable;
@@ -24,6 +25,33 @@ public abstract class Condition<A extends Among> implements Predicate<A>{
 
 	public abstract boolean test(A instance, @Nullable ReportHandler reportHandler);
 
+	/**
+	 * Compile the dispatch of {@link among.construct.ConditionedConstructor} into a class specialized for it. Checks of
+	 * every condition and calls to every constructor are compiled into one method, so each constructor is called from
+	 * its own call site. Compilation is only available on Java 21 or above, and only if every condition is compiled and
+	 * its compiled check alone decides the condition, that is, without type check of all elements or properties; see
+	 * {@link ConditionBuilder#compile()}.
+	 *
+	 * @param conditions   Conditions, in declaration order
+	 * @param constructors Constructors paired with each condition
+	 * @param firstMatch   If {@code true}, first matching condition is chosen; otherwise only one condition is
+	 *                     expected to match
+	 * @param fallback     Constructor to call if the compiled checks can't choose a constructor without reports; that
+	 *                     is, if no condition matches, multiple conditions match while {@code firstMatch} is {@code
+	 *                     false}, or the only condition fails or may report warnings to the report handler
+	 * @param <A>          Type of Among value parameter
+	 * @param <T>          Type of the resulting object
+	 * @return Compiled constructor, or {@code null} if compilation is not available
+	 */
+	@Nullable public static <A extends Among, T> Constructor<A, T> compileDispatch(Condition<A>[] conditions, Constructor<A, T>[] constructors, boolean firstMatch, Constructor<A, T> fallback){
+		if(conditions.length!=constructors.length) throw new IllegalArgumentException("conditions.length != constructors.length");
+		for(Condition<A> c : conditions){
+			if(c instanceof ListCondition ? !((ListCondition)c).isDecidedByCompiledCheck() :
+					!(c instanceof ObjectCondition)||!((ObjectCondition)c).isDecidedByCompiledCheck()) return null;
+		}
+		return ConditionCompiler.compileDispatch(conditions, constructors, firstMatch, fallback);
+	}
+
 	protected boolean checkSize(A instance, int size, @Nullable ReportHandler reportHandler){
 		boolean inRange = isInRange(minSize, maxSize, size);
 		if(reportHandler!=null&&!inRange)
@@ -5,6 +5,7 @@ import among.obj.Among;
 public abstract class ConditionBuilder<A extends Among, C extends Condition<A>, SELF extends ConditionBuilder<A, C, SELF>>{
 	protected int minSize = -1;
 	protected int maxSize = -1;
+	protected boolean compile;
 
 	ConditionBuilder(){}
 
@@ -32,6 +33,20 @@ public abstract class ConditionBuilder<A extends Among, C extends Condition<A>,
 		return self();
 	}
 
+	/**
+	 * Compile the condition into a class specialized for its checks, instead of interpreting its tables on each test.
+	 * Compilation is only available on Java 21 or above; the condition is interpreted if it's not available. Results
+	 * and reports are identical either way.<br>
+	 * If every condition of a {@link among.construct.ConditionedConstructor} is compiled, and none of them checks type
+	 * of all elements or properties, the dispatch of the constructor is compiled as well.
+	 *
+	 * @return this
+	 */
+	public SELF compile(){
+		this.compile = true;
+		return self();
+	}
+
 	protected void validate(){
 		if(minSize>=0&&maxSize>=0&&minSize>maxSize) throw new IllegalStateException("minSize > maxSize");
 	}
@@ -0,0 +1,64 @@
+package among.construct.condition;
+
+import among.construct.Constructor;
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Predicate;
+
+/**
+ * Compilation of conditions, and dispatch of conditioned constructors, into classes specialized for each condition
+ * and constructor. Defining classes at runtime is not supported on this version of Java; the class is replaced with a
+ * working implementation for Java 21 or above, via multi-release jar. Conditions and conditioned constructors fall
+ * back to interpretation if compilation is not available.
+ */
+final class ConditionCompiler{
+	private ConditionCompiler(){}
+
+	/**
+	 * Compile the size check and the checks of expected properties of an object condition. Properties not in {@code
+	 * keys} are not checked.
+	 *
+	 * @param minSize  Minimum size, or negative value for no minimum
+	 * @param maxSize  Maximum size, or negative value for no maximum
+	 * @param keys     Keys of the expected properties
+	 * @param expected Whether each property is required
+	 * @param types    Type flags of each property
+	 * @return Compiled check without reports, or {@code null} if compilation is not available
+	 */
+	@Nullable static Predicate<AmongObject> compileObject(int minSize, int maxSize, String[] keys, boolean[] expected, byte[] types){
+		return null;
+	}
+
+	/**
+	 * Compile the size check and the checks of elements at specified indices of a list condition. Elements at other
+	 * indices are not checked.
+	 *
+	 * @param minSize Minimum size, or negative value for no minimum
+	 * @param maxSize Maximum size, or negative value for no maximum
+	 * @param indices Indices of the checked elements, in ascending order
+	 * @param types   Type flags of each element
+	 * @return Compiled check without reports, or {@code null} if compilation is not available
+	 */
+	@Nullable static Predicate<AmongList> compileList(int minSize, int maxSize, int[] indices, byte[] types){
+		return null;
+	}
+
+	/**
+	 * Compile checks of the conditions and calls to the constructors into one constructor. Every condition is expected
+	 * to be compiled, and decided by its compiled check alone.
+	 *
+	 * @param conditions   Conditions, in declaration order
+	 * @param constructors Constructors paired with each condition
+	 * @param firstMatch   If {@code true}, first matching condition is chosen; otherwise only one condition is
+	 *                     expected to match
+	 * @param fallback     Constructor to call if the compiled checks don't choose a constructor
+	 * @return Compiled constructor, or {@code null} if compilation is not available
+	 * @see Condition#compileDispatch(Condition[], Constructor[], boolean, Constructor)
+	 */
+	@Nullable static <A extends Among, T> Constructor<A, T> compileDispatch(Condition<A>[] conditions, Constructor<A, T>[] constructors, boolean firstMatch, Constructor<A, T> fallback){
+		return null;
+	}
+}
@@ -6,7 +6,9 @@ import among.report.ReportHandler;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.IntFunction;
+import java.util.function.Predicate;
 
 public final class ListCondition extends Condition<AmongList>{
 	@Nullable private final Map<Integer, Byte> elementIndexToType;
@@ -15,6 +17,13 @@ public final class ListCondition extends Condition<AmongList>{
 	private final int warnMaxSize;
 	@Nullable private final IntFunction<String> sizeWarningText;
 
+	/**
+	 * Flattened form of {@code elementIndexToType}, sorted by index.
+	 */
+	final int[] indices;
+	final byte[] indexTypes;
+	@Nullable private final Predicate<AmongList> compiled;
+
 	public ListCondition(
 			int minSize,
 			int maxSize,
@@ -23,45 +32,111 @@ public final class ListCondition extends Condition<AmongList>{
 			@Nullable IntFunction<String> sizeWarningText,
 			@Nullable Map<Integer, Byte> elementIndexToType,
 			byte allElementType){
+		this(minSize, maxSize, warnMinSize, warnMaxSize, sizeWarningText, elementIndexToType, allElementType, false);
+	}
+	ListCondition(
+			int minSize,
+			int maxSize,
+			int warnMinSize,
+			int warnMaxSize,
+			@Nullable IntFunction<String> sizeWarningText,
+			@Nullable Map<Integer, Byte> elementIndexToType,
+			byte allElementType,
+			boolean compile){
 		super(minSize, maxSize);
 		this.elementIndexToType = elementIndexToType;
 		this.allElementType = allElementType;
 		this.warnMinSize = warnMinSize;
 		this.warnMaxSize = warnMaxSize;
 		this.sizeWarningText = sizeWarningText;
+		TreeMap<Integer, Byte> sorted = new TreeMap<>();
+		if(elementIndexToType!=null)
+			for(Map.Entry<Integer, Byte> e : elementIndexToType.entrySet())
+				if(e.getKey()>=0) sorted.put(e.getKey(), e.getValue());
+		this.indices = new int[sorted.size()];
+		this.indexTypes = new byte[sorted.size()];
+		int i = 0;
+		for(Map.Entry<Integer, Byte> e : sorted.entrySet()){
+			indices[i] = e.getKey();
+			indexTypes[i++] = e.getValue();
+		}
+		this.compiled = compile ? ConditionCompiler.compileList(minSize, maxSize, indices, indexTypes) : null;
+	}
+
+	/**
+	 * @return Whether the condition is compiled into a class specialized for it
+	 * @see ListConditionBuilder#compile()
+	 */
+	public boolean isCompiled(){
+		return compiled!=null;
+	}
+	/**
+	 * @return Whether the condition is compiled, and the compiled check alone decides the condition
+	 */
+	boolean isDecidedByCompiledCheck(){
+		return compiled!=null&&allElementType==TypeFlags.ANY;
+	}
+	/**
+	 * @return Whether successful checks may report warnings
+	 */
+	boolean reportsOnSuccess(){
+		return warnMinSize>=0||warnMaxSize>=0;
 	}
 
 	@Override public boolean test(AmongList list){
-		if(!checkSize(list, list.size(), null)) return false;
-		for(int i = 0; i<list.size(); i++){
-			byte type;
-			if(elementIndexToType!=null&&elementIndexToType.containsKey(i)) type = elementIndexToType.get(i);
-			else if(allElementType!=TypeFlags.ANY) type = allElementType;
-			else continue;
-			if(!TypeFlags.matches(type, list.get(i))) return false;
-		}
-		return true;
+		if(compiled!=null) return compiled.test(list)&&(allElementType==TypeFlags.ANY||checkElements(list, null));
+		return checkSize(list, list.size(), null)&&checkElements(list, null);
 	}
 
 	@Override public boolean test(AmongList list, @Nullable ReportHandler reportHandler){
 		if(reportHandler==null) return test(list);
+		// successful checks only report size warnings
+		if(compiled!=null&&warnMinSize<0&&warnMaxSize<0&&test(list)) return true;
 		if(!checkSize(list, list.size(), reportHandler)) return false;
+		return checkElements(list, reportHandler);
+	}
+
+	/**
+	 * Check type of each element. If {@code reportHandler} is {@code null}, the check stops at the first invalid
+	 * element. If the condition is compiled and {@code reportHandler} is {@code null}, only elements without explicit
+	 * type check are checked.
+	 */
+	private boolean checkElements(AmongList list, @Nullable ReportHandler reportHandler){
+		int size = list.size();
 		boolean invalid = false;
-		for(int i = 0; i<list.size(); i++){
-			byte type;
-			if(elementIndexToType!=null&&elementIndexToType.containsKey(i)) type = elementIndexToType.get(i);
-			else if(allElementType!=TypeFlags.ANY) type = allElementType;
-			else continue;
-			if(!TypeFlags.matches(type, list.get(i))){
-				invalid = true;
-				reportHandler.reportError("Expected "+TypeFlags.toString(type)+" at "+i+
-								", provided "+TypeFlags.from(list.get(i)),
-						list.get(i).sourcePosition());
+		if(allElementType==TypeFlags.ANY){
+			for(int k = 0; k<indices.length&&indices[k]<size; k++){
+				if(!checkElement(list, indices[k], indexTypes[k], reportHandler)){
+					if(reportHandler==null) return false;
+					invalid = true;
+				}
+			}
+		}else{
+			boolean skipIndexed = compiled!=null&&reportHandler==null;
+			for(int i = 0, next = 0; i<size; i++){
+				byte type;
+				if(next<indices.length&&indices[next]==i){
+					type = indexTypes[next++];
+					if(skipIndexed) continue;
+				}else type = allElementType;
+				if(!checkElement(list, i, type, reportHandler)){
+					if(reportHandler==null) return false;
+					invalid = true;
+				}
 			}
 		}
 		return !invalid;
 	}
 
+	private static boolean checkElement(AmongList list, int index, byte type, @Nullable ReportHandler reportHandler){
+		if(type==TypeFlags.ANY||TypeFlags.matches(type, list.get(index))) return true;
+		if(reportHandler!=null)
+			reportHandler.reportError("Expected "+TypeFlags.toString(type)+" at "+index+
+							", provided "+TypeFlags.from(list.get(index)),
+					list.get(index).sourcePosition());
+		return false;
+	}
+
 	@Override protected boolean checkSize(AmongList instance, int size, @Nullable ReportHandler reportHandler){
 		boolean inRange = super.checkSize(instance, size, reportHandler);
 		if(reportHandler!=null&&inRange&&!isInRange(warnMinSize, warnMaxSize, size))
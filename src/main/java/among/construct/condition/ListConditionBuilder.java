@@ -96,6 +96,7 @@ public final class ListConditionBuilder extends ConditionBuilder<AmongList, List
 				warnMaxSize,
 				sizeWarningText,
 				elementIndexToType,
-				allElementType);
+				allElementType,
+				compile);
 	}
 }
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 public final class ObjectCondition extends Condition<AmongObject>{
 	@Nullable private final Map<String, PropertyCheck> expectedPropertyToType;
@@ -17,6 +18,13 @@ public final class ObjectCondition extends Condition<AmongObject>{
 	private final boolean warnOtherProperties;
 	@Nullable private final Function<String[], String> propertiesToWarningText;
 
+	/**
+	 * Flattened form of {@code expectedPropertyToType}, in its iteration order.
+	 */
+	final String[] expectedKeys;
+	final PropertyCheck[] expectedChecks;
+	@Nullable private final Predicate<AmongObject> compiled;
+
 	public ObjectCondition(
 			int minSize,
 			int maxSize,
@@ -24,22 +32,74 @@ public final class ObjectCondition extends Condition<AmongObject>{
 			byte allPropertyType,
 			boolean warnOtherProperties,
 			@Nullable Function<String[], String> propertiesToWarningText){
+		this(minSize, maxSize, expectedPropertyToType, allPropertyType, warnOtherProperties, propertiesToWarningText, false);
+	}
+	ObjectCondition(
+			int minSize,
+			int maxSize,
+			@Nullable Map<String, PropertyCheck> expectedPropertyToType,
+			byte allPropertyType,
+			boolean warnOtherProperties,
+			@Nullable Function<String[], String> propertiesToWarningText,
+			boolean compile){
 		super(minSize, maxSize);
 		this.expectedPropertyToType = expectedPropertyToType;
 		this.allPropertyType = allPropertyType;
 		this.warnOtherProperties = warnOtherProperties;
 		this.propertiesToWarningText = propertiesToWarningText;
+		int size = expectedPropertyToType!=null ? expectedPropertyToType.size() : 0;
+		this.expectedKeys = new String[size];
+		this.expectedChecks = new PropertyCheck[size];
+		if(expectedPropertyToType!=null){
+			int i = 0;
+			for(Map.Entry<String, PropertyCheck> e : expectedPropertyToType.entrySet()){
+				expectedKeys[i] = e.getKey();
+				expectedChecks[i++] = e.getValue();
+			}
+		}
+		if(compile){
+			boolean[] expected = new boolean[size];
+			byte[] types = new byte[size];
+			for(int i = 0; i<size; i++){
+				expected[i] = expectedChecks[i].expected;
+				types[i] = expectedChecks[i].type;
+			}
+			this.compiled = ConditionCompiler.compileObject(minSize, maxSize, expectedKeys.clone(), expected, types);
+		}else this.compiled = null;
+	}
+
+	/**
+	 * @return Whether the condition is compiled into a class specialized for it
+	 * @see ObjectConditionBuilder#compile()
+	 */
+	public boolean isCompiled(){
+		return compiled!=null;
+	}
+	/**
+	 * @return Whether the condition is compiled, and the compiled check alone decides the condition
+	 */
+	boolean isDecidedByCompiledCheck(){
+		return compiled!=null&&allPropertyType==TypeFlags.ANY;
+	}
+	/**
+	 * @return Whether successful checks may report warnings
+	 */
+	boolean reportsOnSuccess(){
+		return warnOtherProperties;
 	}
 
 	@Override public boolean test(AmongObject obj){
-		if(!checkSize(obj, obj.size(), null)) return false;
-		if(expectedPropertyToType!=null){
-			for(Map.Entry<String, PropertyCheck> e : expectedPropertyToType.entrySet()){
-				Among property = obj.getProperty(e.getKey());
-				if(property==null ? e.getValue().expected : !TypeFlags.matches(e.getValue().type, property))
+		if(compiled!=null){
+			if(!compiled.test(obj)) return false;
+		}else{
+			if(!checkSize(obj, obj.size(), null)) return false;
+			for(int i = 0; i<expectedKeys.length; i++){
+				Among property = obj.getProperty(expectedKeys[i]);
+				if(property==null ? expectedChecks[i].expected : !TypeFlags.matches(expectedChecks[i].type, property))
 					return false;
 			}
 		}
+		if(allPropertyType==TypeFlags.ANY) return true;
 		for(Map.Entry<String, Among> e : obj.properties().entrySet()){
 			if((expectedPropertyToType==null||!expectedPropertyToType.containsKey(e.getKey()))&&
 					allPropertyType!=TypeFlags.ANY&&
@@ -51,24 +111,25 @@ public final class ObjectCondition extends Condition<AmongObject>{
 
 	@Override public boolean test(AmongObject obj, @Nullable ReportHandler reportHandler){
 		if(reportHandler==null) return test(obj);
+		// successful checks only report redundant properties
+		if(compiled!=null&&!warnOtherProperties&&test(obj)) return true;
 		if(!checkSize(obj, obj.size(), reportHandler)) return false;
 		boolean invalid = false;
-		if(expectedPropertyToType!=null){
-			for(Map.Entry<String, PropertyCheck> e : expectedPropertyToType.entrySet()){
-				Among property = obj.getProperty(e.getKey());
-				if(property==null){
-					if(e.getValue().expected){
-						reportHandler.reportError("Missing property '"+e.getKey()+"'", obj.sourcePosition());
-						invalid = true;
-					}
-				}else if(!TypeFlags.matches(e.getValue().type, property)){
-					reportHandler.reportError("Expected "+TypeFlags.toString(e.getValue().type)+" for property '"+e.getKey()+
-									"', provided "+TypeFlags.from(property),
-							property.sourcePosition());
+		for(int i = 0; i<expectedKeys.length; i++){
+			Among property = obj.getProperty(expectedKeys[i]);
+			if(property==null){
+				if(expectedChecks[i].expected){
+					reportHandler.reportError("Missing property '"+expectedKeys[i]+"'", obj.sourcePosition());
 					invalid = true;
 				}
+			}else if(!TypeFlags.matches(expectedChecks[i].type, property)){
+				reportHandler.reportError("Expected "+TypeFlags.toString(expectedChecks[i].type)+" for property '"+expectedKeys[i]+
+								"', provided "+TypeFlags.from(property),
+						property.sourcePosition());
+				invalid = true;
 			}
 		}
+		if(allPropertyType==TypeFlags.ANY&&!warnOtherProperties) return !invalid;
 		List<String> redundantProperties = null;
 		for(Map.Entry<String, Among> e : obj.properties().entrySet()){
 			if(expectedPropertyToType==null||!expectedPropertyToType.containsKey(e.getKey())){
@@ -83,6 +83,7 @@ public final class ObjectConditionBuilder extends ConditionBuilder<AmongObject,
 				expectedProperties,
 				allPropertyType,
 				warnOtherProperties,
-				propertiesToWarningText);
+				propertiesToWarningText,
+				compile);
 	}
 }
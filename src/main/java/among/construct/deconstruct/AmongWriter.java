@@ -0,0 +1,236 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Streaming writer of Among source. Values are written to the underlying {@link Writer} as they are supplied, without
+ * building {@link Among} objects in between. Root values are separated by line breaks; lists and objects are written
+ * in single line, for example {@code name{key: value, list: [0, 1]}}.<br>
+ * Numbers are formatted directly into the output where possible. Primitive values, keys and names consisting of
+ * characters other than letters, digits, {@code _}, {@code .}, {@code +} and {@code -} are quoted.<br>
+ * This class is not thread safe.
+ */
+public final class AmongWriter implements Flushable{
+	private static final byte ROOT = 0, LIST_EMPTY = 1, LIST = 2, OBJ_EMPTY = 3, OBJ = 4, OBJ_KEY = 5;
+	private static final long NEGATIVE_ZERO = Double.doubleToRawLongBits(-0.0);
+
+	private final Writer writer;
+	private final char[] buffer = new char[20];
+	private byte[] stack = new byte[16];
+	private int depth;
+	private boolean rootWritten;
+
+	public AmongWriter(Writer writer){
+		this.writer = Objects.requireNonNull(writer);
+	}
+
+	public AmongWriter value(String value) throws IOException{
+		beforeValue();
+		writeWord(value);
+		return this;
+	}
+	public AmongWriter value(boolean value) throws IOException{
+		beforeValue();
+		writer.write(value ? "true" : "false");
+		return this;
+	}
+	public AmongWriter value(int value) throws IOException{
+		return value((long)value);
+	}
+	public AmongWriter value(long value) throws IOException{
+		beforeValue();
+		writeLong(value);
+		return this;
+	}
+	public AmongWriter value(float value) throws IOException{
+		beforeValue();
+		if(isWholeNumber(value)) writeWholeNumber(value);
+		else writer.write(Float.toString(value));
+		return this;
+	}
+	public AmongWriter value(double value) throws IOException{
+		beforeValue();
+		if(isWholeNumber(value)) writeWholeNumber(value);
+		else writer.write(Double.toString(value));
+		return this;
+	}
+
+	/**
+	 * Write given Among value, including all of its elements and properties.
+	 *
+	 * @param value The value to write
+	 * @return this
+	 * @throws IOException If the underlying writer throws
+	 */
+	public AmongWriter value(Among value) throws IOException{
+		if(value.isPrimitive()) return value(value.asPrimitive().getValue());
+		if(value.isList()){
+			AmongList list = value.asList();
+			beginList(list.getName());
+			for(int i = 0; i<list.size(); i++) value(list.get(i));
+			return endList();
+		}
+		AmongObject obj = value.asObj();
+		beginObject(obj.getName());
+		for(Map.Entry<String, Among> e : obj.properties().entrySet())
+			key(e.getKey()).value(e.getValue());
+		return endObject();
+	}
+
+	public AmongWriter beginList() throws IOException{
+		return beginList(null);
+	}
+	public AmongWriter beginList(@Nullable String name) throws IOException{
+		beforeValue();
+		if(name!=null&&!name.isEmpty()) writeWord(name);
+		writer.write('[');
+		push(LIST_EMPTY);
+		return this;
+	}
+	public AmongWriter endList() throws IOException{
+		byte state = peek();
+		if(state!=LIST_EMPTY&&state!=LIST) throw new IllegalStateException("Not in list");
+		depth--;
+		writer.write(']');
+		return this;
+	}
+
+	public AmongWriter beginObject() throws IOException{
+		return beginObject(null);
+	}
+	public AmongWriter beginObject(@Nullable String name) throws IOException{
+		beforeValue();
+		if(name!=null&&!name.isEmpty()) writeWord(name);
+		writer.write('{');
+		push(OBJ_EMPTY);
+		return this;
+	}
+	/**
+	 * Write key of the next property. Should be followed by exactly one value.
+	 *
+	 * @param key Key of the property
+	 * @return this
+	 * @throws IOException           If the underlying writer throws
+	 * @throws IllegalStateException If the writer is not directly inside an object, or the previous key has no value
+	 */
+	public AmongWriter key(String key) throws IOException{
+		byte state = peek();
+		if(state==OBJ) writer.write(", ");
+		else if(state!=OBJ_EMPTY) throw new IllegalStateException(state==OBJ_KEY ? "Expected value" : "Not in object");
+		writeWord(key);
+		writer.write(": ");
+		stack[depth-1] = OBJ_KEY;
+		return this;
+	}
+	public AmongWriter endObject() throws IOException{
+		byte state = peek();
+		if(state!=OBJ_EMPTY&&state!=OBJ) throw new IllegalStateException(state==OBJ_KEY ? "Expected value" : "Not in object");
+		depth--;
+		writer.write('}');
+		return this;
+	}
+
+	@Override public void flush() throws IOException{
+		writer.flush();
+	}
+
+	private byte peek(){
+		return depth==0 ? ROOT : stack[depth-1];
+	}
+
+	private void push(byte state){
+		if(depth==stack.length) stack = Arrays.copyOf(stack, depth*2);
+		stack[depth++] = state;
+	}
+
+	private void beforeValue() throws IOException{
+		if(depth==0){
+			if(rootWritten) writer.write('\n');
+			else rootWritten = true;
+			return;
+		}
+		switch(stack[depth-1]){
+			case LIST: writer.write(", "); break;
+			case LIST_EMPTY: stack[depth-1] = LIST; break;
+			case OBJ_KEY: stack[depth-1] = OBJ; break;
+			default: throw new IllegalStateException("Expected key");
+		}
+	}
+
+	private void writeWord(String s) throws IOException{
+		if(isSimpleWord(s)){
+			writer.write(s);
+			return;
+		}
+		writer.write('"');
+		for(int i = 0; i<s.length(); i++){
+			char c = s.charAt(i);
+			switch(c){
+				case '"': writer.write("\\\""); break;
+				case '\\': writer.write("\\\\"); break;
+				case '\n': writer.write("\\n"); break;
+				case '\r': writer.write("\\r"); break;
+				case '\t': writer.write("\\t"); break;
+				default: writer.write(c);
+			}
+		}
+		writer.write('"');
+	}
+
+	private static boolean isSimpleWord(String s){
+		if(s.isEmpty()) return false;
+		for(int i = 0; i<s.length(); i++){
+			char c = s.charAt(i);
+			if(!(c>='a'&&c<='z'||c>='A'&&c<='Z'||c>='0'&&c<='9'||c=='_'||c=='.'||c=='+'||c=='-')) return false;
+		}
+		return true;
+	}
+
+	private void writeLong(long value) throws IOException{
+		// digits are accumulated as negative numbers to cover Long.MIN_VALUE
+		boolean negative = value<0;
+		long v = negative ? value : -value;
+		int i = buffer.length;
+		do{
+			buffer[--i] = (char)('0'-v%10);
+			v /= 10;
+		}while(v!=0);
+		if(negative) buffer[--i] = '-';
+		writer.write(buffer, i, buffer.length-i);
+	}
+
+	/**
+	 * Write whole numbers within the range of exact representation without going through {@link Double#toString()}.
+	 */
+	private void writeWholeNumber(double value) throws IOException{
+		writeLong((long)value);
+		writer.write(".0");
+	}
+
+	/**
+	 * Format given float the same way {@link AmongWriter#value(float)} writes it.
+	 */
+	static String format(float value){
+		return isWholeNumber(value) ? (long)value+".0" : Float.toString(value);
+	}
+	/**
+	 * Format given double the same way {@link AmongWriter#value(double)} writes it.
+	 */
+	static String format(double value){
+		return isWholeNumber(value) ? (long)value+".0" : Double.toString(value);
+	}
+
+	private static boolean isWholeNumber(double value){
+		return value==Math.rint(value)&&Math.abs(value)<1e15&&Double.doubleToRawLongBits(value)!=NEGATIVE_ZERO;
+	}
+}
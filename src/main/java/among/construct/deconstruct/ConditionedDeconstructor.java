@@ -0,0 +1,57 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Counterpart of {@link among.construct.ConditionedConstructor}; {@link Deconstructor} choosing one of multiple
+ * deconstructors with conditions tested against the parameter. The first deconstructor with its condition met, in
+ * declaration order, is chosen.
+ *
+ * @param <T> Type of the object to deconstruct
+ */
+public final class ConditionedDeconstructor<T> implements Deconstructor<T>{
+	/**
+	 * Make conditioned deconstructor.
+	 *
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the object to deconstruct
+	 * @return Newly created deconstructor instance
+	 */
+	public static <T> ConditionedDeconstructor<T> make(Consumer<ConditionedDeconstructorBuilder<T>> consumer){
+		ConditionedDeconstructorBuilder<T> b = new ConditionedDeconstructorBuilder<>();
+		consumer.accept(b);
+		return b.build();
+	}
+
+	private final Predicate<? super T>[] conditions;
+	private final Deconstructor<? super T>[] deconstructors;
+
+	@SuppressWarnings("unchecked") ConditionedDeconstructor(List<Predicate<? super T>> conditions, List<Deconstructor<? super T>> deconstructors){
+		this.conditions = conditions.toArray(new Predicate[0]);
+		this.deconstructors = deconstructors.toArray(new Deconstructor[0]);
+		if(this.conditions.length!=this.deconstructors.length)
+			throw new IllegalArgumentException("conditions.size() != deconstructors.size()");
+		if(this.conditions.length==0)
+			throw new IllegalArgumentException("No conditions");
+	}
+
+	@Override public Among deconstruct(T instance){
+		return select(instance).deconstruct(instance);
+	}
+	@Override public void write(T instance, AmongWriter writer) throws IOException{
+		select(instance).write(instance, writer);
+	}
+
+	private Deconstructor<? super T> select(T instance){
+		Objects.requireNonNull(instance);
+		for(int i = 0; i<conditions.length; i++)
+			if(conditions[i].test(instance)) return deconstructors[i];
+		throw new IllegalArgumentException("None of the defined deconstructor rules match the parameter");
+	}
+}
@@ -0,0 +1,52 @@
+package among.construct.deconstruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Builder for {@link ConditionedDeconstructor}.
+ *
+ * @param <T> Type of the object to deconstruct
+ * @see ConditionedDeconstructor#make(java.util.function.Consumer)
+ */
+public final class ConditionedDeconstructorBuilder<T>{
+	private final List<Predicate<? super T>> conditions = new ArrayList<>();
+	private final List<Deconstructor<? super T>> deconstructors = new ArrayList<>();
+
+	/**
+	 * Add deconstructor applied to parameters matching {@code condition}, and not matched by the conditions declared
+	 * before.
+	 *
+	 * @param condition     Condition tested against the parameter
+	 * @param deconstructor Deconstructor applied if the condition is met
+	 * @return this
+	 * @throws NullPointerException If either {@code condition == null} or {@code deconstructor == null}
+	 */
+	public ConditionedDeconstructorBuilder<T> add(Predicate<? super T> condition, Deconstructor<? super T> deconstructor){
+		conditions.add(Objects.requireNonNull(condition));
+		deconstructors.add(Objects.requireNonNull(deconstructor));
+		return this;
+	}
+
+	/**
+	 * Add deconstructor applied to every parameter not matched by the conditions declared before.
+	 *
+	 * @param deconstructor Deconstructor applied if no conditions declared before are met
+	 * @return this
+	 * @throws NullPointerException If {@code deconstructor == null}
+	 */
+	public ConditionedDeconstructorBuilder<T> otherwise(Deconstructor<? super T> deconstructor){
+		return add(t -> true, deconstructor);
+	}
+
+	/**
+	 * @return Newly created deconstructor
+	 * @throws IllegalStateException If no deconstructors are added
+	 */
+	public ConditionedDeconstructor<T> build(){
+		if(conditions.isEmpty()) throw new IllegalStateException("No conditions");
+		return new ConditionedDeconstructor<>(conditions, deconstructors);
+	}
+}
@@ -0,0 +1,95 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Counterpart of {@link among.construct.ConstructRule}; {@link Deconstructor} choosing one of multiple deconstructors
+ * with the runtime type of the parameter.<br>
+ * Deconstructor registered for the class of the parameter is chosen first, then the ones registered for its
+ * superclasses, then the ones registered for its interfaces. If no deconstructor is found, base rule is queried.
+ * Search results are cached per class.
+ *
+ * @param <T> Type of the object to deconstruct
+ */
+public final class DeconstructRule<T> implements Deconstructor<T>{
+	/**
+	 * Make a deconstruct rule.
+	 *
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the object to deconstruct
+	 * @return Newly created deconstruct rule
+	 */
+	public static <T> DeconstructRule<T> make(Consumer<DeconstructRuleBuilder<T>> consumer){
+		DeconstructRuleBuilder<T> b = new DeconstructRuleBuilder<>(null);
+		consumer.accept(b);
+		return b.build();
+	}
+
+	private static final Deconstructor<Object> NONE = instance -> {
+		throw new IllegalArgumentException("None of the rules match given object of type "+instance.getClass().getName());
+	};
+
+	@Nullable private final DeconstructRule<? super T> baseRule;
+	private final Map<Class<?>, Deconstructor<?>> rules;
+	private final ClassValue<Deconstructor<Object>> cache = new ClassValue<Deconstructor<Object>>(){
+		@Override protected Deconstructor<Object> computeValue(Class<?> type){
+			Deconstructor<Object> d = search(type);
+			return d!=null ? d : NONE;
+		}
+	};
+
+	DeconstructRule(@Nullable DeconstructRule<? super T> baseRule, Map<Class<?>, Deconstructor<?>> rules){
+		this.baseRule = baseRule;
+		this.rules = rules;
+	}
+
+	@Override public Among deconstruct(T instance){
+		return cache.get(instance.getClass()).deconstruct(instance);
+	}
+	@Override public void write(T instance, AmongWriter writer) throws IOException{
+		cache.get(instance.getClass()).write(instance, writer);
+	}
+
+	/**
+	 * Make a deconstruct rule based on this rule. {@code this} will become fallback rule for the new rule; if new rule
+	 * cannot find appropriate deconstructor to apply, {@code this} will be queried.
+	 *
+	 * @param consumer Builder consumer
+	 * @return Newly created deconstruct rule
+	 */
+	public DeconstructRule<T> extend(Consumer<DeconstructRuleBuilder<T>> consumer){
+		DeconstructRuleBuilder<T> b = new DeconstructRuleBuilder<>(this);
+		consumer.accept(b);
+		return b.build();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable private Deconstructor<Object> search(Class<?> type){
+		for(Class<?> c = type; c!=null; c = c.getSuperclass()){
+			Deconstructor<?> d = rules.get(c);
+			if(d!=null) return (Deconstructor<Object>)d;
+		}
+		Set<Class<?>> visited = new HashSet<>();
+		Deque<Class<?>> queue = new ArrayDeque<>();
+		for(Class<?> c = type; c!=null; c = c.getSuperclass())
+			Collections.addAll(queue, c.getInterfaces());
+		while(!queue.isEmpty()){
+			Class<?> i = queue.poll();
+			if(!visited.add(i)) continue;
+			Deconstructor<?> d = rules.get(i);
+			if(d!=null) return (Deconstructor<Object>)d;
+			Collections.addAll(queue, i.getInterfaces());
+		}
+		return baseRule!=null ? baseRule.search(type) : null;
+	}
+}
@@ -0,0 +1,50 @@
+package among.construct.deconstruct;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Builder for {@link DeconstructRule}.
+ *
+ * @param <T> Type of the object to deconstruct
+ * @see DeconstructRule#make(java.util.function.Consumer)
+ * @see DeconstructRule#extend(java.util.function.Consumer)
+ */
+public final class DeconstructRuleBuilder<T>{
+	@Nullable private final DeconstructRule<? super T> baseRule;
+	private final Map<Class<?>, Deconstructor<?>> rules = new HashMap<>();
+
+	/**
+	 * @param baseRule Rule queried if no deconstructor is registered for the type of the parameter, or {@code null}
+	 */
+	public DeconstructRuleBuilder(@Nullable DeconstructRule<? super T> baseRule){
+		this.baseRule = baseRule;
+	}
+
+	/**
+	 * Register deconstructor for instances of {@code type}, including instances of its subtypes without a more
+	 * specific deconstructor.
+	 *
+	 * @param type          Type of the object
+	 * @param deconstructor Deconstructor for the type
+	 * @param <S>           Type of the object
+	 * @return this
+	 * @throws NullPointerException  If either {@code type == null} or {@code deconstructor == null}
+	 * @throws IllegalStateException If deconstructor for the type is already defined
+	 */
+	public <S extends T> DeconstructRuleBuilder<T> type(Class<S> type, Deconstructor<? super S> deconstructor){
+		if(rules.putIfAbsent(Objects.requireNonNull(type), Objects.requireNonNull(deconstructor))!=null)
+			throw new IllegalStateException("Deconstruct rule for type '"+type.getName()+"' already defined");
+		return this;
+	}
+
+	/**
+	 * @return Newly created deconstruct rule
+	 */
+	public DeconstructRule<T> build(){
+		return new DeconstructRule<>(baseRule, new HashMap<>(rules));
+	}
+}
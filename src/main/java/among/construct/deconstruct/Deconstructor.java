@@ -0,0 +1,66 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Counterpart of {@link among.construct.Constructor}; transforms objects back to {@link Among}.<br>
+ * Deconstructors can either produce {@link Among} object with {@link Deconstructor#deconstruct(Object)}, or write Among
+ * source directly to {@link AmongWriter} with {@link Deconstructor#write(Object, AmongWriter)}. Default implementation
+ * of the latter writes the result of the former; implementations provided by this package override it to write
+ * values without building intermediate objects.<br>
+ * Unlike constructors, deconstructors are expected to succeed for every valid input; invalid input is signaled with
+ * {@link IllegalArgumentException}.
+ *
+ * @param <T> Type of the object to deconstruct
+ * @see Deconstructors
+ */
+@FunctionalInterface
+public interface Deconstructor<T>{
+	/**
+	 * Deconstruct an object to {@link Among}.
+	 *
+	 * @param instance The object to deconstruct
+	 * @return Deconstructed value
+	 * @throws NullPointerException     If {@code instance == null}
+	 * @throws IllegalArgumentException If {@code instance} cannot be deconstructed
+	 */
+	Among deconstruct(T instance);
+
+	/**
+	 * Write an object as Among source.
+	 *
+	 * @param instance The object to deconstruct
+	 * @param writer   Writer to write to
+	 * @throws IOException              If the writer throws
+	 * @throws NullPointerException     If {@code instance == null}
+	 * @throws IllegalArgumentException If {@code instance} cannot be deconstructed
+	 */
+	default void write(T instance, AmongWriter writer) throws IOException{
+		writer.value(deconstruct(instance));
+	}
+
+	/**
+	 * Prepends given function before this deconstructor. Returned deconstructor deconstructs the result of {@code
+	 * function}.
+	 *
+	 * @param function The function to prepend
+	 * @param <R>      Type of the new parameter object
+	 * @return New deconstructor
+	 */
+	default <R> Deconstructor<R> compose(Function<? super R, ? extends T> function){
+		Objects.requireNonNull(function);
+		Deconstructor<T> self = this;
+		return new Deconstructor<R>(){
+			@Override public Among deconstruct(R instance){
+				return self.deconstruct(function.apply(instance));
+			}
+			@Override public void write(R instance, AmongWriter writer) throws IOException{
+				self.write(function.apply(instance), writer);
+			}
+		};
+	}
+}
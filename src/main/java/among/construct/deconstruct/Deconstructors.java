@@ -0,0 +1,208 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Collection of commonly used deconstructors, and counterparts of the ones defined in {@link
+ * among.construct.Constructors}.
+ */
+public final class Deconstructors{
+	private Deconstructors(){}
+
+	public static final Deconstructor<Among> IDENTITY = new Deconstructor<Among>(){
+		@Override public Among deconstruct(Among instance){
+			return Objects.requireNonNull(instance);
+		}
+		@Override public void write(Among instance, AmongWriter writer) throws IOException{
+			writer.value(instance);
+		}
+	};
+	public static final Deconstructor<String> VALUE = new Deconstructor<String>(){
+		@Override public Among deconstruct(String instance){
+			return Among.value(Objects.requireNonNull(instance));
+		}
+		@Override public void write(String instance, AmongWriter writer) throws IOException{
+			writer.value(Objects.requireNonNull(instance));
+		}
+	};
+	public static final Deconstructor<Boolean> BOOL = ofBool(Boolean::booleanValue);
+	public static final Deconstructor<Integer> INT = ofInt(Integer::intValue);
+	public static final Deconstructor<Long> LONG = ofLong(Long::longValue);
+	public static final Deconstructor<Float> FLOAT = new Deconstructor<Float>(){
+		@Override public Among deconstruct(Float instance){
+			return Among.value(AmongWriter.format((float)instance));
+		}
+		@Override public void write(Float instance, AmongWriter writer) throws IOException{
+			writer.value((float)instance);
+		}
+	};
+	public static final Deconstructor<Double> DOUBLE = ofDouble(Double::doubleValue);
+
+	public static final Deconstructor<int[]> INT_ARRAY = new Deconstructor<int[]>(){
+		@Override public Among deconstruct(int[] instance){
+			AmongList list = Among.list();
+			for(int i : instance) list.add(Among.value(Integer.toString(i)));
+			return list;
+		}
+		@Override public void write(int[] instance, AmongWriter writer) throws IOException{
+			writer.beginList();
+			for(int i : instance) writer.value(i);
+			writer.endList();
+		}
+	};
+	public static final Deconstructor<long[]> LONG_ARRAY = new Deconstructor<long[]>(){
+		@Override public Among deconstruct(long[] instance){
+			AmongList list = Among.list();
+			for(long l : instance) list.add(Among.value(Long.toString(l)));
+			return list;
+		}
+		@Override public void write(long[] instance, AmongWriter writer) throws IOException{
+			writer.beginList();
+			for(long l : instance) writer.value(l);
+			writer.endList();
+		}
+	};
+	public static final Deconstructor<double[]> DOUBLE_ARRAY = new Deconstructor<double[]>(){
+		@Override public Among deconstruct(double[] instance){
+			AmongList list = Among.list();
+			for(double d : instance) list.add(Among.value(AmongWriter.format(d)));
+			return list;
+		}
+		@Override public void write(double[] instance, AmongWriter writer) throws IOException{
+			writer.beginList();
+			for(double d : instance) writer.value(d);
+			writer.endList();
+		}
+	};
+
+	/**
+	 * Create new deconstructor writing boolean value extracted with {@code function}, without boxing.
+	 *
+	 * @param function Function to extract the value
+	 * @param <T>      Type of the object to deconstruct
+	 * @return New deconstructor
+	 */
+	public static <T> Deconstructor<T> ofBool(Predicate<? super T> function){
+		Objects.requireNonNull(function);
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				return Among.value(function.test(instance) ? "true" : "false");
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				writer.value(function.test(instance));
+			}
+		};
+	}
+	/**
+	 * Create new deconstructor writing int value extracted with {@code function}, without boxing.
+	 *
+	 * @param function Function to extract the value
+	 * @param <T>      Type of the object to deconstruct
+	 * @return New deconstructor
+	 */
+	public static <T> Deconstructor<T> ofInt(ToIntFunction<? super T> function){
+		Objects.requireNonNull(function);
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				return Among.value(Integer.toString(function.applyAsInt(instance)));
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				writer.value(function.applyAsInt(instance));
+			}
+		};
+	}
+	/**
+	 * Create new deconstructor writing long value extracted with {@code function}, without boxing.
+	 *
+	 * @param function Function to extract the value
+	 * @param <T>      Type of the object to deconstruct
+	 * @return New deconstructor
+	 */
+	public static <T> Deconstructor<T> ofLong(ToLongFunction<? super T> function){
+		Objects.requireNonNull(function);
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				return Among.value(Long.toString(function.applyAsLong(instance)));
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				writer.value(function.applyAsLong(instance));
+			}
+		};
+	}
+	/**
+	 * Create new deconstructor writing double value extracted with {@code function}, without boxing.
+	 *
+	 * @param function Function to extract the value
+	 * @param <T>      Type of the object to deconstruct
+	 * @return New deconstructor
+	 */
+	public static <T> Deconstructor<T> ofDouble(ToDoubleFunction<? super T> function){
+		Objects.requireNonNull(function);
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				return Among.value(AmongWriter.format(function.applyAsDouble(instance)));
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				writer.value(function.applyAsDouble(instance));
+			}
+		};
+	}
+
+	/**
+	 * Create new deconstructor which produces unnamed list of given element.
+	 *
+	 * @param elementDeconstructor Deconstructor for elements
+	 * @param <E>                  Type of the elements
+	 * @return Deconstructor of list
+	 */
+	public static <E> Deconstructor<Collection<? extends E>> listOf(Deconstructor<E> elementDeconstructor){
+		Objects.requireNonNull(elementDeconstructor);
+		return new Deconstructor<Collection<? extends E>>(){
+			@Override public Among deconstruct(Collection<? extends E> instance){
+				AmongList list = Among.list();
+				for(E e : instance) list.add(elementDeconstructor.deconstruct(e));
+				return list;
+			}
+			@Override public void write(Collection<? extends E> instance, AmongWriter writer) throws IOException{
+				writer.beginList();
+				for(E e : instance) elementDeconstructor.write(e, writer);
+				writer.endList();
+			}
+		};
+	}
+
+	/**
+	 * Make deconstructor producing {@link among.obj.AmongObject}.
+	 *
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the object to deconstruct
+	 * @return Newly created deconstructor
+	 */
+	public static <T> Deconstructor<T> object(Consumer<ObjectDeconstructorBuilder<T>> consumer){
+		ObjectDeconstructorBuilder<T> b = new ObjectDeconstructorBuilder<>();
+		consumer.accept(b);
+		return b.build();
+	}
+	/**
+	 * Make deconstructor producing {@link AmongList} with fixed elements.
+	 *
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the object to deconstruct
+	 * @return Newly created deconstructor
+	 */
+	public static <T> Deconstructor<T> list(Consumer<ListDeconstructorBuilder<T>> consumer){
+		ListDeconstructorBuilder<T> b = new ListDeconstructorBuilder<>();
+		consumer.accept(b);
+		return b.build();
+	}
+}
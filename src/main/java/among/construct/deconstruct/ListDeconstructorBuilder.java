@@ -0,0 +1,131 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+import among.obj.AmongList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builder for deconstructors producing {@link AmongList} with fixed number of elements, for example {@code [x, y]}.
+ * Elements are written in declaration order.
+ *
+ * @param <T> Type of the object to deconstruct
+ * @see Deconstructors#list(java.util.function.Consumer)
+ */
+public final class ListDeconstructorBuilder<T>{
+	private final List<Deconstructor<? super T>> elements = new ArrayList<>();
+	private String name = "";
+
+	/**
+	 * Specify name of the resulting list. Lists are unnamed by default.
+	 *
+	 * @param name Name of the list, or empty string for unnamed list
+	 * @return this
+	 * @throws NullPointerException If {@code name == null}
+	 */
+	public ListDeconstructorBuilder<T> name(String name){
+		this.name = Objects.requireNonNull(name);
+		return this;
+	}
+
+	/**
+	 * Add element deconstructed from the whole object.
+	 *
+	 * @param deconstructor Deconstructor for the element
+	 * @return this
+	 * @throws NullPointerException If {@code deconstructor == null}
+	 */
+	public ListDeconstructorBuilder<T> element(Deconstructor<? super T> deconstructor){
+		elements.add(Objects.requireNonNull(deconstructor));
+		return this;
+	}
+	/**
+	 * Add element deconstructed from the result of {@code getter}.
+	 *
+	 * @param getter        Getter for the element
+	 * @param deconstructor Deconstructor for the element
+	 * @param <V>           Type of the element
+	 * @return this
+	 * @throws NullPointerException If either {@code getter == null} or {@code deconstructor == null}
+	 */
+	public <V> ListDeconstructorBuilder<T> element(Function<? super T, ? extends V> getter, Deconstructor<V> deconstructor){
+		return element(deconstructor.compose(getter));
+	}
+
+	/**
+	 * Add string element.
+	 *
+	 * @param getter Getter for the element
+	 * @return this
+	 */
+	public ListDeconstructorBuilder<T> stringElement(Function<? super T, String> getter){
+		return element(getter, Deconstructors.VALUE);
+	}
+	/**
+	 * Add boolean element.
+	 *
+	 * @param getter Getter for the element
+	 * @return this
+	 */
+	public ListDeconstructorBuilder<T> boolElement(Predicate<? super T> getter){
+		return element(Deconstructors.ofBool(getter));
+	}
+	/**
+	 * Add int element.
+	 *
+	 * @param getter Getter for the element
+	 * @return this
+	 */
+	public ListDeconstructorBuilder<T> intElement(ToIntFunction<? super T> getter){
+		return element(Deconstructors.ofInt(getter));
+	}
+	/**
+	 * Add long element.
+	 *
+	 * @param getter Getter for the element
+	 * @return this
+	 */
+	public ListDeconstructorBuilder<T> longElement(ToLongFunction<? super T> getter){
+		return element(Deconstructors.ofLong(getter));
+	}
+	/**
+	 * Add double element.
+	 *
+	 * @param getter Getter for the element
+	 * @return this
+	 */
+	public ListDeconstructorBuilder<T> doubleElement(ToDoubleFunction<? super T> getter){
+		return element(Deconstructors.ofDouble(getter));
+	}
+
+	/**
+	 * @return Deconstructor producing lists with the elements, in declaration order
+	 */
+	@SuppressWarnings("unchecked")
+	public Deconstructor<T> build(){
+		Deconstructor<? super T>[] elements = this.elements.toArray(new Deconstructor[0]);
+		String name = this.name;
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				Objects.requireNonNull(instance);
+				AmongList list = name.isEmpty() ? Among.list() : Among.namedList(name);
+				for(Deconstructor<? super T> e : elements) list.add(e.deconstruct(instance));
+				return list;
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				Objects.requireNonNull(instance);
+				writer.beginList(name);
+				for(Deconstructor<? super T> e : elements) e.write(instance, writer);
+				writer.endList();
+			}
+		};
+	}
+}
@@ -0,0 +1,207 @@
+package among.construct.deconstruct;
+
+import among.obj.Among;
+import among.obj.AmongObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builder for deconstructors producing {@link AmongObject}. Properties are written in declaration order.
+ *
+ * @param <T> Type of the object to deconstruct
+ * @see Deconstructors#object(java.util.function.Consumer)
+ */
+public final class ObjectDeconstructorBuilder<T>{
+	private final List<Property<T>> properties = new ArrayList<>();
+	private final Set<String> keys = new HashSet<>();
+	private String name = "";
+
+	/**
+	 * Specify name of the resulting object. Objects are unnamed by default.
+	 *
+	 * @param name Name of the object, or empty string for unnamed object
+	 * @return this
+	 * @throws NullPointerException If {@code name == null}
+	 */
+	public ObjectDeconstructorBuilder<T> name(String name){
+		this.name = Objects.requireNonNull(name);
+		return this;
+	}
+
+	/**
+	 * Add property with value deconstructed from the whole object.
+	 *
+	 * @param key           Key of the property
+	 * @param deconstructor Deconstructor for the property value
+	 * @return this
+	 * @throws NullPointerException  If either {@code key == null} or {@code deconstructor == null}
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> property(String key, Deconstructor<? super T> deconstructor){
+		return add(new Property<>(key, deconstructor));
+	}
+	/**
+	 * Add property with value deconstructed from the result of {@code getter}.
+	 *
+	 * @param key           Key of the property
+	 * @param getter        Getter for the property value
+	 * @param deconstructor Deconstructor for the property value
+	 * @param <V>           Type of the property value
+	 * @return this
+	 * @throws NullPointerException  If either {@code key == null}, {@code getter == null} or {@code deconstructor ==
+	 *                               null}
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public <V> ObjectDeconstructorBuilder<T> property(String key, Function<? super T, ? extends V> getter, Deconstructor<V> deconstructor){
+		return property(key, deconstructor.compose(getter));
+	}
+	/**
+	 * Add property which is omitted if {@code getter} returns {@code null}.
+	 *
+	 * @param key           Key of the property
+	 * @param getter        Getter for the property value
+	 * @param deconstructor Deconstructor for the property value
+	 * @param <V>           Type of the property value
+	 * @return this
+	 * @throws NullPointerException  If either {@code key == null}, {@code getter == null} or {@code deconstructor ==
+	 *                               null}
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public <V> ObjectDeconstructorBuilder<T> optionalProperty(String key, Function<? super T, ? extends V> getter, Deconstructor<V> deconstructor){
+		return add(new OptionalProperty<>(key, getter, deconstructor));
+	}
+
+	/**
+	 * Add property with string value.
+	 *
+	 * @param key    Key of the property
+	 * @param getter Getter for the property value
+	 * @return this
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> stringProperty(String key, Function<? super T, String> getter){
+		return property(key, getter, Deconstructors.VALUE);
+	}
+	/**
+	 * Add property with boolean value.
+	 *
+	 * @param key    Key of the property
+	 * @param getter Getter for the property value
+	 * @return this
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> boolProperty(String key, Predicate<? super T> getter){
+		return property(key, Deconstructors.ofBool(getter));
+	}
+	/**
+	 * Add property with int value.
+	 *
+	 * @param key    Key of the property
+	 * @param getter Getter for the property value
+	 * @return this
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> intProperty(String key, ToIntFunction<? super T> getter){
+		return property(key, Deconstructors.ofInt(getter));
+	}
+	/**
+	 * Add property with long value.
+	 *
+	 * @param key    Key of the property
+	 * @param getter Getter for the property value
+	 * @return this
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> longProperty(String key, ToLongFunction<? super T> getter){
+		return property(key, Deconstructors.ofLong(getter));
+	}
+	/**
+	 * Add property with double value.
+	 *
+	 * @param key    Key of the property
+	 * @param getter Getter for the property value
+	 * @return this
+	 * @throws IllegalStateException If property with same key is already defined
+	 */
+	public ObjectDeconstructorBuilder<T> doubleProperty(String key, ToDoubleFunction<? super T> getter){
+		return property(key, Deconstructors.ofDouble(getter));
+	}
+
+	private ObjectDeconstructorBuilder<T> add(Property<T> property){
+		if(!keys.add(property.key))
+			throw new IllegalStateException("Property '"+property.key+"' already defined");
+		properties.add(property);
+		return this;
+	}
+
+	/**
+	 * @return Deconstructor producing objects with the properties, in declaration order
+	 */
+	@SuppressWarnings("unchecked")
+	public Deconstructor<T> build(){
+		Property<T>[] properties = this.properties.toArray(new Property[0]);
+		String name = this.name;
+		return new Deconstructor<T>(){
+			@Override public Among deconstruct(T instance){
+				Objects.requireNonNull(instance);
+				AmongObject obj = name.isEmpty() ? Among.object() : Among.namedObject(name);
+				for(Property<T> p : properties) p.put(instance, obj);
+				return obj;
+			}
+			@Override public void write(T instance, AmongWriter writer) throws IOException{
+				Objects.requireNonNull(instance);
+				writer.beginObject(name);
+				for(Property<T> p : properties) p.write(instance, writer);
+				writer.endObject();
+			}
+		};
+	}
+
+	private static class Property<T>{
+		final String key;
+		@Nullable private final Deconstructor<? super T> deconstructor;
+
+		Property(String key, @Nullable Deconstructor<? super T> deconstructor){
+			this.key = Objects.requireNonNull(key);
+			this.deconstructor = deconstructor;
+		}
+
+		void put(T instance, AmongObject obj){
+			obj.property(key, Objects.requireNonNull(deconstructor).deconstruct(instance));
+		}
+		void write(T instance, AmongWriter writer) throws IOException{
+			Objects.requireNonNull(deconstructor).write(instance, writer.key(key));
+		}
+	}
+
+	private static final class OptionalProperty<T, V> extends Property<T>{
+		private final Function<? super T, ? extends V> getter;
+		private final Deconstructor<V> deconstructor;
+
+		OptionalProperty(String key, Function<? super T, ? extends V> getter, Deconstructor<V> deconstructor){
+			super(key, null);
+			this.getter = Objects.requireNonNull(getter);
+			this.deconstructor = Objects.requireNonNull(deconstructor);
+		}
+
+		@Override void put(T instance, AmongObject obj){
+			V v = getter.apply(instance);
+			if(v!=null) obj.property(key, deconstructor.deconstruct(v));
+		}
+		@Override void write(T instance, AmongWriter writer) throws IOException{
+			V v = getter.apply(instance);
+			if(v!=null) deconstructor.write(v, writer.key(key));
+		}
+	}
+}
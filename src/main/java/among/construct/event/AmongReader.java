@@ -0,0 +1,98 @@
+package among.construct.event;
+
+import among.obj.Among;
+
+/**
+ * Pull-based stream of events describing Among values, read one at a time. A primitive value is represented with
+ * single {@link Event#VALUE} event; a list is represented with {@link Event#BEGIN_LIST}, events of each element, then
+ * {@link Event#END_LIST}; an object is represented with {@link Event#BEGIN_OBJECT}, {@link Event#KEY} followed by
+ * events of the value for each property, then {@link Event#END_OBJECT}. {@link Event#END} marks the end of the
+ * stream.<br>
+ * Reader is positioned at one event at a time; accessors such as {@link AmongReader#value()} describe the current
+ * event, and {@link AmongReader#advance()} moves to the next one. Implementations are free to produce events from any
+ * source, for example a streaming parser, so that the whole document does not have to exist in memory at once.
+ * Existing {@link Among} trees can be read with {@link AmongReader#of(Among)}.
+ *
+ * @see EventConstructor
+ */
+public interface AmongReader{
+	/**
+	 * Create a reader replaying given Among value as events.
+	 *
+	 * @param among The value to read
+	 * @return New reader, positioned at the first event of {@code among}
+	 */
+	static AmongReader of(Among among){
+		return new TreeReader(among);
+	}
+
+	/**
+	 * @return Current event
+	 */
+	Event event();
+
+	/**
+	 * Move to the next event.
+	 *
+	 * @throws IllegalStateException If the current event is {@link Event#END}
+	 */
+	void advance();
+
+	/**
+	 * @return Value of the current {@link Event#VALUE} event
+	 * @throws IllegalStateException If the current event is not {@link Event#VALUE}
+	 */
+	String value();
+
+	/**
+	 * @return Name of the current {@link Event#BEGIN_LIST} or {@link Event#BEGIN_OBJECT} event; empty string if
+	 * unnamed
+	 * @throws IllegalStateException If the current event is neither {@link Event#BEGIN_LIST} nor {@link
+	 *                               Event#BEGIN_OBJECT}
+	 */
+	String name();
+
+	/**
+	 * @return Key of the current {@link Event#KEY} event
+	 * @throws IllegalStateException If the current event is not {@link Event#KEY}
+	 */
+	String key();
+
+	/**
+	 * @return Source position of the value starting at current event, or {@code -1} if not available
+	 */
+	int sourcePosition();
+
+	/**
+	 * Skip one value starting at the current event, including all of its elements and properties. The reader is
+	 * positioned at the event after the value.
+	 *
+	 * @throws IllegalStateException If the current event is not the start of a value
+	 */
+	default void skipValue(){
+		if(!event().isValueStart()) throw new IllegalStateException("Expected start of a value, current event is "+event());
+		int depth = 0;
+		do{
+			switch(event()){
+				case BEGIN_LIST: case BEGIN_OBJECT: depth++; break;
+				case END_LIST: case END_OBJECT: depth--; break;
+				case END: throw new IllegalStateException("Unexpected end of stream");
+			}
+			advance();
+		}while(depth>0);
+	}
+
+	enum Event{
+		VALUE,
+		BEGIN_LIST,
+		END_LIST,
+		BEGIN_OBJECT,
+		KEY,
+		END_OBJECT,
+		END;
+
+		public boolean isValueStart(){
+			return this==VALUE||this==BEGIN_LIST||this==BEGIN_OBJECT;
+		}
+	}
+}
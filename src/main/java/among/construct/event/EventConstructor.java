@@ -0,0 +1,58 @@
+package among.construct.event;
+
+import among.construct.Constructor;
+import among.obj.Among;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Counterpart of {@link Constructor} reading its input from {@link AmongReader} instead of a materialized {@link
+ * Among} value.<br>
+ * Event constructors are called with the reader positioned at the start of a value, and are expected to consume
+ * exactly that value, leaving the reader positioned at the event after it; this holds for failed constructions as
+ * well, so that the callers can proceed to the next value. Failures are handled the same way as {@link Constructor}:
+ * {@code null} is returned, and an appropriate message is reported to report handler if it's supplied.
+ *
+ * @param <T> Type of the resulting object
+ * @see EventConstructors
+ */
+@FunctionalInterface
+public interface EventConstructor<T>{
+	/**
+	 * Construct an object from the value starting at the current event of {@code reader}.
+	 *
+	 * @param reader        Reader positioned at the start of a value
+	 * @param reportHandler Optional report handler
+	 * @return Constructed object, or {@code null} if it failed
+	 */
+	@Nullable T construct(AmongReader reader, @Nullable ReportHandler reportHandler);
+
+	/**
+	 * Construct an object from existing Among value, by replaying it as events.
+	 *
+	 * @param instance      Parameter value
+	 * @param reportHandler Optional report handler
+	 * @return Constructed object, or {@code null} if it failed
+	 * @see AmongReader#of(Among)
+	 */
+	@Nullable default T construct(Among instance, @Nullable ReportHandler reportHandler){
+		return construct(AmongReader.of(instance), reportHandler);
+	}
+
+	/**
+	 * Appends given constructor after this constructor.
+	 *
+	 * @param other The constructor to append
+	 * @param <R>   Type of the new resulting object
+	 * @return New constructor
+	 */
+	default <R> EventConstructor<R> then(Constructor<T, R> other){
+		Objects.requireNonNull(other);
+		return (reader, reportHandler) -> {
+			T t = construct(reader, reportHandler);
+			return t==null ? null : other.construct(t, reportHandler);
+		};
+	}
+}
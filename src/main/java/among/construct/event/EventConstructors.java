@@ -0,0 +1,194 @@
+package among.construct.event;
+
+import among.construct.Constructor;
+import among.construct.Constructors;
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import among.obj.AmongPrimitive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collection of commonly used event constructors, and adapters between {@link Constructor} and {@link
+ * EventConstructor}.
+ */
+public final class EventConstructors{
+	private EventConstructors(){}
+
+	/**
+	 * Event constructor materializing the value as {@link Among}.
+	 */
+	public static final EventConstructor<Among> TREE = (reader, reportHandler) -> read(reader);
+
+	/**
+	 * Counterpart of {@link Constructors#VALUE}.
+	 */
+	public static final EventConstructor<String> VALUE = (reader, reportHandler) -> {
+		if(reader.event()==AmongReader.Event.VALUE){
+			String value = reader.value();
+			reader.advance();
+			return value;
+		}
+		if(reportHandler!=null) reportHandler.reportError("Expected value", reader.sourcePosition());
+		reader.skipValue();
+		return null;
+	};
+	/**
+	 * Counterpart of {@link Constructors#BOOL}.
+	 */
+	public static final EventConstructor<Boolean> BOOL = primitive(Constructors.BOOL);
+	/**
+	 * Counterpart of {@link Constructors#INT}.
+	 */
+	public static final EventConstructor<Integer> INT = primitive(Constructors.INT);
+	/**
+	 * Counterpart of {@link Constructors#LONG}.
+	 */
+	public static final EventConstructor<Long> LONG = primitive(Constructors.LONG);
+	/**
+	 * Counterpart of {@link Constructors#FLOAT}.
+	 */
+	public static final EventConstructor<Float> FLOAT = primitive(Constructors.FLOAT);
+	/**
+	 * Counterpart of {@link Constructors#DOUBLE}.
+	 */
+	public static final EventConstructor<Double> DOUBLE = primitive(Constructors.DOUBLE);
+
+	/**
+	 * Adapt given constructor of primitive values to event constructor. Only {@link AmongPrimitive} is materialized
+	 * for each value; other values are reported with {@code "Expected value"}.
+	 *
+	 * @param constructor Constructor of primitive values
+	 * @param <T>         Type of the resulting object
+	 * @return New event constructor
+	 */
+	public static <T> EventConstructor<T> primitive(Constructor<? super AmongPrimitive, T> constructor){
+		Objects.requireNonNull(constructor);
+		return (reader, reportHandler) -> {
+			if(reader.event()==AmongReader.Event.VALUE){
+				AmongPrimitive value = Among.value(reader.value());
+				value.setSourcePosition(reader.sourcePosition());
+				reader.advance();
+				return constructor.construct(value, reportHandler);
+			}
+			if(reportHandler!=null) reportHandler.reportError("Expected value", reader.sourcePosition());
+			reader.skipValue();
+			return null;
+		};
+	}
+
+	/**
+	 * Adapt given constructor to event constructor. Each value is materialized as {@link Among} before being passed to
+	 * the constructor, so existing constructors can be used as part of event constructors.
+	 *
+	 * @param constructor Constructor to adapt
+	 * @param <T>         Type of the resulting object
+	 * @return New event constructor
+	 */
+	public static <T> EventConstructor<T> of(Constructor<Among, T> constructor){
+		Objects.requireNonNull(constructor);
+		return (reader, reportHandler) -> constructor.construct(read(reader), reportHandler);
+	}
+
+	/**
+	 * Counterpart of {@link Constructor#listOf(Constructor, boolean)}. Elements are constructed as they are read;
+	 * after the first failure, the rest of the list is skipped.
+	 *
+	 * @param elementConstructor  Constructor for elements
+	 * @param requiresUnnamedList If {@code true}, matching list is required to be unnamed.
+	 * @param <E>                 Type of the elements
+	 * @return Event constructor of list
+	 */
+	public static <E> EventConstructor<List<E>> listOf(EventConstructor<E> elementConstructor, boolean requiresUnnamedList){
+		Objects.requireNonNull(elementConstructor);
+		return (reader, reportHandler) -> {
+			if(reader.event()!=AmongReader.Event.BEGIN_LIST){
+				if(reportHandler!=null) reportHandler.reportError("Expected list", reader.sourcePosition());
+				reader.skipValue();
+				return null;
+			}
+			if(requiresUnnamedList&&!reader.name().isEmpty()){
+				if(reportHandler!=null) reportHandler.reportError("List should be unnamed", reader.sourcePosition());
+				reader.skipValue();
+				return null;
+			}
+			reader.advance();
+			List<E> list = new ArrayList<>();
+			while(reader.event()!=AmongReader.Event.END_LIST){
+				E e = elementConstructor.construct(reader, reportHandler);
+				if(e==null){
+					while(reader.event()!=AmongReader.Event.END_LIST) reader.skipValue();
+					reader.advance();
+					return null;
+				}
+				list.add(e);
+			}
+			reader.advance();
+			return list;
+		};
+	}
+	public static <E> EventConstructor<List<E>> listOf(EventConstructor<E> elementConstructor){
+		return listOf(elementConstructor, false);
+	}
+
+	/**
+	 * Make event constructor for objects.
+	 *
+	 * @param consumer Builder consumer
+	 * @param <T>      Type of the resulting object
+	 * @return Newly created event constructor
+	 */
+	public static <T> EventConstructor<T> object(Consumer<EventObjectConstructorBuilder<T>> consumer){
+		EventObjectConstructorBuilder<T> b = new EventObjectConstructorBuilder<>();
+		consumer.accept(b);
+		return b.build();
+	}
+
+	/**
+	 * Materialize the value starting at the current event of {@code reader}.
+	 */
+	static Among read(AmongReader reader){
+		int pos = reader.sourcePosition();
+		switch(reader.event()){
+			case VALUE:{
+				AmongPrimitive p = Among.value(reader.value());
+				p.setSourcePosition(pos);
+				reader.advance();
+				return p;
+			}
+			case BEGIN_LIST:{
+				String name = reader.name();
+				AmongList l = name.isEmpty() ? Among.list() : Among.namedList(name);
+				l.setSourcePosition(pos);
+				reader.advance();
+				while(reader.event()!=AmongReader.Event.END_LIST) l.add(read(reader));
+				reader.advance();
+				return l;
+			}
+			case BEGIN_OBJECT:{
+				String name = reader.name();
+				AmongObject o = name.isEmpty() ? Among.object() : Among.namedObject(name);
+				o.setSourcePosition(pos);
+				reader.advance();
+				while(reader.event()!=AmongReader.Event.END_OBJECT){
+					String key = readKey(reader);
+					o.property(key, read(reader));
+				}
+				reader.advance();
+				return o;
+			}
+			default:
+				throw new IllegalStateException("Expected start of a value, current event is "+reader.event());
+		}
+	}
+
+	static String readKey(AmongReader reader){
+		String key = reader.key();
+		reader.advance();
+		return key;
+	}
+}
@@ -0,0 +1,124 @@
+package among.construct.event;
+
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builder for event constructors of objects. Each property is constructed with its own event constructor as it is
+ * read; the results are passed to the function supplied with {@link EventObjectConstructorBuilder#constructor(Function)}
+ * as an array, in declaration order of the properties.<br>
+ * Reports are identical to the ones of {@link among.construct.condition.ObjectCondition} for missing and redundant
+ * properties.
+ *
+ * @param <T> Type of the resulting object
+ * @see EventConstructors#object(java.util.function.Consumer)
+ */
+public final class EventObjectConstructorBuilder<T>{
+	private final Map<String, Integer> indices = new HashMap<>();
+	private final List<String> keys = new ArrayList<>();
+	private final List<EventConstructor<?>> constructors = new ArrayList<>();
+	private final List<Supplier<?>> defaultValues = new ArrayList<>();
+	private boolean warnOtherProperties;
+	@Nullable private Function<Object[], ? extends T> constructor;
+
+	public EventObjectConstructorBuilder<T> property(String key, EventConstructor<?> constructor){
+		return add(key, constructor, null);
+	}
+	public EventObjectConstructorBuilder<T> optionalProperty(String key, EventConstructor<?> constructor, Supplier<?> defaultValue){
+		return add(key, constructor, Objects.requireNonNull(defaultValue));
+	}
+
+	private EventObjectConstructorBuilder<T> add(String key, EventConstructor<?> constructor, @Nullable Supplier<?> defaultValue){
+		if(indices.putIfAbsent(key, keys.size())!=null)
+			throw new IllegalStateException("Property '"+key+"' already defined");
+		keys.add(key);
+		constructors.add(Objects.requireNonNull(constructor));
+		defaultValues.add(defaultValue);
+		return this;
+	}
+
+	public EventObjectConstructorBuilder<T> warnOtherProperties(){
+		this.warnOtherProperties = true;
+		return this;
+	}
+
+	/**
+	 * Set the function creating the result from constructed properties. Values of the properties are supplied in
+	 * declaration order.
+	 */
+	public EventObjectConstructorBuilder<T> constructor(Function<Object[], ? extends T> constructor){
+		if(this.constructor!=null)
+			throw new IllegalStateException("Constructor already defined");
+		this.constructor = Objects.requireNonNull(constructor);
+		return this;
+	}
+
+	public EventConstructor<T> build(){
+		if(constructor==null) throw new IllegalStateException("No constructor");
+		Map<String, Integer> indices = new HashMap<>(this.indices);
+		String[] keys = this.keys.toArray(new String[0]);
+		EventConstructor<?>[] constructors = this.constructors.toArray(new EventConstructor<?>[0]);
+		Supplier<?>[] defaultValues = this.defaultValues.toArray(new Supplier<?>[0]);
+		boolean warnOtherProperties = this.warnOtherProperties;
+		Function<Object[], ? extends T> function = constructor;
+
+		return (reader, reportHandler) -> {
+			if(reader.event()!=AmongReader.Event.BEGIN_OBJECT){
+				if(reportHandler!=null) reportHandler.reportError("Expected object", reader.sourcePosition());
+				reader.skipValue();
+				return null;
+			}
+			int pos = reader.sourcePosition();
+			reader.advance();
+			Object[] args = new Object[keys.length];
+			boolean[] present = new boolean[keys.length];
+			boolean invalid = false;
+			List<String> redundantProperties = null;
+			while(reader.event()!=AmongReader.Event.END_OBJECT){
+				String key = EventConstructors.readKey(reader);
+				Integer i = indices.get(key);
+				if(i==null){
+					if(warnOtherProperties&&reportHandler!=null){
+						if(redundantProperties==null) redundantProperties = new ArrayList<>();
+						redundantProperties.add(key);
+					}
+					reader.skipValue();
+				}else if(invalid&&reportHandler==null){
+					reader.skipValue();
+				}else{
+					present[i] = true;
+					Object o = constructors[i].construct(reader, reportHandler);
+					if(o==null) invalid = true;
+					else args[i] = o;
+				}
+			}
+			reader.advance();
+			for(int i = 0; i<keys.length; i++){
+				if(present[i]) continue;
+				if(defaultValues[i]!=null) args[i] = defaultValues[i].get();
+				else{
+					if(reportHandler==null) return null;
+					reportHandler.reportError("Missing property '"+keys[i]+"'", pos);
+					invalid = true;
+				}
+			}
+			if(redundantProperties!=null) reportRedundantProperties(reportHandler, redundantProperties);
+			return invalid ? null : function.apply(args);
+		};
+	}
+
+	private static void reportRedundantProperties(@Nullable ReportHandler reportHandler, List<String> redundantProperties){
+		if(reportHandler==null) return;
+		StringBuilder stb = new StringBuilder().append(redundantProperties.size()).append(" redundant properties");
+		for(String s : redundantProperties) stb.append("\n  ").append(s);
+		reportHandler.reportWarning(stb.toString());
+	}
+}
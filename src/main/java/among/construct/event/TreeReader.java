@@ -0,0 +1,131 @@
+package among.construct.event;
+
+import among.obj.Among;
+import among.obj.AmongList;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@link AmongReader} replaying existing Among tree. Only the path from the root to the current value is held, so
+ * events are produced without copying the tree.
+ */
+final class TreeReader implements AmongReader{
+	private final Deque<Frame> stack = new ArrayDeque<>();
+	private Event event;
+	@Nullable private Among current;
+	@Nullable private String key;
+
+	TreeReader(Among root){
+		start(root);
+	}
+
+	@Override public Event event(){
+		return event;
+	}
+
+	@Override public void advance(){
+		switch(event){
+			case BEGIN_LIST:
+				stack.push(new ListFrame(current().asList()));
+				break;
+			case BEGIN_OBJECT:
+				stack.push(new ObjectFrame(current().asObj().properties()));
+				break;
+			case KEY:{
+				Frame f = stack.peek();
+				if(f==null) throw new IllegalStateException("Key outside of object");
+				start(((ObjectFrame)f).value());
+				return;
+			}
+			case END:
+				throw new IllegalStateException("End of stream");
+		}
+		Frame f = stack.peek();
+		if(f==null){
+			current = null;
+			event = Event.END;
+		}else f.next(this);
+	}
+
+	@Override public String value(){
+		if(event!=Event.VALUE) throw new IllegalStateException("Current event is "+event);
+		return current().asPrimitive().getValue();
+	}
+	@Override public String name(){
+		if(event==Event.BEGIN_LIST) return current().asList().getName();
+		if(event==Event.BEGIN_OBJECT) return current().asObj().getName();
+		throw new IllegalStateException("Current event is "+event);
+	}
+	@Override public String key(){
+		if(event!=Event.KEY||key==null) throw new IllegalStateException("Current event is "+event);
+		return key;
+	}
+	@Override public int sourcePosition(){
+		return current!=null&&event.isValueStart() ? current.sourcePosition() : -1;
+	}
+
+	private Among current(){
+		if(current==null) throw new IllegalStateException("No current value");
+		return current;
+	}
+
+	private void start(Among among){
+		current = among;
+		event = among.isPrimitive() ? Event.VALUE : among.isList() ? Event.BEGIN_LIST : Event.BEGIN_OBJECT;
+	}
+
+	private interface Frame{
+		void next(TreeReader reader);
+	}
+
+	private static final class ListFrame implements Frame{
+		private final AmongList list;
+		private int index;
+
+		ListFrame(AmongList list){
+			this.list = list;
+		}
+
+		@Override public void next(TreeReader reader){
+			if(index<list.size()) reader.start(list.get(index++));
+			else{
+				reader.stack.pop();
+				reader.current = null;
+				reader.event = Event.END_LIST;
+			}
+		}
+	}
+
+	private static final class ObjectFrame implements Frame{
+		private final Iterator<Map.Entry<String, Among>> it;
+		@Nullable private Among value;
+
+		ObjectFrame(Map<String, Among> properties){
+			this.it = properties.entrySet().iterator();
+		}
+
+		@Override public void next(TreeReader reader){
+			reader.current = null;
+			if(it.hasNext()){
+				Map.Entry<String, Among> e = it.next();
+				value = e.getValue();
+				reader.key = e.getKey();
+				reader.event = Event.KEY;
+			}else{
+				reader.stack.pop();
+				reader.event = Event.END_OBJECT;
+			}
+		}
+
+		Among value(){
+			if(value==null) throw new IllegalStateException("No value");
+			Among v = value;
+			value = null;
+			return v;
+		}
+	}
+}
@@ -0,0 +1,31 @@
+package among.construct.generate;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a type for constructor generation. With the annotation processor of {@code construct-processor} on the
+ * compiler's processor path, a class named {@code <TypeName>Constructor} is generated next to the annotated type,
+ * implementing {@link among.construct.Constructor Constructor&lt;Among, TypeName&gt;} as plain Java code.<br>
+ * Each parameter of the constructor is mapped to a property of the same name. If the annotated type has multiple
+ * constructors, the annotation should be placed on the constructor to use instead of the type.<br>
+ * Parameters can be of type {@code boolean}, {@code int}, {@code long}, {@code float}, {@code double}, {@link String},
+ * {@link among.obj.Among Among} (and boxed types of the primitives), or any type annotated with this annotation.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target({ElementType.TYPE, ElementType.CONSTRUCTOR})
+public @interface GenerateConstructor{
+	/**
+	 * @return Whether the parameters can also be supplied as elements of unnamed list, in declaration order
+	 */
+	boolean positional() default false;
+
+	/**
+	 * @return Whether to report a warning for properties not mapped to any parameter
+	 */
+	boolean warnOtherProperties() default true;
+}
@@ -0,0 +1,126 @@
+package among.construct.metrics;
+
+import among.construct.Constructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of {@link Metric}s, recording call count, failure count and latency of named constructors.<br>
+ * Constructors are instrumented with {@link ConstructMetrics#instrument(String, Constructor)}. Rules of {@link
+ * among.construct.ConstructRule} and branches of {@link among.construct.ConditionedConstructor} can be instrumented
+ * from their builders, with {@code instrument(Instrumentation, String)}.<br>
+ * A call is considered failed if it returns {@code null} or throws an exception. Instrumented constructors with same
+ * name share one metric.<br>
+ * Every call is counted, but latency is only measured for a fraction of calls determined by sample rate, to reduce the
+ * cost of reading the clock on hot paths.
+ */
+public final class ConstructMetrics implements Instrumentation{
+	private final ConcurrentMap<String, Metric> metrics = new ConcurrentHashMap<>();
+	private final double sampleRate;
+
+	/**
+	 * Create new registry measuring latency of every call.
+	 */
+	public ConstructMetrics(){
+		this(1);
+	}
+	/**
+	 * Create new registry measuring latency of calls with probability of {@code sampleRate}.
+	 *
+	 * @param sampleRate Fraction of calls to measure latency of, from {@code 0} to {@code 1}
+	 * @throws IllegalArgumentException If {@code sampleRate} is out of range
+	 */
+	public ConstructMetrics(double sampleRate){
+		if(!(sampleRate>=0&&sampleRate<=1)) throw new IllegalArgumentException("sampleRate out of range: "+sampleRate);
+		this.sampleRate = sampleRate;
+	}
+
+	public double sampleRate(){
+		return sampleRate;
+	}
+
+	/**
+	 * Get metric with given name, creating one if it doesn't exist.
+	 *
+	 * @param name Name of the metric
+	 * @return Metric with given name
+	 * @throws NullPointerException If {@code name == null}
+	 */
+	public Metric metric(String name){
+		Objects.requireNonNull(name);
+		Metric m = metrics.get(name);
+		return m!=null ? m : metrics.computeIfAbsent(name, n -> new Metric(n, sampleRate));
+	}
+
+	/**
+	 * Wrap given constructor to record calls to the metric named {@code name}. Exceptions thrown by the constructor are
+	 * recorded as failure, then rethrown.
+	 *
+	 * @param name        Name of the metric
+	 * @param constructor The constructor to instrument
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Instrumented constructor
+	 * @throws NullPointerException If either {@code name == null} or {@code constructor == null}
+	 */
+	@Override public <IN, OUT> Constructor<IN, OUT> instrument(String name, Constructor<IN, OUT> constructor){
+		Objects.requireNonNull(constructor);
+		Metric metric = metric(name);
+		return (instance, reportHandler) -> {
+			long start = metric.start();
+			OUT out = null;
+			try{
+				return out = constructor.construct(instance, reportHandler);
+			}finally{
+				metric.stop(start, out!=null);
+			}
+		};
+	}
+	/**
+	 * Wrap given supplier to record calls to the metric named {@code name}.
+	 *
+	 * @param name     Name of the metric
+	 * @param supplier The supplier to instrument
+	 * @param <T>      Type of the resulting object
+	 * @return Instrumented supplier
+	 * @throws NullPointerException If either {@code name == null} or {@code supplier == null}
+	 * @see ConstructMetrics#instrument(String, Constructor)
+	 */
+	@Override public <T> Supplier<T> instrument(String name, Supplier<T> supplier){
+		Objects.requireNonNull(supplier);
+		Metric metric = metric(name);
+		return () -> {
+			long start = metric.start();
+			T t = null;
+			try{
+				return t = supplier.get();
+			}finally{
+				metric.stop(start, t!=null);
+			}
+		};
+	}
+
+	/**
+	 * Take snapshots of every metric registered.
+	 *
+	 * @return Snapshots of every metric, sorted by name
+	 */
+	public List<MetricSnapshot> snapshot(){
+		List<MetricSnapshot> list = new ArrayList<>(metrics.size());
+		for(Metric m : metrics.values()) list.add(m.snapshot());
+		list.sort((s1, s2) -> s1.name().compareTo(s2.name()));
+		return list;
+	}
+
+	/**
+	 * Reset every metric registered. Metrics stay registered.
+	 */
+	public void reset(){
+		for(Metric m : metrics.values()) m.reset();
+	}
+}
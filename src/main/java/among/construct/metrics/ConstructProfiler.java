@@ -0,0 +1,237 @@
+package among.construct.metrics;
+
+import among.construct.Constructor;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * {@link Instrumentation} recording the stack of named constructors currently executing, for example {@code
+ * EVAL/list:+ > EVAL_NUM > EVAL/all}, and the time spent on each stack.<br>
+ * Time spent in an instrumented constructor is attributed to its stack as total time; self time is the total time
+ * excluding the time spent in instrumented constructors called from it. Time spent in constructors without
+ * instrumentation is attributed to the closest instrumented caller. This includes the constants defined in {@link
+ * among.construct.Constructors}, which are never instrumented; {@link
+ * among.construct.Constructors#eval(Instrumentation)} provides an instrumented instance of {@link
+ * among.construct.Constructors#EVAL}.<br>
+ * Recorded stacks can be exported as call tree with {@link ConstructProfiler#snapshot()}, or in collapsed stack format
+ * used by flame graph tools with {@link ConstructProfiler#writeCollapsed(Appendable)}.<br>
+ * Each thread records to its own call tree; they are merged on export. Stacks being recorded concurrently with export
+ * may be partially included. Call trees of terminated threads are merged into one tree and released, on export or
+ * when new threads start recording.
+ */
+public final class ConstructProfiler implements Instrumentation{
+	private final ThreadLocal<ThreadProfile> threadProfile = ThreadLocal.withInitial(this::register);
+	private final List<ThreadProfile> threadProfiles = new CopyOnWriteArrayList<>();
+	/**
+	 * Merged call tree of terminated threads; guarded by {@code this}.
+	 */
+	private final Frame retired = new Frame(null, null);
+	private int retireThreshold = 16;
+
+	@Override public <IN, OUT> Constructor<IN, OUT> instrument(String name, Constructor<IN, OUT> constructor){
+		Objects.requireNonNull(name);
+		Objects.requireNonNull(constructor);
+		return (instance, reportHandler) -> {
+			ThreadProfile p = threadProfile.get();
+			Frame frame = p.enter(name);
+			long start = System.nanoTime();
+			try{
+				return constructor.construct(instance, reportHandler);
+			}finally{
+				p.exit(frame, System.nanoTime()-start);
+			}
+		};
+	}
+	@Override public <T> Supplier<T> instrument(String name, Supplier<T> supplier){
+		Objects.requireNonNull(name);
+		Objects.requireNonNull(supplier);
+		return () -> {
+			ThreadProfile p = threadProfile.get();
+			Frame frame = p.enter(name);
+			long start = System.nanoTime();
+			try{
+				return supplier.get();
+			}finally{
+				p.exit(frame, System.nanoTime()-start);
+			}
+		};
+	}
+
+	/**
+	 * Merge call trees of every thread.
+	 *
+	 * @return Root node of the merged call tree. The root node has no name, and its total time is the sum of total
+	 * time of its children.
+	 */
+	public ProfileNode snapshot(){
+		MergedFrame root = new MergedFrame(null);
+		synchronized(this){
+			retire();
+			root.merge(retired);
+		}
+		for(ThreadProfile p : threadProfiles) root.merge(p.root);
+		return root.toNode();
+	}
+
+	/**
+	 * Write recorded stacks in collapsed stack format; each line consists of names of the stack separated by {@code
+	 * ;}, followed by a space and self time of the stack in nanoseconds. Stacks with no self time are omitted.<br>
+	 * Characters {@code ;}, {@code \r} and {@code \n} in names are replaced with {@code _}.
+	 *
+	 * @param appendable Destination
+	 * @throws UncheckedIOException If {@code appendable} throws {@link IOException}
+	 */
+	public void writeCollapsed(Appendable appendable){
+		StringBuilder stack = new StringBuilder();
+		try{
+			for(ProfileNode n : snapshot().children()) writeCollapsed(appendable, n, stack);
+		}catch(IOException ex){
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * @return Recorded stacks in collapsed stack format
+	 * @see ConstructProfiler#writeCollapsed(Appendable)
+	 */
+	public String collapsed(){
+		StringBuilder stb = new StringBuilder();
+		writeCollapsed(stb);
+		return stb.toString();
+	}
+
+	private static void writeCollapsed(Appendable appendable, ProfileNode node, StringBuilder stack) throws IOException{
+		int length = stack.length();
+		if(length>0) stack.append(';');
+		String name = Objects.requireNonNull(node.name());
+		for(int i = 0; i<name.length(); i++){
+			char c = name.charAt(i);
+			stack.append(c==';'||c=='\r'||c=='\n' ? '_' : c);
+		}
+		if(node.selfNanos()>0) appendable.append(stack).append(' ').append(Long.toString(node.selfNanos())).append('\n');
+		for(ProfileNode n : node.children()) writeCollapsed(appendable, n, stack);
+		stack.setLength(length);
+	}
+
+	/**
+	 * Discard every recorded stack. Stacks being recorded concurrently may or may not be discarded.
+	 */
+	public synchronized void reset(){
+		retire();
+		retired.children.clear();
+		for(ThreadProfile p : threadProfiles) p.root.children.clear();
+	}
+
+	private synchronized ThreadProfile register(){
+		// amortized; terminated threads are only looked for once the number of profiles doubles
+		if(threadProfiles.size()>=retireThreshold){
+			retire();
+			retireThreshold = Math.max(16, threadProfiles.size()*2);
+		}
+		ThreadProfile p = new ThreadProfile(Thread.currentThread());
+		threadProfiles.add(p);
+		return p;
+	}
+
+	/**
+	 * Merge call trees of terminated threads into {@link ConstructProfiler#retired}, and release them.
+	 */
+	private void retire(){
+		List<ThreadProfile> terminated = null;
+		for(ThreadProfile p : threadProfiles){
+			Thread owner = p.owner.get();
+			if(owner!=null&&owner.isAlive()) continue;
+			retired.add(p.root);
+			if(terminated==null) terminated = new ArrayList<>();
+			terminated.add(p);
+		}
+		if(terminated!=null) threadProfiles.removeAll(terminated);
+	}
+
+	private static final class ThreadProfile{
+		final WeakReference<Thread> owner;
+		final Frame root = new Frame(null, null);
+		Frame current = root;
+
+		ThreadProfile(Thread owner){
+			this.owner = new WeakReference<>(owner);
+		}
+
+		Frame enter(String name){
+			Frame f = current.children.get(name);
+			if(f==null) f = current.children.computeIfAbsent(name, n -> new Frame(n, current));
+			return current = f;
+		}
+
+		void exit(Frame frame, long elapsed){
+			frame.calls++;
+			frame.totalNanos += elapsed;
+			current = frame.parent!=null ? frame.parent : root;
+		}
+	}
+
+	private static final class Frame{
+		@Nullable final String name;
+		@Nullable final Frame parent;
+		final Map<String, Frame> children = new ConcurrentHashMap<>();
+		volatile long calls;
+		volatile long totalNanos;
+
+		Frame(@Nullable String name, @Nullable Frame parent){
+			this.name = name;
+			this.parent = parent;
+		}
+
+		/**
+		 * Add records of {@code frame} and its children to this frame. Only called while no thread records to this
+		 * frame.
+		 */
+		void add(Frame frame){
+			calls += frame.calls;
+			totalNanos += frame.totalNanos;
+			for(Frame f : frame.children.values())
+				children.computeIfAbsent(f.name, n -> new Frame(n, this)).add(f);
+		}
+	}
+
+	private static final class MergedFrame{
+		@Nullable final String name;
+		final Map<String, MergedFrame> children = new HashMap<>();
+		long calls;
+		long totalNanos;
+
+		MergedFrame(@Nullable String name){
+			this.name = name;
+		}
+
+		void merge(Frame frame){
+			calls += frame.calls;
+			totalNanos += frame.totalNanos;
+			for(Frame f : frame.children.values())
+				children.computeIfAbsent(f.name, MergedFrame::new).merge(f);
+		}
+
+		ProfileNode toNode(){
+			List<ProfileNode> nodes = new ArrayList<>(children.size());
+			long childNanos = 0;
+			for(MergedFrame f : children.values()){
+				nodes.add(f.toNode());
+				childNanos += f.totalNanos;
+			}
+			nodes.sort((n1, n2) -> Long.compare(n2.totalNanos(), n1.totalNanos()));
+			if(name==null) return new ProfileNode(null, 0, childNanos, 0, nodes);
+			return new ProfileNode(name, calls, totalNanos, Math.max(0, totalNanos-childNanos), nodes);
+		}
+	}
+}
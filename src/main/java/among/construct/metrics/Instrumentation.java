@@ -0,0 +1,36 @@
+package among.construct.metrics;
+
+import among.construct.Constructor;
+
+import java.util.function.Supplier;
+
+/**
+ * Wraps named constructors to observe their calls.
+ *
+ * @see ConstructMetrics
+ * @see ConstructProfiler
+ */
+public interface Instrumentation{
+	/**
+	 * Wrap given constructor to record calls under {@code name}.
+	 *
+	 * @param name        Name of the constructor
+	 * @param constructor The constructor to instrument
+	 * @param <IN>        Type of the parameter object
+	 * @param <OUT>       Type of the resulting object
+	 * @return Instrumented constructor
+	 * @throws NullPointerException If either {@code name == null} or {@code constructor == null}
+	 */
+	<IN, OUT> Constructor<IN, OUT> instrument(String name, Constructor<IN, OUT> constructor);
+
+	/**
+	 * Wrap given supplier to record calls under {@code name}.
+	 *
+	 * @param name     Name of the supplier
+	 * @param supplier The supplier to instrument
+	 * @param <T>      Type of the resulting object
+	 * @return Instrumented supplier
+	 * @throws NullPointerException If either {@code name == null} or {@code supplier == null}
+	 */
+	<T> Supplier<T> instrument(String name, Supplier<T> supplier);
+}
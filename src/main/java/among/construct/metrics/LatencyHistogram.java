@@ -0,0 +1,127 @@
+package among.construct.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds, with log-linear buckets. Values are grouped into powers of two,
+ * each of which is split into {@value SUB_BUCKETS} linear sub-buckets; recorded values are kept with about 6% of
+ * relative error, with fixed memory footprint regardless of the range of values.<br>
+ * Recording is lock-free, and never allocates.
+ */
+public final class LatencyHistogram{
+	private static final int SUB_BUCKET_BITS = 4;
+	static final int SUB_BUCKETS = 1<<SUB_BUCKET_BITS;
+	private static final int BUCKET_COUNT = (64-SUB_BUCKET_BITS)*SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Record a value. Negative values are recorded as {@code 0}.
+	 *
+	 * @param nanos Value to record
+	 */
+	public void record(long nanos){
+		if(nanos<0) nanos = 0;
+		counts.incrementAndGet(indexOf(nanos));
+		count.increment();
+		sum.add(nanos);
+		min.accumulate(nanos);
+		max.accumulate(nanos);
+	}
+
+	public void reset(){
+		for(int i = 0; i<BUCKET_COUNT; i++) counts.set(i, 0);
+		count.reset();
+		sum.reset();
+		min.reset();
+		max.reset();
+	}
+
+	/**
+	 * Take a snapshot of this histogram. Values being recorded concurrently may or may not be included.
+	 *
+	 * @return Snapshot of this histogram
+	 */
+	public Snapshot snapshot(){
+		long[] c = new long[BUCKET_COUNT];
+		long total = 0;
+		for(int i = 0; i<BUCKET_COUNT; i++) total += c[i] = counts.get(i);
+		return new Snapshot(c, total, sum.sum(), total==0 ? 0 : min.get(), total==0 ? 0 : max.get());
+	}
+
+	static int indexOf(long value){
+		int bucket = Math.max(0, 63-Long.numberOfLeadingZeros(value)-SUB_BUCKET_BITS);
+		return bucket*SUB_BUCKETS+(int)(value>>>bucket);
+	}
+	static long highestEquivalentValue(int index){
+		int bucket = Math.max(0, index/SUB_BUCKETS-1);
+		long sub = index-bucket*SUB_BUCKETS;
+		return ((sub+1)<<bucket)-1;
+	}
+
+	/**
+	 * Immutable snapshot of {@link LatencyHistogram}.
+	 */
+	public static final class Snapshot{
+		private final long[] counts;
+		private final long count;
+		private final long sum;
+		private final long min;
+		private final long max;
+
+		Snapshot(long[] counts, long count, long sum, long min, long max){
+			this.counts = counts;
+			this.count = count;
+			this.sum = sum;
+			this.min = min;
+			this.max = max;
+		}
+
+		public long count(){
+			return count;
+		}
+		public long min(){
+			return min;
+		}
+		public long max(){
+			return max;
+		}
+		public double mean(){
+			return count==0 ? 0 : (double)sum/count;
+		}
+
+		/**
+		 * Get the value at given percentile. Returned value is the highest value equivalent to the recorded value
+		 * within the precision of the histogram, capped at {@link Snapshot#max()}.
+		 *
+		 * @param percentile Percentile, from {@code 0} to {@code 100}
+		 * @return Value at given percentile, or {@code 0} if the snapshot is empty
+		 * @throws IllegalArgumentException If {@code percentile} is out of range
+		 */
+		public long percentile(double percentile){
+			if(!(percentile>=0&&percentile<=100)) throw new IllegalArgumentException("percentile out of range: "+percentile);
+			if(count==0) return 0;
+			long target = Math.max(1, (long)Math.ceil(count*percentile/100));
+			long seen = 0;
+			for(int i = 0; i<counts.length; i++){
+				seen += counts[i];
+				if(seen>=target) return Math.min(max, highestEquivalentValue(i));
+			}
+			return max;
+		}
+
+		@Override public String toString(){
+			return "count="+count+
+					", mean="+(long)mean()+
+					"ns, p50="+percentile(50)+
+					"ns, p99="+percentile(99)+
+					"ns, max="+max+"ns";
+		}
+	}
+}
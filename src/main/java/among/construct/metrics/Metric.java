@@ -0,0 +1,81 @@
+package among.construct.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram of one named target, registered in {@link ConstructMetrics}.<br>
+ * Each call is counted; latency is measured only for sampled calls. Calls are recorded with {@link Metric#start()}
+ * followed by {@link Metric#stop(long, boolean)}:
+ * <pre>{@code
+ * long start = metric.start();
+ * boolean success = false;
+ * try{
+ *   ...
+ * }finally{
+ *   metric.stop(start, success);
+ * }
+ * }</pre>
+ */
+public final class Metric{
+	private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+	private final String name;
+	private final double sampleRate;
+
+	private final LongAdder calls = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	Metric(String name, double sampleRate){
+		this.name = name;
+		this.sampleRate = sampleRate;
+	}
+
+	public String name(){
+		return name;
+	}
+
+	/**
+	 * Mark the start of a call.
+	 *
+	 * @return Start time to be passed to {@link Metric#stop(long, boolean)}
+	 */
+	public long start(){
+		calls.increment();
+		return sampleRate>=1||ThreadLocalRandom.current().nextDouble()<sampleRate ? System.nanoTime() : NOT_SAMPLED;
+	}
+
+	/**
+	 * Mark the end of a call.
+	 *
+	 * @param start   Value returned from {@link Metric#start()}
+	 * @param success Whether the call was successful
+	 */
+	public void stop(long start, boolean success){
+		if(!success) failures.increment();
+		if(start!=NOT_SAMPLED) latency.record(System.nanoTime()-start);
+	}
+
+	public void reset(){
+		calls.reset();
+		failures.reset();
+		latency.reset();
+	}
+
+	/**
+	 * Take a snapshot of this metric. Calls being recorded concurrently may or may not be included; calls started but
+	 * not finished are counted as successful.
+	 *
+	 * @return Snapshot of this metric
+	 */
+	public MetricSnapshot snapshot(){
+		long calls = this.calls.sum();
+		long failures = this.failures.sum();
+		return new MetricSnapshot(name, calls, Math.max(0, calls-failures), failures, latency.snapshot());
+	}
+
+	@Override public String toString(){
+		return snapshot().toString();
+	}
+}
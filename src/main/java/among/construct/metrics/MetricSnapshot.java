@@ -0,0 +1,46 @@
+package among.construct.metrics;
+
+/**
+ * Immutable snapshot of {@link Metric}.
+ */
+public final class MetricSnapshot{
+	private final String name;
+	private final long calls;
+	private final long successes;
+	private final long failures;
+	private final LatencyHistogram.Snapshot latency;
+
+	MetricSnapshot(String name, long calls, long successes, long failures, LatencyHistogram.Snapshot latency){
+		this.name = name;
+		this.calls = calls;
+		this.successes = successes;
+		this.failures = failures;
+		this.latency = latency;
+	}
+
+	public String name(){
+		return name;
+	}
+	public long calls(){
+		return calls;
+	}
+	public long successes(){
+		return successes;
+	}
+	public long failures(){
+		return failures;
+	}
+	/**
+	 * @return Latency of sampled calls, in nanoseconds
+	 */
+	public LatencyHistogram.Snapshot latency(){
+		return latency;
+	}
+
+	@Override public String toString(){
+		return name+": calls="+calls+
+				", successes="+successes+
+				", failures="+failures+
+				", latency["+latency+"]";
+	}
+}
@@ -0,0 +1,60 @@
+package among.construct.metrics;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable node of the call tree recorded by {@link ConstructProfiler}. Each node represents one stack of named
+ * constructors, identified by the names from the root to the node.
+ */
+public final class ProfileNode{
+	@Nullable private final String name;
+	private final long calls;
+	private final long totalNanos;
+	private final long selfNanos;
+	private final List<ProfileNode> children;
+
+	ProfileNode(@Nullable String name, long calls, long totalNanos, long selfNanos, List<ProfileNode> children){
+		this.name = name;
+		this.calls = calls;
+		this.totalNanos = totalNanos;
+		this.selfNanos = selfNanos;
+		this.children = Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * @return Name of the constructor, or {@code null} for root node
+	 */
+	@Nullable public String name(){
+		return name;
+	}
+	public long calls(){
+		return calls;
+	}
+	/**
+	 * @return Time spent in the constructor, including time spent in children
+	 */
+	public long totalNanos(){
+		return totalNanos;
+	}
+	/**
+	 * @return Time spent in the constructor, excluding time spent in children
+	 */
+	public long selfNanos(){
+		return selfNanos;
+	}
+	/**
+	 * @return Unmodifiable list of child nodes, sorted by total time in descending order
+	 */
+	public List<ProfileNode> children(){
+		return children;
+	}
+
+	@Override public String toString(){
+		return name+": calls="+calls+
+				", total="+totalNanos+
+				"ns, self="+selfNanos+"ns";
+	}
+}
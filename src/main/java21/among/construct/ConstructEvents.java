@@ -0,0 +1,115 @@
+package among.construct;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Emission of JDK Flight Recorder events. This is the implementation for Java 21 or above.<br>
+ * Every event is disabled by default, and has to be enabled in recording settings; for example, {@code
+ * -XX:StartFlightRecording:among.construct.RuleDispatch#enabled=true}. While no recording is running, {@link
+ * ConstructEvents#isActive()} is a single volatile read.
+ */
+final class ConstructEvents{
+	private ConstructEvents(){}
+
+	private static volatile boolean active;
+
+	static{
+		FlightRecorder.addListener(new FlightRecorderListener(){
+			@Override public void recorderInitialized(FlightRecorder recorder){
+				update(recorder);
+			}
+			@Override public void recordingStateChanged(Recording recording){
+				update(FlightRecorder.getFlightRecorder());
+			}
+		});
+	}
+
+	private static void update(FlightRecorder recorder){
+		boolean running = false;
+		for(Recording r : recorder.getRecordings()){
+			if(r.getState()==RecordingState.RUNNING){
+				running = true;
+				break;
+			}
+		}
+		active = running;
+	}
+
+	/**
+	 * @return Whether events might be recorded
+	 */
+	static boolean isActive(){
+		return active;
+	}
+
+	static void ruleDispatch(String kind, @Nullable String name, int depth){
+		RuleDispatch e = new RuleDispatch();
+		if(!e.isEnabled()) return;
+		e.kind = kind;
+		e.name = name;
+		e.depth = depth;
+		e.commit();
+	}
+
+	static void conditionDispatch(int conditions, int tested, int match){
+		ConditionDispatch e = new ConditionDispatch();
+		if(!e.isEnabled()) return;
+		e.conditions = conditions;
+		e.tested = tested;
+		e.match = match;
+		e.commit();
+	}
+
+	static void exceptionCaught(Throwable exception){
+		ExceptionCaught e = new ExceptionCaught();
+		if(!e.isEnabled()) return;
+		e.exceptionClass = exception.getClass();
+		e.message = exception.getMessage();
+		e.commit();
+	}
+
+	@Name("among.construct.RuleDispatch")
+	@Label("Construct Rule Dispatch")
+	@Description("Rule chosen by ConstructRule")
+	@Category({"Among", "Construct"})
+	@Enabled(false)
+	@StackTrace(false)
+	static final class RuleDispatch extends Event{
+		@Label("Kind") String kind;
+		@Label("Name") @Nullable String name;
+		@Label("Depth") @Description("Number of rules in the chain of base rules searched") int depth;
+	}
+
+	@Name("among.construct.ConditionDispatch")
+	@Label("Condition Dispatch")
+	@Description("Condition matched by ConditionedConstructor")
+	@Category({"Among", "Construct"})
+	@Enabled(false)
+	@StackTrace(false)
+	static final class ConditionDispatch extends Event{
+		@Label("Conditions") int conditions;
+		@Label("Tested") int tested;
+		@Label("Match") @Description("Index of the condition matched, or -1 if none matched") int match;
+	}
+
+	@Name("among.construct.ExceptionCaught")
+	@Label("Construct Exception Caught")
+	@Description("Exception caught by Constructor.tryConstruct")
+	@Category({"Among", "Construct"})
+	@Enabled(false)
+	static final class ExceptionCaught extends Event{
+		@Label("Exception Class") Class<?> exceptionClass;
+		@Label("Message") @Nullable String message;
+	}
+}
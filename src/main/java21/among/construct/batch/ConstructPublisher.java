@@ -0,0 +1,134 @@
+package among.construct.batch;
+
+import among.construct.Constructor;
+import among.obj.Among;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} constructing root values as the subscriber requests them. Roots are read from the source and
+ * constructed one at a time on the executor, only while the subscriber has outstanding demand. The source is checked
+ * for exhaustion after each result and on subscription, so completion is signaled as soon as the last result is
+ * delivered, without further demand. Every signal to the subscriber is made from the executor, never concurrently.<br>
+ * The publisher accepts a single subscriber, since the source can only be read once. Further subscribers are
+ * rejected with {@link IllegalStateException}.<br>
+ * This class is only available on Java 21 or above.
+ *
+ * @param <T> Type of the resulting objects
+ * @see ConstructStream
+ */
+public final class ConstructPublisher<T> implements Flow.Publisher<RootResult<T>>{
+	private final Iterator<? extends Among> roots;
+	private final Constructor<Among, T> constructor;
+	private final Executor executor;
+	private final AtomicBoolean subscribed = new AtomicBoolean();
+
+	/**
+	 * @param roots       Source of root values, only accessed from {@code executor}
+	 * @param constructor Constructor for root values
+	 * @param executor    Executor to construct roots and signal the subscriber on
+	 * @throws NullPointerException If either {@code roots == null}, {@code constructor == null} or {@code executor ==
+	 *                              null}
+	 */
+	public ConstructPublisher(Iterator<? extends Among> roots, Constructor<Among, T> constructor, Executor executor){
+		this.roots = Objects.requireNonNull(roots);
+		this.constructor = Objects.requireNonNull(constructor);
+		this.executor = Objects.requireNonNull(executor);
+	}
+
+	@Override public void subscribe(Flow.Subscriber<? super RootResult<T>> subscriber){
+		Objects.requireNonNull(subscriber);
+		if(!subscribed.compareAndSet(false, true)){
+			subscriber.onSubscribe(new Flow.Subscription(){
+				@Override public void request(long n){}
+				@Override public void cancel(){}
+			});
+			subscriber.onError(new IllegalStateException("ConstructPublisher only supports one subscriber"));
+			return;
+		}
+		Subscription subscription = new Subscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		// complete empty sources without waiting for demand
+		subscription.schedule();
+	}
+
+	private final class Subscription implements Flow.Subscription, Runnable{
+		private final AtomicLong demand = new AtomicLong();
+		/**
+		 * Number of times the drain was requested while running; the drain only runs on one thread at a time.
+		 */
+		private final AtomicInteger pending = new AtomicInteger();
+		@Nullable private Flow.Subscriber<? super RootResult<T>> subscriber;
+		@Nullable private volatile IllegalArgumentException invalidRequest;
+		private volatile boolean cancelled;
+
+		Subscription(Flow.Subscriber<? super RootResult<T>> subscriber){
+			this.subscriber = subscriber;
+		}
+
+		@Override public void request(long n){
+			if(n<=0){
+				if(invalidRequest==null) invalidRequest = new IllegalArgumentException("Non-positive request: "+n);
+			}else demand.getAndAccumulate(n, (d, x) -> d+x<0 ? Long.MAX_VALUE : d+x);
+			schedule();
+		}
+		@Override public void cancel(){
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule(){
+			if(pending.getAndIncrement()==0) executor.execute(this);
+		}
+
+		@Override public void run(){
+			int missed = 1;
+			do{
+				drain();
+				missed = pending.addAndGet(-missed);
+			}while(missed!=0);
+		}
+
+		private void drain(){
+			Flow.Subscriber<? super RootResult<T>> subscriber = this.subscriber;
+			if(subscriber==null) return;
+			if(cancelled){
+				this.subscriber = null;
+				return;
+			}
+			IllegalArgumentException invalidRequest = this.invalidRequest;
+			if(invalidRequest!=null){
+				terminate().onError(invalidRequest);
+				return;
+			}
+			try{
+				while(!cancelled){
+					if(!roots.hasNext()){
+						terminate().onComplete();
+						return;
+					}
+					if(demand.get()<=0) return;
+					RootResult<T> result = ConstructStream.construct(roots.next(), constructor);
+					if(demand.get()!=Long.MAX_VALUE) demand.decrementAndGet();
+					subscriber.onNext(result);
+				}
+			}catch(RuntimeException ex){
+				if(this.subscriber!=null) terminate().onError(ex);
+			}
+		}
+
+		private Flow.Subscriber<? super RootResult<T>> terminate(){
+			Flow.Subscriber<? super RootResult<T>> subscriber = Objects.requireNonNull(this.subscriber);
+			this.subscriber = null;
+			cancelled = true;
+			return subscriber;
+		}
+	}
+}
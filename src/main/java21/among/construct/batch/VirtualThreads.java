@@ -0,0 +1,21 @@
+package among.construct.batch;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads. This is the implementation for Java 21 or above.
+ */
+final class VirtualThreads{
+	private VirtualThreads(){}
+
+	/**
+	 * @return Executor starting a new virtual thread for each task, or {@code null} if virtual threads are not
+	 * supported
+	 */
+	@Nullable static ExecutorService newExecutor(){
+		return Executors.newVirtualThreadPerTaskExecutor();
+	}
+}
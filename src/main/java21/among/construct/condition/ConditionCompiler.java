@@ -0,0 +1,492 @@
+package among.construct.condition;
+
+import among.TypeFlags;
+import among.construct.Constructor;
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import among.report.ReportHandler;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compilation of conditions into classes specialized for each condition. This is the implementation for Java 21 or
+ * above.<br>
+ * Each condition is compiled into a hidden class implementing {@link Predicate}, with sizes, property keys, indices and
+ * type flags written into the bytecode as constants; checks of each property or element are unrolled. Dispatch of
+ * conditioned constructors is compiled the same way into a hidden class implementing {@link Constructor}, with checks
+ * of every condition inlined, and each constructor held in its own final field and called from its own call site.
+ * Hidden classes are unloaded with the condition or constructor they belong to. Signatures of the methods called from
+ * the compiled code are resolved reflectively, so any change in them makes compilation fail instead of the compiled
+ * code; if compilation fails for any reason, {@code null} is returned and the condition is interpreted.
+ */
+final class ConditionCompiler{
+	private ConditionCompiler(){}
+
+	/**
+	 * Class file version 49 (Java 5) is used since its verification does not need stack map frames.
+	 */
+	private static final int CLASS_VERSION = 49;
+	private static final String CONDITION_CLASS_NAME = "among/construct/condition/CompiledCondition";
+	private static final String DISPATCH_CLASS_NAME = "among/construct/condition/CompiledDispatch";
+	private static final String CONSTRUCTOR_DESCRIPTOR = "L"+internalName(Constructor.class)+";";
+	/**
+	 * Branch offsets are signed 16 bit values; larger conditions are interpreted.
+	 */
+	private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+	@Nullable static Predicate<AmongObject> compileObject(int minSize, int maxSize, String[] keys, boolean[] expected, byte[] types){
+		try{
+			ClassWriter w = new ClassWriter(CONDITION_CLASS_NAME, Predicate.class.getMethod("test", Object.class));
+			Code c = w.code;
+			int fail = c.newLabel();
+			objectCheck(w, fail, 2, minSize, maxSize, keys, expected, types);
+			c.op(0x04).op(0xac); // iconst_1, ireturn
+			c.label(fail);
+			c.op(0x03).op(0xac); // iconst_0, ireturn
+			return define(w, Predicate.class, 2, 4, null);
+		}catch(ReflectiveOperationException|LinkageError|IllegalArgumentException|IllegalStateException ex){
+			return null;
+		}
+	}
+
+	@Nullable static Predicate<AmongList> compileList(int minSize, int maxSize, int[] indices, byte[] types){
+		try{
+			ClassWriter w = new ClassWriter(CONDITION_CLASS_NAME, Predicate.class.getMethod("test", Object.class));
+			Code c = w.code;
+			int fail = c.newLabel();
+			listCheck(w, fail, 2, minSize, maxSize, indices, types);
+			c.op(0x04).op(0xac); // iconst_1, ireturn
+			c.label(fail);
+			c.op(0x03).op(0xac); // iconst_0, ireturn
+			return define(w, Predicate.class, 3, 4, null);
+		}catch(ReflectiveOperationException|LinkageError|IllegalArgumentException|IllegalStateException ex){
+			return null;
+		}
+	}
+
+	@Nullable static <A extends Among, T> Constructor<A, T> compileDispatch(Condition<A>[] conditions, Constructor<A, T>[] constructors, boolean firstMatch, Constructor<A, T> fallback){
+		try{
+			Method construct = Constructor.class.getMethod("construct", Object.class, ReportHandler.class);
+			ClassWriter w = new ClassWriter(DISPATCH_CLASS_NAME, construct);
+			Code c = w.code;
+			// locals: 0 this, 1 instance, 2 report handler, 3 and 4 used by the checks, 5 index of the matched condition
+			int fallbackLabel = c.newLabel();
+			if(conditions.length==1){
+				// warnings of the only condition are reported by the fallback
+				if(reportsOnSuccess(conditions[0])) c.aload(2).jump(0xc7, fallbackLabel); // ifnonnull
+				check(w, conditions[0], fallbackLabel);
+				call(w, 0, construct);
+			}else if(firstMatch){
+				for(int i = 0; i<conditions.length; i++){
+					int next = c.newLabel();
+					check(w, conditions[i], next);
+					call(w, i, construct);
+					c.label(next);
+				}
+			}else{
+				c.push(-1).istore(5);
+				for(int i = 0; i<conditions.length; i++){
+					int next = c.newLabel();
+					check(w, conditions[i], next);
+					c.iload(5).jump(0x9c, fallbackLabel); // ifge; multiple matches are reported by the fallback
+					c.push(i).istore(5);
+					c.label(next);
+				}
+				for(int i = 0; i<conditions.length; i++){
+					int next = c.newLabel();
+					c.iload(5).push(i).jump(0xa0, next); // if_icmpne
+					call(w, i, construct);
+					c.label(next);
+				}
+			}
+			c.label(fallbackLabel);
+			call(w, constructors.length, construct);
+
+			Constructor<?, ?>[] fields = Arrays.copyOf(constructors, constructors.length+1, Constructor[].class);
+			fields[constructors.length] = fallback;
+			return define(w, Constructor.class, 3, 6, fields);
+		}catch(ReflectiveOperationException|LinkageError|IllegalArgumentException|IllegalStateException ex){
+			return null;
+		}
+	}
+
+	private static boolean reportsOnSuccess(Condition<?> condition){
+		return condition instanceof ListCondition l ? l.reportsOnSuccess() : ((ObjectCondition)condition).reportsOnSuccess();
+	}
+
+	private static void check(ClassWriter w, Condition<?> condition, int fail) throws ReflectiveOperationException{
+		if(condition instanceof ListCondition l){
+			listCheck(w, fail, 3, l.minSize(), l.maxSize(), l.indices, l.indexTypes);
+		}else if(condition instanceof ObjectCondition o){
+			boolean[] expected = new boolean[o.expectedKeys.length];
+			byte[] types = new byte[o.expectedKeys.length];
+			for(int i = 0; i<expected.length; i++){
+				expected[i] = o.expectedChecks[i].expected;
+				types[i] = o.expectedChecks[i].type;
+			}
+			objectCheck(w, fail, 3, o.minSize(), o.maxSize(), o.expectedKeys, expected, types);
+		}else throw new IllegalArgumentException("Unknown condition");
+	}
+
+	/**
+	 * Call the constructor in field {@code field} with the parameters of the compiled method, and return the result.
+	 */
+	private static void call(ClassWriter w, int field, Method construct){
+		w.code.aload(0).op(0xb4).u2(w.field(field)); // getfield
+		w.code.aload(1).aload(2).invoke(0xb9, Constructor.class, construct).op(0xb0); // areturn
+	}
+
+	/**
+	 * Write the size check and the checks of expected properties of an object condition, casting the parameter into
+	 * local {@code local} and using {@code local+1} for each property. Jumps to {@code fail} if the check fails, and
+	 * falls through otherwise.
+	 */
+	private static void objectCheck(ClassWriter w, int fail, int local, int minSize, int maxSize, String[] keys, boolean[] expected, byte[] types) throws ReflectiveOperationException{
+		Method size = AmongObject.class.getMethod("size");
+		Method getProperty = AmongObject.class.getMethod("getProperty", String.class);
+		Method matches = matches();
+		if(size.getReturnType()!=int.class||matches==null||
+				!matches.getParameterTypes()[1].isAssignableFrom(getProperty.getReturnType()))
+			throw new IllegalStateException("Incompatible AmongObject");
+
+		Code c = w.code;
+		c.aload(1).op(0xc0).u2(w.classRef(AmongObject.class)).astore(local); // checkcast
+		if(minSize>=0){
+			c.aload(local).invoke(0xb6, AmongObject.class, size).push(minSize);
+			c.jump(0xa1, fail); // if_icmplt
+		}
+		if(maxSize>=0){
+			c.aload(local).invoke(0xb6, AmongObject.class, size).push(maxSize);
+			c.jump(0xa3, fail); // if_icmpgt
+		}
+		for(int i = 0; i<keys.length; i++){
+			if(!expected[i]&&types[i]==TypeFlags.ANY) continue;
+			int present = c.newLabel(), next = c.newLabel();
+			c.aload(local).ldc(w.string(keys[i])).invoke(0xb6, AmongObject.class, getProperty).astore(local+1);
+			c.aload(local+1).jump(0xc7, present); // ifnonnull
+			c.jump(0xa7, expected[i] ? fail : next); // goto
+			c.label(present);
+			if(types[i]!=TypeFlags.ANY){
+				c.push(types[i]).aload(local+1).invoke(0xb8, TypeFlags.class, matches);
+				c.jump(0x99, fail); // ifeq
+			}
+			c.label(next);
+		}
+	}
+
+	/**
+	 * Write the size check and the checks of elements at specified indices of a list condition, casting the parameter
+	 * into local {@code local} and storing its size in {@code local+1}. Jumps to {@code fail} if the check fails, and
+	 * falls through otherwise.
+	 */
+	private static void listCheck(ClassWriter w, int fail, int local, int minSize, int maxSize, int[] indices, byte[] types) throws ReflectiveOperationException{
+		Method size = AmongList.class.getMethod("size");
+		Method get = AmongList.class.getMethod("get", int.class);
+		Method matches = matches();
+		if(size.getReturnType()!=int.class||matches==null||
+				!matches.getParameterTypes()[1].isAssignableFrom(get.getReturnType()))
+			throw new IllegalStateException("Incompatible AmongList");
+
+		Code c = w.code;
+		int success = c.newLabel();
+		c.aload(1).op(0xc0).u2(w.classRef(AmongList.class)).astore(local); // checkcast
+		c.aload(local).invoke(0xb6, AmongList.class, size).istore(local+1);
+		if(minSize>=0) c.iload(local+1).push(minSize).jump(0xa1, fail); // if_icmplt
+		if(maxSize>=0) c.iload(local+1).push(maxSize).jump(0xa3, fail); // if_icmpgt
+		for(int i = 0; i<indices.length; i++){
+			if(types[i]==TypeFlags.ANY) continue;
+			// indices are sorted; every index after this one is out of range too
+			c.iload(local+1).push(indices[i]).jump(0xa4, success); // if_icmple
+			c.push(types[i]).aload(local).push(indices[i]).invoke(0xb6, AmongList.class, get);
+			c.invoke(0xb8, TypeFlags.class, matches).jump(0x99, fail); // ifeq
+		}
+		c.label(success);
+	}
+
+	@Nullable private static Method matches(){
+		for(Method m : TypeFlags.class.getMethods()){
+			if(!m.getName().equals("matches")||m.getReturnType()!=boolean.class) continue;
+			Class<?>[] params = m.getParameterTypes();
+			if(params.length==2&&(params[0]==byte.class||params[0]==int.class)&&params[1].isAssignableFrom(Among.class))
+				return m;
+		}
+		return null;
+	}
+
+	/**
+	 * Define the class written by {@code w}, and create its instance.
+	 *
+	 * @param fields Constructors to store in the fields of the instance, or {@code null} for a class without fields
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable private static <T> T define(ClassWriter w, Class<? super T> type, int maxStack, int maxLocals, @Nullable Constructor<?, ?>[] fields) throws ReflectiveOperationException{
+		byte[] bytes = w.toByteArray(maxStack, maxLocals, fields!=null ? fields.length : 0);
+		if(bytes==null) return null;
+		Class<?> c = MethodHandles.lookup().defineHiddenClass(bytes, true).lookupClass();
+		return (T)type.cast(fields!=null ?
+				c.getConstructor(Constructor[].class).newInstance((Object)fields) :
+				c.getConstructor().newInstance());
+	}
+
+	/**
+	 * Writer of class file implementing the interface method given on creation, with code written by {@link
+	 * ClassWriter#code}. Classes with fields of {@link Constructor} are created with a public constructor taking an
+	 * array of the field values; otherwise, with a public no-arg constructor.
+	 */
+	private static final class ClassWriter{
+		private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+		private final DataOutputStream cp = new DataOutputStream(constantPool);
+		private final Map<String, Integer> constants = new HashMap<>();
+		private int constantCount = 1;
+
+		private final String className;
+		private final Method implemented;
+		final Code code = new Code(this);
+
+		ClassWriter(String className, Method implemented){
+			this.className = className;
+			this.implemented = implemented;
+		}
+
+		int utf8(String s){
+			return constant("U"+s, () -> {
+				cp.writeByte(1);
+				cp.writeUTF(s);
+			});
+		}
+		int classRef(String internalName){
+			int name = utf8(internalName);
+			return constant("C"+internalName, () -> {
+				cp.writeByte(7);
+				cp.writeShort(name);
+			});
+		}
+		int classRef(Class<?> c){
+			return classRef(internalName(c));
+		}
+		int string(String s){
+			int utf8 = utf8(s);
+			return constant("S"+s, () -> {
+				cp.writeByte(8);
+				cp.writeShort(utf8);
+			});
+		}
+		int integer(int value){
+			return constant("I"+value, () -> {
+				cp.writeByte(3);
+				cp.writeInt(value);
+			});
+		}
+		int methodRef(String owner, String name, String descriptor, boolean isInterface){
+			return memberRef(isInterface ? 11 : 10, owner, name, descriptor);
+		}
+		/**
+		 * @return Reference to the field of {@link Constructor} with given index
+		 */
+		int field(int index){
+			return memberRef(9, className, "c"+index, CONSTRUCTOR_DESCRIPTOR);
+		}
+
+		private int memberRef(int tag, String owner, String name, String descriptor){
+			int ownerRef = classRef(owner);
+			int nameRef = utf8(name), descriptorRef = utf8(descriptor);
+			int nameAndType = constant("N"+name+" "+descriptor, () -> {
+				cp.writeByte(12);
+				cp.writeShort(nameRef);
+				cp.writeShort(descriptorRef);
+			});
+			return constant(tag+owner+"."+name+descriptor, () -> {
+				cp.writeByte(tag);
+				cp.writeShort(ownerRef);
+				cp.writeShort(nameAndType);
+			});
+		}
+
+		private int constant(String key, ConstantWriter writer){
+			Integer index = constants.get(key);
+			if(index!=null) return index;
+			try{
+				writer.write();
+			}catch(IOException ex){
+				throw new IllegalStateException(ex);
+			}
+			constants.put(key, constantCount);
+			return constantCount++;
+		}
+
+		/**
+		 * @return Bytes of the class file, or {@code null} if the code is too large
+		 */
+		@Nullable byte[] toByteArray(int maxStack, int maxLocals, int fieldCount){
+			byte[] methodCode = code.toByteArray();
+			if(methodCode==null) return null;
+			int thisClass = classRef(className);
+			int superClass = classRef(Object.class);
+			int implementedClass = classRef(implemented.getDeclaringClass());
+			int init = utf8("<init>");
+			int initDescriptor = utf8(fieldCount>0 ? "(["+CONSTRUCTOR_DESCRIPTOR+")V" : "()V");
+			int objectInit = methodRef("java/lang/Object", "<init>", "()V", false);
+			int methodName = utf8(implemented.getName()), methodDescriptor = utf8(descriptor(implemented));
+			int fieldDescriptor = utf8(CONSTRUCTOR_DESCRIPTOR);
+			int codeAttribute = utf8("Code");
+
+			Code initCode = new Code(this);
+			initCode.aload(0).op(0xb7).u2(objectInit); // invokespecial
+			for(int i = 0; i<fieldCount; i++)
+				initCode.aload(0).aload(1).push(i).op(0x32).op(0xb5).u2(field(i)); // aaload, putfield
+			initCode.op(0xb1); // return
+			byte[] initBytes = initCode.toByteArray();
+			if(initBytes==null||constantCount>0xFFFF) return null;
+			try{
+				ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+				DataOutputStream out = new DataOutputStream(bytes);
+				out.writeInt(0xCAFEBABE);
+				out.writeShort(0);
+				out.writeShort(CLASS_VERSION);
+				out.writeShort(constantCount);
+				constantPool.writeTo(out);
+				out.writeShort(0x0030); // ACC_FINAL | ACC_SUPER
+				out.writeShort(thisClass);
+				out.writeShort(superClass);
+				out.writeShort(1);
+				out.writeShort(implementedClass);
+				out.writeShort(fieldCount);
+				for(int i = 0; i<fieldCount; i++){
+					out.writeShort(0x0012); // ACC_PRIVATE | ACC_FINAL
+					out.writeShort(utf8("c"+i));
+					out.writeShort(fieldDescriptor);
+					out.writeShort(0); // attributes
+				}
+				out.writeShort(2); // methods
+				method(out, init, initDescriptor, codeAttribute, fieldCount>0 ? 3 : 1, fieldCount>0 ? 2 : 1, initBytes);
+				method(out, methodName, methodDescriptor, codeAttribute, maxStack, maxLocals, methodCode);
+				out.writeShort(0); // attributes
+				return bytes.toByteArray();
+			}catch(IOException ex){
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		private static void method(DataOutputStream out, int name, int descriptor, int codeAttribute, int maxStack, int maxLocals, byte[] code) throws IOException{
+			out.writeShort(0x0001); // ACC_PUBLIC
+			out.writeShort(name);
+			out.writeShort(descriptor);
+			out.writeShort(1);
+			out.writeShort(codeAttribute);
+			out.writeInt(12+code.length);
+			out.writeShort(maxStack);
+			out.writeShort(maxLocals);
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeShort(0); // exception table
+			out.writeShort(0); // attributes
+		}
+	}
+
+	/**
+	 * Bytecode of a method, with forward jumps to labels patched once the code is complete.
+	 */
+	private static final class Code{
+		private final ClassWriter classWriter;
+		private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+		private final List<int[]> jumps = new ArrayList<>();
+		private final List<Integer> labels = new ArrayList<>();
+
+		Code(ClassWriter classWriter){
+			this.classWriter = classWriter;
+		}
+
+		Code op(int opcode){
+			code.write(opcode);
+			return this;
+		}
+		Code u2(int value){
+			code.write(value>>8);
+			code.write(value);
+			return this;
+		}
+
+		Code aload(int local){
+			return local<=3 ? op(0x2a+local) : op(0x19).op(local); // aload_<n>, aload
+		}
+		Code astore(int local){
+			return local<=3 ? op(0x4b+local) : op(0x3a).op(local); // astore_<n>, astore
+		}
+		Code iload(int local){
+			return local<=3 ? op(0x1a+local) : op(0x15).op(local); // iload_<n>, iload
+		}
+		Code istore(int local){
+			return local<=3 ? op(0x3b+local) : op(0x36).op(local); // istore_<n>, istore
+		}
+
+		Code push(int value){
+			if(value>=-1&&value<=5) return op(0x03+value); // iconst_<n>
+			if(value==(byte)value) return op(0x10).op(value&0xFF); // bipush
+			if(value==(short)value) return op(0x11).u2(value&0xFFFF); // sipush
+			return ldc(classWriter.integer(value));
+		}
+		Code ldc(int constant){
+			return constant<=0xFF ? op(0x12).op(constant) : op(0x13).u2(constant); // ldc, ldc_w
+		}
+
+		Code invoke(int opcode, Class<?> owner, Method method){
+			op(opcode).u2(classWriter.methodRef(internalName(owner), method.getName(), descriptor(method), owner.isInterface()));
+			if(opcode!=0xb9) return this;
+			// invokeinterface; count of the argument slots including the receiver, then a zero byte
+			int slots = 1;
+			for(Class<?> p : method.getParameterTypes()) slots += p==long.class||p==double.class ? 2 : 1;
+			return op(slots).op(0);
+		}
+
+		int newLabel(){
+			labels.add(-1);
+			return labels.size()-1;
+		}
+		void label(int label){
+			labels.set(label, code.size());
+		}
+		Code jump(int opcode, int label){
+			jumps.add(new int[]{code.size(), label});
+			return op(opcode).u2(0);
+		}
+
+		/**
+		 * @return Bytes of the code, or {@code null} if the code is too large
+		 */
+		@Nullable byte[] toByteArray(){
+			byte[] bytes = code.toByteArray();
+			if(bytes.length>MAX_CODE_LENGTH) return null;
+			for(int[] jump : jumps){
+				int offset = labels.get(jump[1])-jump[0];
+				bytes[jump[0]+1] = (byte)(offset>>8);
+				bytes[jump[0]+2] = (byte)offset;
+			}
+			return bytes;
+		}
+	}
+
+	private static String internalName(Class<?> c){
+		return c.getName().replace('.', '/');
+	}
+	private static String descriptor(Method method){
+		return MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+	}
+
+	@FunctionalInterface
+	private interface ConstantWriter{
+		void write() throws IOException;
+	}
+}
@@ -1,16 +1,85 @@
 package test;
 
+import among.TypeFlags;
+import among.construct.ColumnarList;
+import among.construct.ConcurrentReportBuffer;
+import among.construct.ConditionedConstructor;
 import among.construct.Constructor;
 import among.construct.Constructors;
+import among.construct.IncrementalSession;
+import among.construct.Lazy;
+import among.construct.ListStrategy;
+import among.construct.Reference;
+import among.construct.ReferenceIndex;
+import among.construct.ReportBuffer;
+import among.construct.ConstructRule;
+import among.construct.batch.ConstructService;
+import among.construct.batch.ConstructStream;
+import among.construct.batch.DirectoryLoader;
+import among.construct.batch.DirectoryResult;
+import among.construct.batch.DocumentResult;
+import among.construct.batch.HotReloader;
+import among.construct.batch.RootResult;
+import among.construct.condition.Condition;
+import among.construct.condition.ConditionBuilder;
+import among.construct.condition.ListCondition;
+import among.construct.condition.ListConditionBuilder;
+import among.construct.condition.ObjectCondition;
+import among.construct.condition.ObjectConditionBuilder;
+import among.construct.deconstruct.AmongWriter;
+import among.construct.deconstruct.Deconstructor;
+import among.construct.deconstruct.Deconstructors;
+import among.construct.event.AmongReader;
+import among.construct.event.EventConstructor;
+import among.construct.event.EventConstructors;
+import among.construct.metrics.ConstructMetrics;
+import among.construct.metrics.ConstructProfiler;
+import among.construct.metrics.MetricSnapshot;
+import among.construct.metrics.ProfileNode;
+import among.obj.Among;
+import among.obj.AmongList;
+import among.obj.AmongObject;
+import among.report.ReportHandler;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import test.data.Matrix33;
 import test.data.Person;
 import test.data.Pos2;
 
 import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandles;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class Tests{
 	@Test public void ints() throws IOException{
@@ -74,6 +143,1159 @@ public class Tests{
 		});
 	}
 
+	@Test public void cached(){
+		Constructor<Among, Pos2> constructor = Constructor.cached(Pos2.CONSTRUCTOR, 16);
+		List<Among> roots = TestUtil.make("[0, 1]\n{x: 0, y: 1}\n[0, 1]\n[0]\n[0]").root().values();
+		Pos2 p1 = constructor.construct(roots.get(0), null);
+		Pos2 p2 = constructor.construct(roots.get(1), null);
+		Pos2 p3 = constructor.construct(roots.get(2), null);
+		Assertions.assertEquals(new Pos2(0, 1), p1);
+		Assertions.assertEquals(p1, p2);
+		Assertions.assertNotSame(p1, p2);
+		Assertions.assertSame(p1, p3);
+
+		ReportBuffer r1 = new ReportBuffer(), r2 = new ReportBuffer();
+		Assertions.assertNull(constructor.construct(roots.get(3), r1));
+		Assertions.assertNull(constructor.construct(roots.get(4), r2));
+		Assertions.assertTrue(r1.hasError());
+		Assertions.assertEquals(r1.entries().toString(), r2.entries().toString());
+	}
+
+	@Test public void interned(){
+		Constructor<Among, String> constructor = Constructor.interned(Constructors.VALUE);
+		List<Among> roots = TestUtil.make("keter\nketer\neuclid").root().values();
+		String s1 = constructor.construct(roots.get(0), null);
+		String s2 = constructor.construct(roots.get(1), null);
+		String s3 = constructor.construct(roots.get(2), null);
+		Assertions.assertEquals("keter", s1);
+		Assertions.assertSame(s1, s2);
+		Assertions.assertEquals("euclid", s3);
+	}
+
+	@Test public void parallelListReportOrder(){
+		Constructor<Among, Integer> element = (instance, reportHandler) -> {
+			if(reportHandler!=null) reportHandler.reportWarning("Element "+instance, instance.sourcePosition());
+			return Constructors.INT.construct(instance, reportHandler);
+		};
+		AmongList valid = Among.list(), invalid = Among.list();
+		for(int i = 0; i<2000; i++){
+			Among value = Among.value(i);
+			value.setSourcePosition(i);
+			valid.add(value);
+			Among value2 = Among.value(i==700||i==1500 ? "nope" : String.valueOf(i));
+			value2.setSourcePosition(i);
+			invalid.add(value2);
+		}
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			Constructor<AmongList, List<Integer>> sequential = Constructor.listOf(element);
+			Constructor<AmongList, List<Integer>> parallel = Constructor.parallelListOf(element, false, pool, 16);
+			for(AmongList list : Arrays.asList(valid, invalid)){
+				ReportBuffer expected = new ReportBuffer();
+				List<Integer> expectedResult = sequential.construct(list, expected);
+				for(int i = 0; i<20; i++){
+					ReportBuffer reports = new ReportBuffer();
+					Assertions.assertEquals(expectedResult, parallel.construct(list, reports));
+					Assertions.assertEquals(expected.entries().toString(), reports.entries().toString());
+				}
+			}
+		}finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test public void concurrentReportBuffer() throws InterruptedException{
+		ConcurrentReportBuffer buffer = new ConcurrentReportBuffer();
+		for(int round = 0; round<3; round++){
+			Thread[] threads = new Thread[4];
+			for(int t = 0; t<threads.length; t++){
+				int id = t;
+				threads[t] = new Thread(() -> {
+					for(int i = 0; i<100; i++) buffer.reportWarning(id+" "+i, i*threads.length+id);
+					buffer.reportWarning(id+" last");
+				});
+				threads[t].start();
+			}
+			for(Thread t : threads) t.join();
+			List<ReportBuffer.Entry> entries = buffer.drain();
+			Assertions.assertEquals(404, entries.size());
+			for(int i = 0; i<400; i++)
+				Assertions.assertEquals(i, entries.get(i).srcIndex());
+			for(int i = 400; i<404; i++)
+				Assertions.assertEquals(-1, entries.get(i).srcIndex());
+			// buffers of terminated threads are released; reports of new threads must still be collected
+			Assertions.assertTrue(buffer.drain().isEmpty());
+		}
+		buffer.reportWarning("b", 3);
+		buffer.reportWarning("a", 3);
+		buffer.reportWarning("c");
+		Assertions.assertEquals("[WARN: b (at 3), WARN: a (at 3), WARN: c]", buffer.drain().toString());
+
+		ConcurrentReportBuffer bounded = new ConcurrentReportBuffer(10);
+		for(int i = 0; i<15; i++) bounded.reportWarning(String.valueOf(i), i);
+		Assertions.assertEquals(5, bounded.dropped());
+		Assertions.assertEquals(10, bounded.drain().size());
+		bounded.reportWarning("again", 0);
+		Assertions.assertEquals(1, bounded.drain().size());
+	}
+
+	@Test public void optimizeLists(){
+		Constructor<Among, Integer> element = Constructor.generifyValue(Constructor.tryConstruct(
+				Constructors.INT.then((i, r) -> i*2).then((i, r) -> {
+					if(i>100) throw new IllegalArgumentException("Too big");
+					return i+1;
+				}), "Cannot read element", false));
+		List<Constructor<Among, List<Integer>>> constructors = Arrays.asList(
+				Constructor.generifyList(Constructor.listOf(element)),
+				Constructor.generifyList(Constructor.listOf(element, true, ListStrategy.ints())),
+				Constructor.listOrElementOf(element),
+				Constructor.listOrElementOf(element, ListStrategy.immutable()));
+		List<Among> values = TestUtil.make("[1, 2, 3]\n[1, x, 3]\n[1, 99]\nl [1, 2]\n4\n[]\n[[1]]\n{a: 1}").root().values();
+		for(Constructor<Among, List<Integer>> constructor : constructors){
+			Constructor<Among, List<Integer>> optimized = Constructor.optimize(constructor);
+			Assertions.assertNotSame(constructor, optimized);
+			for(Among value : values){
+				ReportBuffer expected = new ReportBuffer(), reports = new ReportBuffer();
+				Assertions.assertEquals(constructor.construct(value, expected), optimized.construct(value, reports), value::toString);
+				Assertions.assertEquals(expected.entries().toString(), reports.entries().toString(), value::toString);
+			}
+		}
+	}
+
+	@Test public void lazy(){
+		Constructor<Among, Lazy<List<Integer>>> constructor = Constructor.generifyList(Constructor.lazy(
+				new ListConditionBuilder().minSize(1).build(),
+				Constructor.listOf(Constructors.INT)));
+		List<Among> roots = TestUtil.make("[0, 1, 2]\n[]\n[0, one]").root().values();
+
+		Lazy<List<Integer>> l1 = constructor.construct(roots.get(0), null);
+		Assertions.assertNotNull(l1);
+		Assertions.assertFalse(l1.isDone());
+		Assertions.assertEquals(Arrays.asList(0, 1, 2), l1.get());
+		Assertions.assertTrue(l1.isDone());
+
+		Assertions.assertNull(constructor.construct(roots.get(1), null));
+
+		ReportBuffer reports = new ReportBuffer();
+		Lazy<List<Integer>> l3 = constructor.construct(roots.get(2), reports);
+		Assertions.assertNotNull(l3);
+		Assertions.assertTrue(reports.isEmpty());
+		Assertions.assertNull(l3.get());
+		Assertions.assertTrue(reports.hasError());
+	}
+
+	@Test public void lazyListRace() throws Exception{
+		// both threads construct the element at once; only the reports of the visible result must be kept
+		CyclicBarrier barrier = new CyclicBarrier(2);
+		Constructor<Among, Integer> element = (instance, reportHandler) -> {
+			try{
+				barrier.await(10, TimeUnit.SECONDS);
+			}catch(Exception ex){
+				throw new RuntimeException(ex);
+			}
+			if(reportHandler!=null) reportHandler.reportWarning("Constructed "+instance, instance.sourcePosition());
+			return Constructors.INT.construct(instance, reportHandler);
+		};
+		ConcurrentReportBuffer reports = new ConcurrentReportBuffer();
+		List<Integer> list = Constructor.lazyListOf(element).construct(Among.list(1, 2), reports);
+		Assertions.assertNotNull(list);
+		CompletableFuture<Integer> other = CompletableFuture.supplyAsync(() -> list.get(0));
+		Integer e = list.get(0);
+		Assertions.assertEquals(1, e);
+		Assertions.assertSame(e, other.get(10, TimeUnit.SECONDS));
+		Assertions.assertEquals(1, reports.drain().size());
+	}
+
+	@Test public void compiledConditions(){
+		List<Among> values = TestUtil.make("{a: 1, c: x}\n{a: 1, b: [1], c: {}}\n{a: [1], c: 1}\n{b: [], c: 1}\n"+
+				"{a: 1, b: x, c: 1}\n{a: 1, c: 1, d: 1}\n{a: 1, c: 1, d: [], e: 2}\n{}\nobj {a: 1, c: 1}\n"+
+				"[1, [2], {}]\n[1]\n[[1]]\n[1, 2, 3]\n[1, 2, {}, 4, 5]\n[]\nlist [1, 2, {}]").root().values();
+		List<AmongObject> objects = new ArrayList<>();
+		List<AmongList> lists = new ArrayList<>();
+		for(Among value : values){
+			if(value.isObj()) objects.add(value.asObj());
+			else lists.add(value.asList());
+		}
+
+		List<Supplier<ObjectConditionBuilder>> objectConditions = Arrays.asList(
+				() -> new ObjectConditionBuilder().property("a", TypeFlags.PRIMITIVE).optionalProperty("b", TypeFlags.LIST).property("c"),
+				() -> new ObjectConditionBuilder().property("a", TypeFlags.PRIMITIVE).optionalProperty("b", TypeFlags.LIST).warnOtherProperties(),
+				() -> new ObjectConditionBuilder().size(1, 3).property("a", TypeFlags.PRIMITIVE).property(TypeFlags.PRIMITIVE),
+				() -> new ObjectConditionBuilder().minSize(2));
+		for(Supplier<ObjectConditionBuilder> b : objectConditions)
+			assertSameChecks(b.get().build(), b.get().compile().build(), objects);
+
+		List<Supplier<ListConditionBuilder>> listConditions = Arrays.asList(
+				() -> new ListConditionBuilder().minSize(1).elementType(0, TypeFlags.PRIMITIVE).elementType(2, TypeFlags.OBJECT),
+				() -> new ListConditionBuilder().elementType(TypeFlags.PRIMITIVE).elementType(2, TypeFlags.OBJECT).warnIfBigger(3),
+				() -> new ListConditionBuilder().maxSize(4).elementType(1, TypeFlags.LIST),
+				// sparse indices are not expanded into a table
+				() -> new ListConditionBuilder().elementType(0, TypeFlags.PRIMITIVE).elementType(Integer.MAX_VALUE-1, TypeFlags.LIST));
+		for(Supplier<ListConditionBuilder> b : listConditions)
+			assertSameChecks(b.get().build(), b.get().compile().build(), lists);
+	}
+
+	private static <A extends Among> void assertSameChecks(Condition<A> interpreted, Condition<A> compiled, List<A> values){
+		if(overlay())
+			Assertions.assertTrue(compiled instanceof ObjectCondition ? ((ObjectCondition)compiled).isCompiled() : ((ListCondition)compiled).isCompiled());
+		for(A value : values){
+			Assertions.assertEquals(interpreted.test(value), compiled.test(value), () -> interpreted+" "+value);
+			ReportBuffer expected = new ReportBuffer(), reports = new ReportBuffer();
+			Assertions.assertEquals(interpreted.test(value, expected), compiled.test(value, reports), () -> interpreted+" "+value);
+			Assertions.assertEquals(expected.entries().toString(), reports.entries().toString(), () -> interpreted+" "+value);
+		}
+	}
+
+	@Test public void compiledDispatch(){
+		List<AmongObject> objects = new ArrayList<>();
+		for(Among value : TestUtil.make("{a: 1}\n{a: [1]}\n{b: 1}\n{b: x}\n{a: 1, b: 1}\n{}\n{a: 1, b: {}, c: 1}\n{k150: 1}\n{k0: 1, k299: 1}").root().values())
+			objects.add(value.asObj());
+		Constructor<AmongObject, String> failing = (instance, reportHandler) -> {
+			if(reportHandler!=null) reportHandler.reportError("Not b", instance.sourcePosition());
+			return null;
+		};
+		for(boolean onlyMatch : new boolean[]{false, true}){
+			assertSameDispatch(compile -> ConditionedConstructor.objectConditions(b -> {
+				b.add(c -> compile.accept(c.property("a", TypeFlags.PRIMITIVE)), (o, r) -> "a")
+						.add(c -> compile.accept(c.property("b", TypeFlags.PRIMITIVE)), (o, r) -> o.getProperty("b").asPrimitive().getValue().equals("x") ? failing.construct(o, r) : "b")
+						.add(c -> compile.accept(c.property("a", TypeFlags.LIST).size(1, 1)), (o, r) -> "list a");
+				if(onlyMatch) b.useOnlyMatch();
+			}), objects, true);
+			// each constructor is called from its own call site; hundreds of conditions need wide constant pool indices
+			assertSameDispatch(compile -> ConditionedConstructor.objectConditions(b -> {
+				for(int i = 0; i<300; i++){
+					String key = "k"+i;
+					b.add(c -> compile.accept(c.property(key)), (o, r) -> key);
+				}
+				if(onlyMatch) b.useOnlyMatch();
+			}), objects, true);
+		}
+		// successful check of the only condition is still followed by the constructor, failing one is reported
+		assertSameDispatch(compile -> ConditionedConstructor.objectConditions(b ->
+				b.add(c -> compile.accept(c.property("a", TypeFlags.PRIMITIVE).optionalProperty("b")), (o, r) -> "a")), objects, true);
+		// warnings of the only condition are reported with the same results
+		assertSameDispatch(compile -> ConditionedConstructor.objectConditions(b ->
+				b.add(c -> compile.accept(c.property("a").warnOtherProperties()), (o, r) -> "a")), objects, true);
+		// type check of every property is not decided by the compiled check alone
+		assertSameDispatch(compile -> ConditionedConstructor.objectConditions(b -> b
+				.add(c -> compile.accept(c.property("a")), (o, r) -> "a")
+				.add(c -> compile.accept(c.property(TypeFlags.PRIMITIVE)), (o, r) -> "primitive")), objects, false);
+
+		List<AmongList> lists = new ArrayList<>();
+		for(Among value : TestUtil.make("[1]\n[1, 2]\n[[1], 2]\n[1, 2, 3]\n[]\nl [1]").root().values())
+			lists.add(value.asList());
+		assertSameDispatch(compile -> ConditionedConstructor.listConditions(b -> b
+				.addUnary(c -> compile.accept(c.elementType(0, TypeFlags.PRIMITIVE)), (a, r) -> "unary")
+				.addBinary(c -> compile.accept(c.elementType(0, TypeFlags.LIST)), (a, b2, r) -> "binary list")
+				.addBinary(c -> compile.accept(c), (a, b2, r) -> "binary")), lists, true);
+		assertSameDispatch(compile -> ConditionedConstructor.binaryCondition(compile::accept, (a, b2, r) -> "binary"), lists, true);
+	}
+
+	private static <A extends Among> void assertSameDispatch(Function<Consumer<ConditionBuilder<?, ?, ?>>, ConditionedConstructor<A, String>> factory, List<A> values, boolean exact){
+		ConditionedConstructor<A, String> interpreted = factory.apply(c -> {});
+		ConditionedConstructor<A, String> compiled = factory.apply(ConditionBuilder::compile);
+		Assertions.assertFalse(interpreted.isCompiled());
+		if(overlay()) Assertions.assertEquals(exact, compiled.isCompiled());
+		for(A value : values){
+			Assertions.assertEquals(interpreted.construct(value, null), compiled.construct(value, null), value::toString);
+			ReportBuffer expected = new ReportBuffer(), reports = new ReportBuffer();
+			Assertions.assertEquals(interpreted.construct(value, expected), compiled.construct(value, reports), value::toString);
+			Assertions.assertEquals(expected.entries().toString(), reports.entries().toString(), value::toString);
+		}
+	}
+
+	/**
+	 * @return Whether the classes replaced for Java 21 or above are used; if so, the features they provide are
+	 * expected to be available
+	 */
+	private static boolean overlay(){
+		return Boolean.getBoolean("among.construct.overlay");
+	}
+
+	@Test public void pos2FromRecord() throws IOException{
+		Object[] constructed = TestUtil.construct(
+				TestUtil.expectSourceFrom("test", "pos2"),
+				Constructors.ofRecord(Pos2.class, MethodHandles.lookup(), b -> b.names("x", "y").positional()),
+				Object[]::new);
+		System.out.println(Arrays.toString(constructed));
+		Assertions.assertArrayEquals(constructed, new Object[]{
+				new Pos2(0, 1),
+				new Pos2(2, 3),
+				new Pos2(4, 5)
+		});
+	}
+
+	@Test public void recordOptionalComponents(){
+		Constructor<Among, Person> constructor = Constructors.ofRecord(Person.class, MethodHandles.lookup(), b -> b
+				.names("name", "description", "height", "weight", "notes")
+				.component("notes", Constructor.generifyList(Constructor.listOf(Constructors.VALUE)))
+				.optional("description", () -> null)
+				.optional("weight", () -> null)
+				.optional("notes", Collections::emptyList));
+		List<Among> roots = TestUtil.make("{name: a, height: 1, weight: 2}\n{name: b, height: 1}").root().values();
+
+		ReportBuffer reports = new ReportBuffer();
+		Person a = constructor.construct(roots.get(0), reports);
+		Assertions.assertNotNull(a);
+		Assertions.assertNull(a.description);
+		Assertions.assertEquals(Collections.emptyList(), a.notes);
+		Assertions.assertTrue(reports.isEmpty());
+
+		// null default value of primitive component is reported instead of failing on unboxing
+		Assertions.assertNull(constructor.construct(roots.get(1), reports));
+		Assertions.assertEquals(1, reports.size());
+		Assertions.assertTrue(reports.hasError());
+
+		// positional lists can only omit trailing components
+		Assertions.assertThrows(IllegalStateException.class, () -> Constructors.ofRecord(Person.class, MethodHandles.lookup(), b -> b
+				.names("name", "description", "height", "weight", "notes")
+				.component("notes", Constructor.generifyList(Constructor.listOf(Constructors.VALUE)))
+				.optional("description", () -> "")
+				.positional()));
+	}
+
+	@Test public void pos2RoundTrip() throws IOException{
+		Deconstructor<Pos2> deconstructor = Deconstructors.object(b -> b
+				.intProperty("x", p -> p.x)
+				.intProperty("y", p -> p.y));
+		List<Pos2> list = Arrays.asList(new Pos2(0, 1), new Pos2(-2, 3), new Pos2(Integer.MAX_VALUE, Integer.MIN_VALUE));
+		StringWriter sw = new StringWriter();
+		AmongWriter writer = new AmongWriter(sw);
+		for(Pos2 p : list) deconstructor.write(p, writer);
+		System.out.println(sw);
+
+		List<Among> roots = TestUtil.make(sw.toString()).root().values();
+		Assertions.assertEquals(list.size(), roots.size());
+		for(int i = 0; i<list.size(); i++){
+			Assertions.assertEquals(deconstructor.deconstruct(list.get(i)), roots.get(i));
+			Assertions.assertEquals(list.get(i), Pos2.CONSTRUCTOR.construct(roots.get(i), null));
+		}
+	}
+
+	@Test public void numberFormat() throws IOException{
+		// deconstruct() and write() produce the same text for every number
+		double[] doubles = {0, -0.0, 1, -1, 0.5, 1e7, -1e7, 123456789012345.0, 1e15, 1e300, 1e-7, Double.NaN, Double.POSITIVE_INFINITY};
+		for(double d : doubles){
+			StringWriter sw = new StringWriter();
+			Deconstructors.DOUBLE.write(d, new AmongWriter(sw));
+			Assertions.assertEquals(Deconstructors.DOUBLE.deconstruct(d).asPrimitive().getValue(), sw.toString(), () -> "Double "+d);
+			Assertions.assertEquals(d, Double.parseDouble(sw.toString()));
+		}
+		float[] floats = {0, -0f, 1, 0.1f, 1e7f, 16777216f, 3.4e38f, Float.NaN};
+		for(float f : floats){
+			StringWriter sw = new StringWriter();
+			Deconstructors.FLOAT.write(f, new AmongWriter(sw));
+			Assertions.assertEquals(Deconstructors.FLOAT.deconstruct(f).asPrimitive().getValue(), sw.toString(), () -> "Float "+f);
+			Assertions.assertEquals(f, Float.parseFloat(sw.toString()));
+		}
+		StringWriter sw = new StringWriter();
+		Deconstructors.DOUBLE_ARRAY.write(new double[]{1e7, 0.5}, new AmongWriter(sw));
+		Assertions.assertEquals("[10000000.0, 0.5]", sw.toString());
+		Assertions.assertEquals(Among.list("10000000.0", "0.5"), Deconstructors.DOUBLE_ARRAY.deconstruct(new double[]{1e7, 0.5}));
+	}
+
+	@Test public void constructService() throws Exception{
+		Among root = Among.value(1);
+		List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+		Constructor<Among, Integer> constructor = (instance, reportHandler) -> {
+			threads.add(Thread.currentThread());
+			return Constructors.INT.construct(instance, reportHandler);
+		};
+		try(ConstructService<Integer> service = ConstructService.make(constructor, b -> {})){
+			DocumentResult<Integer> result = service.submit(root).get();
+			Assertions.assertTrue(result.isSuccess());
+			Assertions.assertEquals(Collections.singletonList(1), result.values());
+		}
+		// the overlay starts a virtual thread for each document, when run from the multi-release jar on Java 21
+		if(overlay()) Assertions.assertEquals(true, Thread.class.getMethod("isVirtual").invoke(threads.get(0)));
+
+		// deadline includes time spent in the executor's queue
+		Executor slowExecutor = command -> new Thread(() -> {
+			try{
+				Thread.sleep(100);
+			}catch(InterruptedException ignored){}
+			command.run();
+		}).start();
+		try(ConstructService<Integer> service = ConstructService.make(constructor, b -> b
+				.executor(slowExecutor)
+				.deadline(10, TimeUnit.MILLISECONDS))){
+			DocumentResult<Integer> result = service.submit(root).get();
+			Assertions.assertTrue(result.timedOut());
+			Assertions.assertFalse(result.isSuccess());
+			Assertions.assertTrue(result.values().isEmpty());
+		}
+	}
+
+	@Test public void constructStream() throws Exception{
+		List<Among> roots = new ArrayList<>();
+		for(int i = 0; i<100; i++) roots.add(Among.value(i%10==9 ? "nope" : String.valueOf(i)));
+		List<String> expected = new ArrayList<>();
+		for(Among root : roots){
+			ReportBuffer reports = new ReportBuffer();
+			expected.add(Constructors.INT.construct(root, reports)+" "+reports.entries());
+		}
+
+		List<String> iterated = new ArrayList<>();
+		ConstructStream.iterate(roots.iterator(), Constructors.INT).forEachRemaining(r -> iterated.add(r.value()+" "+r.reports().entries()));
+		Assertions.assertEquals(expected, iterated);
+
+		for(boolean parallel : new boolean[]{false, true})
+			Assertions.assertEquals(expected, ConstructStream.stream(roots.spliterator(), Constructors.INT, parallel)
+					.map(r -> r.value()+" "+r.reports().entries())
+					.collect(Collectors.toList()));
+
+		// roots are pulled at most window ahead of the consumer
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			int window = 5;
+			int[] pulled = new int[1];
+			Iterator<Among> counting = new Iterator<Among>(){
+				private final Iterator<Among> it = roots.iterator();
+
+				@Override public boolean hasNext(){
+					return it.hasNext();
+				}
+				@Override public Among next(){
+					pulled[0]++;
+					return it.next();
+				}
+			};
+			List<String> async = new ArrayList<>();
+			for(Iterator<RootResult<Integer>> it = ConstructStream.iterateAsync(counting, Constructors.INT, pool, window); it.hasNext(); ){
+				RootResult<Integer> r = it.next();
+				async.add(r.value()+" "+r.reports().entries());
+				Assertions.assertTrue(pulled[0]<=async.size()+window);
+			}
+			Assertions.assertEquals(expected, async);
+
+			// the overlay provides a Flow.Publisher, when run from the multi-release jar on Java 21
+			Class<?> publisherClass;
+			try{
+				publisherClass = Class.forName("among.construct.batch.ConstructPublisher");
+			}catch(ClassNotFoundException ex){
+				return;
+			}
+			@SuppressWarnings("unchecked") Flow.Publisher<RootResult<Integer>> publisher = (Flow.Publisher<RootResult<Integer>>)publisherClass
+					.getConstructor(Iterator.class, Constructor.class, Executor.class)
+					.newInstance(roots.iterator(), Constructors.INT, pool);
+			List<String> published = Collections.synchronizedList(new ArrayList<>());
+			CompletableFuture<Void> done = new CompletableFuture<>();
+			publisher.subscribe(new Flow.Subscriber<RootResult<Integer>>(){
+				private Flow.Subscription subscription;
+				private int outstanding;
+
+				@Override public void onSubscribe(Flow.Subscription subscription){
+					this.subscription = subscription;
+					outstanding = 3;
+					subscription.request(3);
+				}
+				@Override public void onNext(RootResult<Integer> item){
+					if(--outstanding<0) done.completeExceptionally(new AssertionError("Demand exceeded"));
+					published.add(item.value()+" "+item.reports().entries());
+					if(outstanding==0){
+						outstanding = 3;
+						subscription.request(3);
+					}
+				}
+				@Override public void onError(Throwable throwable){
+					done.completeExceptionally(throwable);
+				}
+				@Override public void onComplete(){
+					done.complete(null);
+				}
+			});
+			done.get(10, TimeUnit.SECONDS);
+			Assertions.assertEquals(expected, published);
+
+			// completion does not wait for demand beyond the last result
+			for(List<Among> source : Arrays.asList(roots, Collections.<Among>emptyList())){
+				@SuppressWarnings("unchecked") Flow.Publisher<RootResult<Integer>> exact = (Flow.Publisher<RootResult<Integer>>)publisherClass
+						.getConstructor(Iterator.class, Constructor.class, Executor.class)
+						.newInstance(source.iterator(), Constructors.INT, pool);
+				AtomicInteger received = new AtomicInteger();
+				CompletableFuture<Void> completed = new CompletableFuture<>();
+				exact.subscribe(new Flow.Subscriber<RootResult<Integer>>(){
+					@Override public void onSubscribe(Flow.Subscription subscription){
+						if(!source.isEmpty()) subscription.request(source.size());
+					}
+					@Override public void onNext(RootResult<Integer> item){
+						received.incrementAndGet();
+					}
+					@Override public void onError(Throwable throwable){
+						completed.completeExceptionally(throwable);
+					}
+					@Override public void onComplete(){
+						completed.complete(null);
+					}
+				});
+				completed.get(10, TimeUnit.SECONDS);
+				Assertions.assertEquals(source.size(), received.get());
+			}
+
+			CompletableFuture<Throwable> rejected = new CompletableFuture<>();
+			publisher.subscribe(new Flow.Subscriber<RootResult<Integer>>(){
+				@Override public void onSubscribe(Flow.Subscription subscription){}
+				@Override public void onNext(RootResult<Integer> item){}
+				@Override public void onError(Throwable throwable){
+					rejected.complete(throwable);
+				}
+				@Override public void onComplete(){}
+			});
+			Assertions.assertTrue(rejected.get(10, TimeUnit.SECONDS) instanceof IllegalStateException);
+		}finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test public void metrics(){
+		ConstructMetrics metrics = new ConstructMetrics();
+		Constructor<Among, Integer> constructor = ConstructRule.make(b -> b
+				.instrument(metrics, "rule")
+				.genericList(Constructor.listOf(Constructors.INT).then((l, r) -> l.size()))
+				.primitive(Constructors.INT::construct));
+		for(Among among : TestUtil.make("[1, 2]\n[3]\n4\nfive\n[6, seven]").root().values())
+			constructor.construct(among, null);
+
+		List<MetricSnapshot> snapshot = metrics.snapshot();
+		Assertions.assertEquals(2, snapshot.size());
+		MetricSnapshot list = snapshot.get(0), primitive = snapshot.get(1);
+		Assertions.assertEquals("rule/list", list.name());
+		Assertions.assertEquals(3, list.calls());
+		Assertions.assertEquals(1, list.failures());
+		Assertions.assertEquals(3, list.latency().count());
+		Assertions.assertEquals("rule/primitive", primitive.name());
+		Assertions.assertEquals(2, primitive.calls());
+		Assertions.assertEquals(1, primitive.successes());
+	}
+
+	@Test public void profiler() throws InterruptedException{
+		ConstructProfiler profiler = new ConstructProfiler();
+		Constructor<Among, Integer> inner = profiler.instrument("inner", Constructors.INT);
+		Constructor<Among, List<Integer>> outer = profiler.instrument("outer", Constructor.generifyList(Constructor.listOf(inner)));
+		AmongList list = Among.list(1, 2, 3);
+
+		// call trees of terminated threads are merged into the snapshot
+		for(int round = 0; round<2; round++){
+			Thread[] threads = new Thread[40];
+			for(int i = 0; i<threads.length; i++){
+				threads[i] = new Thread(() -> {
+					for(int j = 0; j<5; j++) outer.construct(list, null);
+				});
+				threads[i].start();
+			}
+			for(Thread t : threads) t.join();
+			ProfileNode root = profiler.snapshot();
+			Assertions.assertEquals(1, root.children().size());
+			ProfileNode outerNode = root.children().get(0);
+			Assertions.assertEquals("outer", outerNode.name());
+			Assertions.assertEquals(200*(round+1), outerNode.calls());
+			Assertions.assertEquals(1, outerNode.children().size());
+			ProfileNode innerNode = outerNode.children().get(0);
+			Assertions.assertEquals("inner", innerNode.name());
+			Assertions.assertEquals(600*(round+1), innerNode.calls());
+			Assertions.assertTrue(outerNode.totalNanos()>=innerNode.totalNanos());
+		}
+		for(String line : profiler.collapsed().split("\n"))
+			Assertions.assertTrue(line.matches("outer(;inner)? \\d+"), line);
+
+		profiler.reset();
+		Assertions.assertTrue(profiler.snapshot().children().isEmpty());
+		outer.construct(list, null);
+		Assertions.assertEquals(1, profiler.snapshot().children().get(0).calls());
+
+		// built-in constants can't be instrumented, but an instrumented instance of EVAL can be made
+		profiler.reset();
+		ConstructRule<Among> eval = Constructors.eval(profiler);
+		for(Among root : TestUtil.make("+[1, *[2, 3]]\n![false]").root().values())
+			Assertions.assertEquals(Constructors.EVAL.construct(root, null), eval.construct(root, null));
+		Set<String> stacks = new HashSet<>();
+		for(String line : profiler.collapsed().split("\n")) stacks.add(line.substring(0, line.lastIndexOf(' ')));
+		Assertions.assertTrue(stacks.contains("EVAL/list:+;EVAL_NUM;EVAL/all"), stacks::toString);
+		Assertions.assertTrue(stacks.contains("EVAL/list:+;EVAL_NUM;EVAL/list:*;EVAL_NUM;EVAL/all"), stacks::toString);
+		Assertions.assertTrue(stacks.contains("EVAL/list:!;EVAL_BOOL;EVAL/all"), stacks::toString);
+	}
+
+	@Test public void constructEvents(@TempDir Path dir) throws IOException{
+		Constructor<Among, Integer> rule = ConstructRule.make(b -> b
+				.genericList(Constructor.listOf(Constructors.INT).then((l, r) -> l.size()))
+				.primitive(Constructors.INT::construct));
+		Constructor<Among, Object> failing = Constructor.tryConstruct((instance, reportHandler) -> {
+			throw new IllegalStateException("Failing");
+		});
+		List<Among> values = TestUtil.make("[1, 2]\n3\n{name: a, description: b, height: 1, weight: 2}").root().values();
+
+		Path file = dir.resolve("events.jfr");
+		try(Recording recording = new Recording()){
+			recording.enable("among.construct.RuleDispatch");
+			recording.enable("among.construct.ConditionDispatch");
+			recording.enable("among.construct.ExceptionCaught");
+			recording.start();
+			rule.construct(values.get(0), null);
+			rule.construct(values.get(1), null);
+			failing.construct(values.get(1), null);
+			Person.CONSTRUCTOR.construct(values.get(2), null);
+			recording.stop();
+			recording.dump(file);
+		}
+		Map<String, Integer> counts = new HashMap<>();
+		for(RecordedEvent e : RecordingFile.readAllEvents(file))
+			counts.merge(e.getEventType().getName(), 1, Integer::sum);
+
+		// events are only emitted by the overlay, when run from the multi-release jar on Java 21
+		boolean overlay;
+		try{
+			Class.forName("among.construct.ConstructEvents$RuleDispatch");
+			overlay = true;
+		}catch(ClassNotFoundException ex){
+			overlay = false;
+		}
+		if(overlay){
+			Assertions.assertEquals(2, counts.get("among.construct.RuleDispatch"), counts::toString);
+			Assertions.assertEquals(1, counts.get("among.construct.ConditionDispatch"), counts::toString);
+			Assertions.assertEquals(1, counts.get("among.construct.ExceptionCaught"), counts::toString);
+		}else{
+			Assertions.assertFalse(counts.keySet().stream().anyMatch(n -> n.startsWith("among.construct.")), counts::toString);
+		}
+	}
+
+	@Test public void hotReloader(@TempDir Path dir) throws Exception{
+		Path a = dir.resolve("a.among"), b = dir.resolve("b.among");
+		Files.write(a, "0\n1".getBytes(StandardCharsets.UTF_8));
+		Files.write(b, "2".getBytes(StandardCharsets.UTF_8));
+		AtomicInteger calls = new AtomicInteger();
+		Map<Path, List<String>> reports = new ConcurrentHashMap<>();
+		try(HotReloader<Integer> reloader = HotReloader.make(dir, (instance, reportHandler) -> {
+			calls.incrementAndGet();
+			return Constructors.INT.construct(instance, reportHandler);
+		}, r -> r
+				.debounce(200, TimeUnit.MILLISECONDS)
+				.reportListener((file, buffer) -> {
+					reports.put(file, messages(buffer));
+					throw new RuntimeException("Listener failure");
+				}))){
+			Assertions.assertEquals(Arrays.asList(0, 1), reloader.value(a));
+			Assertions.assertEquals(Collections.singletonList(2), reloader.value(b));
+			Assertions.assertEquals(3, calls.get());
+
+			// changes within the debounce period are reloaded once
+			Files.write(a, "3".getBytes(StandardCharsets.UTF_8));
+			Files.write(a, "4".getBytes(StandardCharsets.UTF_8));
+			await(() -> Collections.singletonList(4).equals(reloader.value(a)));
+			Thread.sleep(400);
+			Assertions.assertEquals(4, calls.get());
+
+			// failed files keep their previous result; the watcher survives the exceptions thrown by the listener
+			Files.write(a, "five".getBytes(StandardCharsets.UTF_8));
+			await(() -> reports.containsKey(a));
+			Assertions.assertEquals(Collections.singletonList(4), reloader.value(a));
+
+			Files.write(b, "[2".getBytes(StandardCharsets.UTF_8));
+			await(() -> reports.containsKey(b));
+			Assertions.assertEquals(Collections.singletonList(2), reloader.value(b));
+			List<String> compileReports = reports.get(b);
+			Assertions.assertTrue(compileReports.size()>1, compileReports::toString);
+			Assertions.assertEquals("Failed to compile file", compileReports.get(compileReports.size()-1));
+
+			Files.delete(b);
+			await(() -> reloader.value(b)==null);
+			Assertions.assertEquals(Collections.singleton(a), reloader.value().keySet());
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException{
+		for(long deadline = System.nanoTime()+TimeUnit.SECONDS.toNanos(10); !condition.getAsBoolean(); Thread.sleep(10))
+			if(System.nanoTime()>deadline) Assertions.fail("Timed out");
+	}
+
+	@Test public void directoryLoader(@TempDir Path dir) throws IOException{
+		Files.write(dir.resolve("a.among"), "0\n1\n2".getBytes(StandardCharsets.UTF_8));
+		Files.createDirectory(dir.resolve("sub"));
+		Files.write(dir.resolve("sub").resolve("b.among"), "3\nfour".getBytes(StandardCharsets.UTF_8));
+		Files.write(dir.resolve("sub").resolve("c.txt"), "5".getBytes(StandardCharsets.UTF_8));
+
+		DirectoryResult<Integer> result = DirectoryLoader.make(Constructors.INT, b -> {}).load(dir);
+		result.printReports();
+		Assertions.assertEquals(2, result.files().size());
+		Assertions.assertEquals(Arrays.asList(0, 1, 2), result.results().get(dir.resolve("a.among")).values());
+		Assertions.assertEquals(Arrays.asList(3, null), result.results().get(dir.resolve("sub").resolve("b.among")).values());
+		Assertions.assertFalse(result.isSuccess());
+		Assertions.assertFalse(result.reports().isEmpty());
+		for(DirectoryResult.Report r : result.reports())
+			Assertions.assertEquals(dir.resolve("sub").resolve("b.among"), r.path());
+
+		// reports of the compilation are included in the reports of the file
+		Files.write(dir.resolve("d.among"), "[6".getBytes(StandardCharsets.UTF_8));
+		result = DirectoryLoader.make(Constructors.INT, b -> {}).load(dir);
+		DirectoryResult.File<Integer> d = result.files().get(dir.resolve("d.among"));
+		Assertions.assertNull(d.result());
+		List<String> messages = messages(d.reports());
+		Assertions.assertTrue(messages.size()>1, messages::toString);
+		Assertions.assertEquals("Failed to compile file", messages.get(messages.size()-1));
+	}
+
+	@Test public void treeReader(){
+		List<Among> roots = TestUtil.make("n{a: [1, {b: x}], c: l[]}\n2").root().values();
+		Assertions.assertEquals("BEGIN_OBJECT(n) KEY(a) BEGIN_LIST() VALUE(1) BEGIN_OBJECT() KEY(b) VALUE(x) END_OBJECT "+
+				"END_LIST KEY(c) BEGIN_LIST(l) END_LIST END_OBJECT END", events(AmongReader.of(roots.get(0))));
+		Assertions.assertEquals("VALUE(2) END", events(AmongReader.of(roots.get(1))));
+
+		AmongReader reader = AmongReader.of(roots.get(0));
+		Assertions.assertThrows(IllegalStateException.class, reader::value);
+		Assertions.assertThrows(IllegalStateException.class, reader::key);
+		reader.advance();
+		Assertions.assertEquals("a", reader.key());
+		Assertions.assertThrows(IllegalStateException.class, reader::skipValue);
+		reader.advance();
+		reader.skipValue();
+		Assertions.assertEquals("c", reader.key());
+		reader.advance();
+		reader.skipValue();
+		Assertions.assertEquals(AmongReader.Event.END_OBJECT, reader.event());
+		reader.advance();
+		Assertions.assertEquals(AmongReader.Event.END, reader.event());
+		Assertions.assertThrows(IllegalStateException.class, reader::advance);
+
+		for(Among root : roots)
+			Assertions.assertEquals(root, EventConstructors.TREE.construct(root, null));
+	}
+
+	@Test public void eventConstructors(){
+		EventConstructor<List<Object>> constructor = EventConstructors.object(b -> b
+				.property("x", EventConstructors.INT)
+				.optionalProperty("y", EventConstructors.INT, () -> 0)
+				.property("tags", EventConstructors.listOf(EventConstructors.VALUE))
+				.property("pos", EventConstructors.of(Pos2.CONSTRUCTOR))
+				.warnOtherProperties()
+				.constructor(Arrays::asList));
+		List<Among> roots = TestUtil.make("{x: 1, tags: [a, b], pos: [0, 1]}\n"+
+				"{pos: {x: 2, y: 3}, x: 1, y: 2, tags: [], z: 3}\n"+
+				"{tags: [a, [b], c], pos: [0, 1], y: 1}\n"+
+				"[1]").root().values();
+
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertEquals(Arrays.asList(1, 0, Arrays.asList("a", "b"), new Pos2(0, 1)), constructor.construct(roots.get(0), reports));
+		Assertions.assertTrue(reports.isEmpty(), reports.entries()::toString);
+		Assertions.assertEquals(Arrays.asList(1, 2, Collections.emptyList(), new Pos2(2, 3)), constructor.construct(roots.get(1), reports));
+		Assertions.assertEquals(Collections.singletonList("1 redundant properties\n  z"), messages(reports));
+
+		// failed constructions still consume the whole value
+		reports.clear();
+		AmongReader reader = AmongReader.of(roots.get(2));
+		Assertions.assertNull(constructor.construct(reader, reports));
+		Assertions.assertEquals(AmongReader.Event.END, reader.event());
+		Assertions.assertEquals(Arrays.asList("Expected value", "Missing property 'x'"), messages(reports));
+		reader = AmongReader.of(roots.get(2));
+		Assertions.assertNull(constructor.construct(reader, null));
+		Assertions.assertEquals(AmongReader.Event.END, reader.event());
+
+		reports.clear();
+		reader = AmongReader.of(roots.get(3));
+		Assertions.assertNull(constructor.construct(reader, reports));
+		Assertions.assertEquals(AmongReader.Event.END, reader.event());
+		Assertions.assertEquals(Collections.singletonList("Expected object"), messages(reports));
+
+		EventConstructor<Integer> sum = EventConstructors.listOf(EventConstructors.INT, true)
+				.then((list, reportHandler) -> list.stream().mapToInt(Integer::intValue).sum());
+		Assertions.assertEquals(6, sum.construct(TestUtil.make("[1, 2, 3]").root().values().get(0), null));
+		Assertions.assertNull(sum.construct(TestUtil.make("l[1, 2, 3]").root().values().get(0), null));
+	}
+
+	@Test public void incrementalSession(){
+		IncrementalSession session = new IncrementalSession();
+		AtomicInteger calls = new AtomicInteger();
+		Constructor<Among, Pos2> element = session.track((instance, reportHandler) -> {
+			calls.incrementAndGet();
+			return Pos2.CONSTRUCTOR.construct(instance, reportHandler);
+		});
+		Constructor<Among, List<Pos2>> inner = session.track(Constructor.generifyList(Constructor.listOf(element)));
+		Constructor<Among, List<List<Pos2>>> root = Constructor.generifyList(Constructor.listOf(inner));
+
+		List<List<Pos2>> r1 = session.construct(root, TestUtil.make("[[[0, 1], [2, 3]], [[4, 5]]]").root().values().get(0), null);
+		Assertions.assertEquals(Arrays.asList(
+				Arrays.asList(new Pos2(0, 1), new Pos2(2, 3)),
+				Collections.singletonList(new Pos2(4, 5))), r1);
+		Assertions.assertEquals(3, calls.get());
+		Assertions.assertEquals(0, session.reused());
+		Assertions.assertEquals(5, session.constructed());
+
+		// the first list is reused without visiting its elements
+		List<List<Pos2>> r2 = session.construct(root, TestUtil.make("[[[0, 1], [2, 3]], [[4, 5], [6, 7]]]").root().values().get(0), null);
+		Assertions.assertSame(r1.get(0), r2.get(0));
+		Assertions.assertSame(r1.get(1).get(0), r2.get(1).get(0));
+		Assertions.assertEquals(4, calls.get());
+		Assertions.assertEquals(2, session.reused());
+		Assertions.assertEquals(2, session.constructed());
+
+		// [0, 1] is retained as part of the reused list; [[4, 5]] is discarded since it was not used in the last construction
+		List<List<Pos2>> r3 = session.construct(root, TestUtil.make("[[[0, 1], [9, 9]], [[4, 5]]]").root().values().get(0), null);
+		Assertions.assertSame(r1.get(0).get(0), r3.get(0).get(0));
+		Assertions.assertNotSame(r1.get(1), r3.get(1));
+		Assertions.assertSame(r1.get(1).get(0), r3.get(1).get(0));
+		Assertions.assertEquals(5, calls.get());
+		Assertions.assertEquals(2, session.reused());
+		Assertions.assertEquals(3, session.constructed());
+
+		// outside of construction, tracked constructors are not reused
+		Assertions.assertEquals(new Pos2(0, 1), element.construct(TestUtil.make("[0, 1]").root().values().get(0), null));
+		Assertions.assertEquals(6, calls.get());
+
+		session.clear();
+		session.construct(root, TestUtil.make("[[[0, 1], [9, 9]], [[4, 5]]]").root().values().get(0), null);
+		Assertions.assertEquals(0, session.reused());
+		Assertions.assertEquals(5, session.constructed());
+
+		Assertions.assertThrows(IllegalStateException.class, () -> session.construct(
+				(instance, reportHandler) -> session.construct(root, instance, reportHandler), Among.list(), null));
+	}
+
+	@Test public void incrementalSessionReports(){
+		IncrementalSession session = new IncrementalSession();
+		Constructor<Among, List<Pos2>> inner = session.track(Constructor.generifyList(Constructor.listOf(Pos2.CONSTRUCTOR)));
+		Constructor<Among, List<List<Pos2>>> root = Constructor.generifyList(Constructor.listOf(inner));
+
+		Among doc1 = TestUtil.make("[[[0, x]]]").root().values().get(0);
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(session.construct(root, doc1, reports));
+		Assertions.assertEquals(1, reports.entries().size(), reports.entries()::toString);
+		int x1 = doc1.asList().get(0).asList().get(0).asList().get(1).sourcePosition();
+		Assertions.assertEquals(x1, reports.entries().get(0).srcIndex());
+
+		// reports of the reused list are moved along with it
+		Among doc2 = TestUtil.make("[[[1, 2]], [[0, x]]]").root().values().get(0);
+		reports.clear();
+		Assertions.assertNull(session.construct(root, doc2, reports));
+		Assertions.assertEquals(1, session.reused());
+		Assertions.assertEquals(1, reports.entries().size(), reports.entries()::toString);
+		int x2 = doc2.asList().get(1).asList().get(0).asList().get(1).sourcePosition();
+		Assertions.assertNotEquals(x1, x2);
+		Assertions.assertEquals(x2, reports.entries().get(0).srcIndex());
+	}
+
+	private static String events(AmongReader reader){
+		StringBuilder stb = new StringBuilder();
+		while(true){
+			AmongReader.Event event = reader.event();
+			if(stb.length()>0) stb.append(' ');
+			stb.append(event);
+			switch(event){
+				case VALUE: stb.append('(').append(reader.value()).append(')'); break;
+				case BEGIN_LIST: case BEGIN_OBJECT: stb.append('(').append(reader.name()).append(')'); break;
+				case KEY: stb.append('(').append(reader.key()).append(')'); break;
+				case END: return stb.toString();
+			}
+			reader.advance();
+		}
+	}
+
+	private static List<String> messages(ReportBuffer reports){
+		List<String> messages = new ArrayList<>();
+		for(ReportBuffer.Entry e : reports.entries()) messages.add(e.message());
+		return messages;
+	}
+
+	@Test public void columnarList(){
+		Constructor<AmongList, ColumnarList> constructor = Constructor.columnarListOf(b -> b
+				.intColumn("id")
+				.longColumn("time")
+				.doubleColumn("v")
+				.stringColumn("name"));
+		List<Among> roots = TestUtil.make("[{id: 1, time: 10000000000, v: 0.5, name: a}, [2, 3, 1.5, b]]\n"+
+				"[[1, 10000000000, 0.5, a], {name: b, v: 1.5, time: 3, id: 2, other: x}]\n"+
+				"[]").root().values();
+
+		ColumnarList list = constructor.construct(roots.get(0).asList(), null);
+		Assertions.assertNotNull(list);
+		Assertions.assertEquals(2, list.size());
+		Assertions.assertEquals(Arrays.asList("id", "time", "v", "name"), list.keys());
+		Assertions.assertArrayEquals(new int[]{1, 2}, list.ints("id"));
+		Assertions.assertArrayEquals(new long[]{10000000000L, 3}, list.longs("time"));
+		Assertions.assertArrayEquals(new double[]{.5, 1.5}, list.doubles("v"));
+		Assertions.assertArrayEquals(new String[]{"a", "b"}, list.strings("name"));
+		Assertions.assertEquals(list, constructor.construct(roots.get(1).asList(), null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> list.ints("name"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> list.ints("other"));
+
+		ColumnarList empty = constructor.construct(roots.get(2).asList(), null);
+		Assertions.assertNotNull(empty);
+		Assertions.assertEquals(0, empty.size());
+		Assertions.assertEquals(0, empty.strings("name").length);
+
+		List<Among> errors = TestUtil.make("[[1, 2, 3]]\n"+
+				"[{id: 1, time: 2, v: 3}]\n"+
+				"[[x, 2, 3, a]]\n"+
+				"[[1, 2.5, 3, a]]\n"+
+				"[[1, 2, [3], a]]\n"+
+				"[l[1, 2, 3, a]]").root().values();
+		List<String> messages = new ArrayList<>();
+		for(Among e : errors){
+			ReportBuffer reports = new ReportBuffer();
+			Assertions.assertNull(constructor.construct(e.asList(), reports));
+			messages.addAll(messages(reports));
+		}
+		Assertions.assertEquals(Arrays.asList(
+				"Expected 4 values",
+				"Missing property 'name'",
+				"Expected int",
+				"Expected long",
+				"Expected value",
+				"Expected object or unnamed list"), messages);
+
+		AmongList named = TestUtil.make("l[[1]]").root().values().get(0).asList();
+		Assertions.assertNotNull(Constructor.columnarListOf(b -> b.intColumn("id")).construct(named, null));
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(Constructor.columnarListOf(b -> b.intColumn("id").requiresUnnamedList()).construct(named, reports));
+		Assertions.assertNull(Constructor.columnarListOf(b -> b.intColumn("id").objectsOnly())
+				.construct(roots.get(0).asList(), reports));
+		Assertions.assertNull(Constructor.columnarListOf(b -> b.intColumn("id").listsOnly())
+				.construct(roots.get(0).asList(), reports));
+		Assertions.assertEquals(Arrays.asList("List should be unnamed", "Expected object", "Expected unnamed list"), messages(reports));
+
+		Assertions.assertThrows(IllegalStateException.class, () -> Constructor.columnarListOf(b -> {}));
+		Assertions.assertThrows(IllegalStateException.class, () -> Constructor.columnarListOf(b -> b.intColumn("id").stringColumn("id")));
+	}
+
+	@Test public void listStrategies(){
+		List<Among> roots = TestUtil.make("[1, 2, 3]\n[]\n[4]").root().values();
+		Constructor<Among, List<Integer>> compact = Constructor.generifyList(Constructor.listOf(Constructors.INT, false, ListStrategy.compact()));
+		Constructor<Among, List<Integer>> ints = Constructor.generifyList(Constructor.listOf(Constructors.INT, false, ListStrategy.ints()));
+		for(Among root : roots){
+			List<Integer> expected = Constructor.generifyList(Constructor.listOf(Constructors.INT)).construct(root, null);
+			Assertions.assertEquals(expected, compact.construct(root, null));
+			Assertions.assertEquals(expected, ints.construct(root, null));
+		}
+		Assertions.assertSame(Collections.emptyList(), compact.construct(roots.get(1), null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> ints.construct(roots.get(0), null).set(0, 5));
+		Assertions.assertNull(compact.construct(TestUtil.make("[1, two]").root().values().get(0), null));
+
+		Constructor<Among, List<Integer>> immutable = Constructor.generifyList(Constructor.listOf(Constructors.INT, false, ListStrategy.immutable()));
+		Constructor<Among, List<Long>> longs = Constructor.generifyList(Constructor.listOf(Constructors.LONG, false, ListStrategy.longs()));
+		Constructor<Among, List<Double>> doubles = Constructor.generifyList(Constructor.listOf(Constructors.DOUBLE, false, ListStrategy.doubles()));
+		Assertions.assertEquals(Arrays.asList(1, 2, 3), immutable.construct(roots.get(0), null));
+		Assertions.assertEquals(Collections.emptyList(), immutable.construct(roots.get(1), null));
+		Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), longs.construct(roots.get(0), null));
+		Assertions.assertEquals(Collections.singletonList(4L), longs.construct(roots.get(2), null));
+		Assertions.assertEquals(Arrays.asList(1.0, 2.0, 3.0), doubles.construct(roots.get(0), null));
+		Assertions.assertEquals(Collections.emptyList(), doubles.construct(roots.get(1), null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> immutable.construct(roots.get(0), null).set(0, 5));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> longs.construct(roots.get(0), null).add(5L));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> doubles.construct(roots.get(0), null).remove(0));
+
+		// single element is collected with the strategy too
+		Constructor<Among, List<Long>> listOrElement = Constructor.listOrElementOf(Constructors.LONG, ListStrategy.longs());
+		Assertions.assertEquals(Arrays.asList(1L, 2L, 3L), listOrElement.construct(roots.get(0), null));
+		Assertions.assertEquals(Collections.singletonList(5L), listOrElement.construct(Among.value(5), null));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> listOrElement.construct(Among.value(5), null).set(0, 6L));
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(listOrElement.construct(Among.value("five"), reports));
+		Assertions.assertTrue(reports.hasError());
+	}
+
+	@Test public void mapOf(){
+		AmongObject obj = Among.object();
+		Map<String, Integer> expected = new LinkedHashMap<>();
+		for(int i = 0; i<100; i++){
+			obj.property("k"+i, i);
+			expected.put("k"+i, i);
+		}
+		// "Aa" and "BB" share the same hash code
+		obj.property("Aa", 100).property("BB", 101);
+		expected.put("Aa", 100);
+		expected.put("BB", 101);
+
+		Map<String, Integer> map = Constructor.mapOf(Constructors.INT).construct(obj, null);
+		Map<String, Integer> compact = Constructor.mapOf((String key, ReportHandler reportHandler) -> key, Constructors.INT, null, true).construct(obj, null);
+		for(Map<String, Integer> m : Arrays.asList(map, compact)){
+			Assertions.assertNotNull(m);
+			Assertions.assertEquals(expected, m);
+			Assertions.assertEquals(expected.hashCode(), m.hashCode());
+			Assertions.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(m.keySet()));
+			for(Map.Entry<String, Integer> e : expected.entrySet())
+				Assertions.assertEquals(e.getValue(), m.get(e.getKey()));
+			Assertions.assertNull(m.get("k100"));
+			Assertions.assertNull(m.get(null));
+			Assertions.assertFalse(m.containsKey(1));
+		}
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> compact.put("k100", 100));
+		Map<String, Integer> empty = Constructor.mapOf((String key, ReportHandler reportHandler) -> key, Constructors.INT, null, true).construct(Among.object(), null);
+		Assertions.assertEquals(Collections.emptyMap(), empty);
+		Assertions.assertNull(empty.get("k0"));
+
+		// keys are compared after construction
+		AmongObject duplicate = TestUtil.make("{a: 1, B: 2, b: 3}").root().values().get(0).asObj();
+		for(boolean c : new boolean[]{false, true}){
+			ReportBuffer reports = new ReportBuffer();
+			Assertions.assertNull(Constructor.mapOf((String key, ReportHandler reportHandler) -> key.toLowerCase(), Constructors.INT, null, c).construct(duplicate, reports));
+			Assertions.assertEquals(Collections.singletonList("Duplicate key 'b'"), messages(reports));
+			Assertions.assertEquals(duplicate.getProperty("b").sourcePosition(), reports.entries().get(0).srcIndex());
+		}
+
+		// the condition is tested before any entry is constructed
+		AtomicInteger calls = new AtomicInteger();
+		Constructor<AmongObject, Map<String, Integer>> conditioned = Constructor.mapOf((String key, ReportHandler reportHandler) -> key, (instance, reportHandler) -> {
+			calls.incrementAndGet();
+			return Constructors.INT.construct(instance, reportHandler);
+		}, new ObjectConditionBuilder().size(0, 2).property(TypeFlags.PRIMITIVE).build(), true);
+		List<Among> roots = TestUtil.make("{a: 1, b: 2}\n{a: 1, b: [2]}\n{a: 1, b: 2, c: 3}").root().values();
+		Assertions.assertEquals(2, conditioned.construct(roots.get(0).asObj(), null).size());
+		Assertions.assertEquals(2, calls.get());
+		for(int i = 1; i<3; i++){
+			ReportBuffer reports = new ReportBuffer();
+			Assertions.assertNull(conditioned.construct(roots.get(i).asObj(), reports));
+			Assertions.assertTrue(reports.hasError(), reports.entries()::toString);
+		}
+		Assertions.assertEquals(2, calls.get());
+	}
+
+	@Test public void enumOf(){
+		Constructor<Among, TimeUnit> constructor = Constructors.enumOf(TimeUnit.class, b -> b
+				.caseInsensitive()
+				.alias("ms", TimeUnit.MILLISECONDS));
+		List<Among> roots = TestUtil.make("seconds\nDAYS\nMs\nfortnight").root().values();
+		Assertions.assertEquals(TimeUnit.SECONDS, constructor.construct(roots.get(0), null));
+		Assertions.assertEquals(TimeUnit.DAYS, constructor.construct(roots.get(1), null));
+		Assertions.assertEquals(TimeUnit.MILLISECONDS, constructor.construct(roots.get(2), null));
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(constructor.construct(roots.get(3), reports));
+		Assertions.assertEquals("Expected one of: NANOSECONDS, MICROSECONDS, MILLISECONDS, SECONDS, MINUTES, HOURS, DAYS, ms",
+				reports.entries().get(0).message());
+		Assertions.assertNull(Constructors.enumOf(TimeUnit.class).construct(roots.get(0), null));
+
+		Constructor<Among, TimeUnit> aliased = Constructors.enumOf(TimeUnit.class, b -> {
+			for(int i = 0; i<1000; i++) b.alias("Unit"+i, TimeUnit.values()[i%7]);
+		});
+		for(int i = 0; i<1000; i++){
+			Assertions.assertEquals(TimeUnit.values()[i%7], aliased.construct(Among.value("Unit"+i), null));
+			Assertions.assertNull(aliased.construct(Among.value("unit"+i), null));
+		}
+		Assertions.assertThrows(IllegalStateException.class, () -> Constructors.enumOf(TimeUnit.class, b -> b
+				.caseInsensitive()
+				.alias("Seconds", TimeUnit.SECONDS)));
+		Assertions.assertEquals(TimeUnit.SECONDS, Constructors.enumOf(TimeUnit.class, b -> b
+				.alias("Seconds", TimeUnit.SECONDS)).construct(Among.value("Seconds"), null));
+	}
+
+	@Test public void referenceIndex(){
+		ReferenceIndex<Node> index = new ReferenceIndex<>();
+		Constructor<Among, Node> node = Node.constructor(index);
+		List<Among> roots = TestUtil.make("{id: a, refs: [b]}\n{id: b, refs: [a, b]}\n{id: a, refs: []}\n{id: c, refs: [d, a, e]}").root().values();
+
+		// forward references and cycles
+		Node a = node.construct(roots.get(0), null), b = node.construct(roots.get(1), null);
+		Assertions.assertNotNull(a);
+		Assertions.assertNotNull(b);
+		Assertions.assertFalse(a.refs.get(0).isResolved());
+		Assertions.assertThrows(IllegalStateException.class, () -> a.refs.get(0).get());
+		Assertions.assertTrue(index.resolve(null));
+		Assertions.assertSame(b, a.refs.get(0).get());
+		Assertions.assertSame(a, b.refs.get(0).get());
+		Assertions.assertSame(b, b.refs.get(1).get());
+
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(node.construct(roots.get(2), reports));
+		Assertions.assertEquals(Collections.singletonList("Duplicate id 'a'"), messages(reports));
+		Assertions.assertSame(a, index.get("a"));
+		Assertions.assertEquals(2, index.size());
+
+		reports.clear();
+		Node c = node.construct(roots.get(3), null);
+		Assertions.assertNotNull(c);
+		Assertions.assertFalse(index.resolve(reports));
+		Assertions.assertEquals(Arrays.asList("Unresolved reference 'd'", "Unresolved reference 'e'"), messages(reports));
+		Assertions.assertEquals(roots.get(3).asObj().getProperty("refs").asList().get(0).sourcePosition(), reports.entries().get(0).srcIndex());
+		Assertions.assertFalse(c.refs.get(0).isResolved());
+		Assertions.assertSame(a, c.refs.get(1).get());
+		Assertions.assertTrue(index.resolve(null));
+
+		index.clear();
+		Assertions.assertEquals(0, index.size());
+	}
+
+	@Test public void referenceIndexTransaction(){
+		ReferenceIndex<Node> index = new ReferenceIndex<>();
+		Constructor<Among, Node> node = Node.constructor(index);
+		Constructor<Among, List<Node>> list = Constructor.generifyList(Constructor.listOf(node));
+		Constructor<Among, List<Node>> transactional = index.transactional(list);
+		List<Among> roots = TestUtil.make("[{id: x, refs: [y]}, {id: y, refs: [[x]]}]\n"+
+				"[{id: x, refs: [y]}, {id: y, refs: [x]}]\n"+
+				"[{id: z, refs: [x]}, {id: z, refs: []}]\n"+
+				"[[{id: w, refs: [x]}], [{id: v, refs: [[x]]}]]").root().values();
+
+		// without transaction, objects registered before the failure are kept
+		Assertions.assertNull(list.construct(roots.get(0), null));
+		Assertions.assertNotNull(index.get("x"));
+		Assertions.assertFalse(index.resolve(null));
+		index.clear();
+
+		Assertions.assertNull(transactional.construct(roots.get(0), null));
+		Assertions.assertNull(index.get("x"));
+		Assertions.assertTrue(index.resolve(null));
+
+		List<Node> nodes = transactional.construct(roots.get(1), null);
+		Assertions.assertNotNull(nodes);
+		Assertions.assertEquals(2, index.size());
+		Assertions.assertTrue(index.resolve(null));
+		Assertions.assertSame(nodes.get(1), nodes.get(0).refs.get(0).get());
+
+		// duplicates are checked against both the index and the transaction
+		ReportBuffer reports = new ReportBuffer();
+		Assertions.assertNull(transactional.construct(roots.get(2), reports));
+		Assertions.assertEquals(Collections.singletonList("Duplicate id 'z'"), messages(reports));
+		Assertions.assertNull(index.get("z"));
+		Assertions.assertNull(transactional.construct(roots.get(1), null));
+		Assertions.assertEquals(2, index.size());
+		Assertions.assertTrue(index.resolve(null));
+
+		// inner transactions are only kept if the outer transaction succeeds
+		Constructor<Among, List<List<Node>>> nested = index.transactional(Constructor.generifyList(Constructor.listOf(transactional)));
+		Assertions.assertNull(nested.construct(roots.get(3), null));
+		Assertions.assertNull(index.get("w"));
+		Assertions.assertTrue(index.resolve(null));
+	}
+
+	@Test public void referenceIndexParallel(){
+		int size = 2000;
+		AmongList list = Among.list();
+		for(int i = 0; i<size; i++)
+			list.add(Among.object().property("id", "n"+i).property("refs", Among.list("n"+(size-1-i), "n"+(i+1)%size)));
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			for(int round = 0; round<10; round++){
+				ReferenceIndex<Node> index = new ReferenceIndex<>();
+				Constructor<Among, Node> node = Node.constructor(index);
+				Constructor<AmongList, List<Node>> parallel = Constructor.parallelListOf(round%2==0 ? node : index.transactional(node), false, pool, 16);
+				List<Node> nodes = parallel.construct(list, null);
+				Assertions.assertNotNull(nodes);
+				Assertions.assertEquals(size, index.size());
+				Assertions.assertTrue(index.resolve(null));
+				for(int i = 0; i<size; i++){
+					Assertions.assertSame(nodes.get(size-1-i), nodes.get(i).refs.get(0).get());
+					Assertions.assertSame(nodes.get((i+1)%size), nodes.get(i).refs.get(1).get());
+				}
+			}
+		}finally{
+			pool.shutdown();
+		}
+	}
+
+	private static final class Node{
+		final String id;
+		final List<Reference<Node>> refs;
+
+		Node(String id, List<Reference<Node>> refs){
+			this.id = id;
+			this.refs = refs;
+		}
+
+		static Constructor<Among, Node> constructor(ReferenceIndex<Node> index){
+			Constructor<Among, List<Reference<Node>>> refs = Constructor.generifyList(Constructor.listOf(index.reference()));
+			return index.registering((instance, reportHandler) -> {
+				AmongObject o = instance.asObj();
+				List<Reference<Node>> r = refs.construct(Objects.requireNonNull(o.getProperty("refs")), reportHandler);
+				return r==null ? null : new Node(Objects.requireNonNull(o.getProperty("id")).asPrimitive().getValue(), r);
+			}, n -> n.id);
+		}
+	}
+
 	@Test public void intError() throws IOException{
 		TestUtil.expectError(
 				TestUtil.expectSourceFrom("error", "int"),